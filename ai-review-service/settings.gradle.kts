@@ -1 +1,3 @@
 rootProject.name = "ai-review-service"
+
+includeBuild("../libs/kafka-envelope")
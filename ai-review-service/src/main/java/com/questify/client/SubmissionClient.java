@@ -64,6 +64,25 @@ public class SubmissionClient {
         );
     }
 
+    /**
+     * Reports the recommendation so submission-service can order its reviewer queue. Best effort: a
+     * failure only leaves the submission at its age-based position.
+     */
+    public void reportAiReview(Long submissionId, String recommendation, double confidence) {
+        try {
+            http.put()
+                    .uri("/internal/submissions/{id}/ai-review", submissionId)
+                    .header("X-Internal-Token", internalToken)
+                    .header("X-Security-Internal-Token", internalToken)
+                    .bodyValue(new AiReviewSignalReq(recommendation, confidence))
+                    .retrieve()
+                    .toBodilessEntity()
+                    .block(Duration.ofSeconds(5));
+        } catch (Exception e) {
+            log.warn("AI review signal to submission-service failed submissionId={} err={}", submissionId, e.toString());
+        }
+    }
+
     public record SubmissionContext(
             Long submissionId,
             Long questId,
@@ -82,6 +101,8 @@ public class SubmissionClient {
             List<String> proofKeys
     ) {}
 
+    private record AiReviewSignalReq(String recommendation, double confidence) {}
+
     private static String truncate(String value, int max) {
         if (value == null || value.length() <= max) return value;
         return value.substring(0, max);
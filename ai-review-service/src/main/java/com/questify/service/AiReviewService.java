@@ -325,6 +325,7 @@ public class AiReviewService {
         }
 
         recordAttempt(event.submissionId(), source, triggeredBy, outcome, saved.getRecommendation(), saved.getConfidence(), saved.getDecisionPath());
+        submissions.reportAiReview(saved.getSubmissionId(), saved.getRecommendation().name(), saved.getConfidence());
         return saved;
     }
 
@@ -0,0 +1,35 @@
+plugins {
+    `java-library`
+}
+
+java { toolchain { languageVersion.set(JavaLanguageVersion.of(21)) } }
+
+group = "com.questify"
+version = "1.0-SNAPSHOT"
+
+repositories {
+    mavenCentral()
+}
+
+// Services bring spring-kafka and the Jackson modules through their Spring Boot dependency
+// management, so the library only compiles against the same BOM and adds nothing at runtime.
+val springBootBom = dependencies.platform("org.springframework.boot:spring-boot-dependencies:3.5.7")
+
+dependencies {
+    compileOnly(springBootBom)
+    compileOnly("org.springframework.kafka:spring-kafka")
+    compileOnly("com.fasterxml.jackson.dataformat:jackson-dataformat-cbor")
+    compileOnly("com.fasterxml.jackson.datatype:jackson-datatype-jsr310")
+
+    testImplementation(springBootBom)
+    testImplementation("org.springframework.kafka:spring-kafka")
+    testImplementation("com.fasterxml.jackson.dataformat:jackson-dataformat-cbor")
+    testImplementation("com.fasterxml.jackson.datatype:jackson-datatype-jsr310")
+    testImplementation("org.junit.jupiter:junit-jupiter")
+    testImplementation("org.assertj:assertj-core")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+}
+
+tasks.test {
+    useJUnitPlatform()
+}
@@ -0,0 +1 @@
+rootProject.name = "kafka-envelope"
@@ -0,0 +1,68 @@
+package com.questify.kafka;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Value deserializer that reads envelope records in either wire format: records marked
+ * {@code envelope-format: cbor} are decoded with a CBOR mapper, everything else goes to a
+ * {@link JsonDeserializer} configured from the same {@code spring.json.*} properties. CBOR records
+ * are bound to the {@code spring.json.value.default.type} the JSON path uses, so each service keeps
+ * its own {@code EventEnvelope}. Configure it in place of {@code JsonDeserializer} (directly or as
+ * the {@code ErrorHandlingDeserializer} delegate).
+ */
+public class EnvelopeDeserializer implements Deserializer<Object> {
+
+    private final JsonDeserializer<Object> json = new JsonDeserializer<>();
+    private final ObjectMapper cbor = new ObjectMapper(new CBORFactory())
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .registerModule(new JavaTimeModule());
+    private Class<?> cborType = Object.class;
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        json.configure(configs, isKey);
+        Object type = configs.get(isKey ? JsonDeserializer.KEY_DEFAULT_TYPE : JsonDeserializer.VALUE_DEFAULT_TYPE);
+        if (type instanceof Class<?> c) {
+            cborType = c;
+        } else if (type instanceof String name && !name.isBlank()) {
+            try {
+                cborType = ClassUtils.forName(name.trim(), ClassUtils.getDefaultClassLoader());
+            } catch (ClassNotFoundException | LinkageError e) {
+                throw new IllegalStateException("Envelope type " + name + " is not on the classpath", e);
+            }
+        }
+    }
+
+    @Override
+    public Object deserialize(String topic, byte[] data) {
+        return json.deserialize(topic, data);
+    }
+
+    @Override
+    public Object deserialize(String topic, Headers headers, byte[] data) {
+        if (data == null || !EnvelopeFormat.CBOR.equals(EnvelopeFormat.of(headers))) {
+            return json.deserialize(topic, headers, data);
+        }
+        try {
+            return cbor.readValue(data, cborType);
+        } catch (IOException e) {
+            throw new SerializationException("Can't deserialize CBOR envelope from topic " + topic, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        json.close();
+    }
+}
@@ -0,0 +1,26 @@
+package com.questify.kafka;
+
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Wire formats for the services' {@code EventEnvelope} records. Producers that write anything other
+ * than JSON say so in the {@value #HEADER} header; a record without the header is JSON, so consumers
+ * that understand both can be rolled out before any producer switches.
+ */
+public final class EnvelopeFormat {
+
+    public static final String HEADER = "envelope-format";
+    public static final String JSON = "json";
+    /** RFC 8949 CBOR with the same field names and structure as the JSON envelope. */
+    public static final String CBOR = "cbor";
+
+    private EnvelopeFormat() {}
+
+    public static String of(Headers headers) {
+        Header h = headers == null ? null : headers.lastHeader(HEADER);
+        return h == null ? JSON : new String(h.value(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,46 @@
+package com.questify.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EnvelopeDeserializerTest {
+
+    record Envelope(String eventId, String eventType, Instant occurredAt, Map<String, Object> payload) {}
+
+    private static final Envelope ENVELOPE = new Envelope("e1", "SubmissionReviewed",
+            Instant.parse("2025-01-01T00:00:00Z"), Map.of("questId", 42));
+
+    private static EnvelopeDeserializer configured() {
+        var deserializer = new EnvelopeDeserializer();
+        deserializer.configure(Map.of(
+                JsonDeserializer.TRUSTED_PACKAGES, "*",
+                JsonDeserializer.VALUE_DEFAULT_TYPE, Envelope.class.getName()), false);
+        return deserializer;
+    }
+
+    @Test
+    void cbor_records_bind_to_the_configured_envelope_type() throws Exception {
+        var headers = new RecordHeaders();
+        headers.add(EnvelopeFormat.HEADER, EnvelopeFormat.CBOR.getBytes(StandardCharsets.UTF_8));
+        byte[] cbor = new ObjectMapper(new CBORFactory()).registerModule(new JavaTimeModule()).writeValueAsBytes(ENVELOPE);
+
+        assertThat(configured().deserialize("t", headers, cbor)).isEqualTo(ENVELOPE);
+    }
+
+    @Test
+    void records_without_the_header_take_the_json_path() throws Exception {
+        byte[] json = new ObjectMapper().registerModule(new JavaTimeModule()).writeValueAsBytes(ENVELOPE);
+
+        assertThat(configured().deserialize("t", new RecordHeaders(), json)).isEqualTo(ENVELOPE);
+    }
+}
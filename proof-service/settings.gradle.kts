@@ -1 +1,3 @@
-rootProject.name = "proof-service"
\ No newline at end of file
+rootProject.name = "proof-service"
+
+includeBuild("../libs/kafka-envelope")
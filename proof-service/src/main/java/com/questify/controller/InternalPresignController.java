@@ -5,18 +5,27 @@ import com.questify.service.ProofStorageService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
 @RestController
 @RequestMapping("/internal/presign")
 @RequiredArgsConstructor
 public class InternalPresignController {
 
+    private static final int MAX_BATCH = 100;
+
     private final ProofStorageService storage;
     private final StorageProperties props;
 
+    public record BatchGetReq(List<String> keys, Long expires) {}
+
     @GetMapping(value = "/get", produces = MediaType.APPLICATION_JSON_VALUE)
     public Map<String, Object> signGet(
             @RequestParam("key") String key,
@@ -39,4 +48,29 @@ public class InternalPresignController {
         String url = storage.presignPut(key, contentType, ttl);
         return Map.of("url", url, "key", key, "expiresInSeconds", ttl);
     }
+
+    /** Presigns GETs for many keys in one call; items come back in request order. */
+    @PostMapping(value = "/get/batch",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public Map<String, Object> signGetBatch(@RequestBody BatchGetReq req) {
+        var keys = checkedBatch(req == null ? null : req.keys(), "keys");
+        long ttl = (req.expires() != null ? req.expires() : props.getGetExpirySeconds());
+
+        var items = new ArrayList<Map<String, String>>(keys.size());
+        for (String key : keys) {
+            items.add(Map.of("key", key, "url", storage.presignGet(key, ttl)));
+        }
+        return Map.of("items", items, "expiresInSeconds", ttl);
+    }
+
+    private static List<String> checkedBatch(List<String> values, String name) {
+        if (values == null || values.isEmpty() || values.size() > MAX_BATCH) {
+            throw new ResponseStatusException(BAD_REQUEST, "Between 1 and %d %s are required".formatted(MAX_BATCH, name));
+        }
+        if (values.stream().anyMatch(v -> v == null || v.isBlank())) {
+            throw new ResponseStatusException(BAD_REQUEST, name + " must not contain blank values");
+        }
+        return values;
+    }
 }
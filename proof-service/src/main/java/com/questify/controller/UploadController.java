@@ -13,9 +13,12 @@ import org.springframework.web.server.ResponseStatusException;
 
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.FORBIDDEN;
 
 @RestController
@@ -23,6 +26,8 @@ import static org.springframework.http.HttpStatus.FORBIDDEN;
 @RequiredArgsConstructor
 public class UploadController {
 
+    private static final int MAX_BATCH = 20;
+
     private final ProofStorageService storage;
     private final StorageProperties props;
 
@@ -40,6 +45,29 @@ public class UploadController {
         ));
     }
 
+    public record BatchPutReq(List<String> contentTypes, Long expires) {}
+
+    /** Presigns one PUT per content type in a single call; items come back in request order. */
+    @PostMapping("/batch")
+    public ResponseEntity<Map<String, Object>> signPutBatch(@RequestBody BatchPutReq req, Authentication auth) {
+        var contentTypes = req == null || req.contentTypes() == null ? List.<String>of() : req.contentTypes();
+        if (contentTypes.isEmpty() || contentTypes.size() > MAX_BATCH) {
+            throw new ResponseStatusException(BAD_REQUEST, "Between 1 and %d content types are required".formatted(MAX_BATCH));
+        }
+
+        var userId = auth != null ? auth.getName() : "anonymous";
+        var ttl = req.expires() != null ? req.expires() : props.getPutExpirySeconds();
+        var items = new ArrayList<Map<String, String>>(contentTypes.size());
+        for (var contentType : contentTypes) {
+            if (contentType == null || contentType.isBlank()) {
+                throw new ResponseStatusException(BAD_REQUEST, "contentType must not be blank");
+            }
+            var key = "proofs/%s/%s".formatted(userId, UUID.randomUUID());
+            items.add(Map.of("key", key, "putUrl", storage.presignPut(key, contentType, ttl)));
+        }
+        return ResponseEntity.ok(Map.of("items", items));
+    }
+
     @PostMapping(path = "/direct", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<Map<String, String>> uploadDirect(@RequestPart("file") MultipartFile file,
                                                             Authentication auth) {
@@ -32,8 +32,11 @@ dependencies {
     implementation("org.springframework.kafka:spring-kafka")
     implementation("org.springframework.boot:spring-boot-starter-data-redis")
     implementation("org.springframework.boot:spring-boot-starter-cache")
+    implementation("com.github.ben-manes.caffeine:caffeine")
     implementation("software.amazon.awssdk:s3:2.25.39")
     implementation("com.fasterxml.jackson.core:jackson-databind")
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-cbor")
+    implementation("com.questify:kafka-envelope")
     implementation("org.springframework.kafka:spring-kafka")
     runtimeOnly("com.mysql:mysql-connector-j")
     implementation("io.micrometer:micrometer-registry-prometheus")
@@ -76,10 +79,93 @@ dependencies {
 }
 
 tasks.test {
-    useJUnitPlatform()
+    useJUnitPlatform {
+        excludeTags("quest-search-benchmark", "outbox-dispatch-benchmark", "processed-event-benchmark",
+            "envelope-format-benchmark", "kafka-listener-load", "outbox-claim-mysql")
+    }
     finalizedBy(tasks.jacocoTestReport)
 }
 
+// Opt-in benchmark tasks run the same compiled tests as `test`, filtered by tag.
+tasks.withType<Test>().matching { it.name != "test" }.configureEach {
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+}
+
+tasks.register<Test>("questSearchBenchmark") {
+    group = "verification"
+    description = "Compares in-memory quest search index latency against the SQL like query"
+    useJUnitPlatform {
+        includeTags("quest-search-benchmark")
+    }
+    systemProperty("quest.search.benchmark.enabled", "true")
+    systemProperty("quest.search.benchmark.sizes", System.getProperty("quest.search.benchmark.sizes", "100000,1000000"))
+    maxHeapSize = "4g"
+    shouldRunAfter(tasks.test)
+}
+
+tasks.register<Test>("outboxDispatchBenchmark") {
+    group = "verification"
+    description = "Compares sequential and pipelined outbox dispatch throughput"
+    useJUnitPlatform {
+        includeTags("outbox-dispatch-benchmark")
+    }
+    systemProperty("outbox.benchmark.enabled", "true")
+    systemProperty("outbox.benchmark.batchSizes", System.getProperty("outbox.benchmark.batchSizes", "50,500,5000"))
+    systemProperty("outbox.benchmark.events", System.getProperty("outbox.benchmark.events", "10000"))
+    systemProperty("outbox.benchmark.brokerLatencyMs", System.getProperty("outbox.benchmark.brokerLatencyMs", "1"))
+    shouldRunAfter(tasks.test)
+}
+
+tasks.register<Test>("processedEventBenchmark") {
+    group = "verification"
+    description = "Compares per-record and batched processed-event dedupe on first delivery and redelivery"
+    useJUnitPlatform {
+        includeTags("processed-event-benchmark")
+    }
+    systemProperty("processed.benchmark.enabled", "true")
+    systemProperty("processed.benchmark.events", System.getProperty("processed.benchmark.events", "100000"))
+    systemProperty("processed.benchmark.pollSize", System.getProperty("processed.benchmark.pollSize", "500"))
+    shouldRunAfter(tasks.test)
+}
+
+tasks.register<Test>("envelopeFormatBenchmark") {
+    group = "verification"
+    description = "Compares JSON and CBOR event envelopes on size and decode time"
+    useJUnitPlatform {
+        includeTags("envelope-format-benchmark")
+    }
+    systemProperty("envelope.benchmark.enabled", "true")
+    systemProperty("envelope.benchmark.events", System.getProperty("envelope.benchmark.events", "100000"))
+    systemProperty("envelope.benchmark.rounds", System.getProperty("envelope.benchmark.rounds", "5"))
+    shouldRunAfter(tasks.test)
+}
+
+tasks.register<Test>("kafkaListenerLoadTest") {
+    group = "verification"
+    description = "Measures lag drain rate versus listener concurrency and key parallelism on an embedded broker"
+    useJUnitPlatform {
+        includeTags("kafka-listener-load")
+    }
+    systemProperty("listener.load.enabled", "true")
+    listOf("records", "partitions", "keys", "concurrency", "keyParallelism", "workMs").forEach { name ->
+        System.getProperty("listener.load.$name")?.let { systemProperty("listener.load.$name", it) }
+    }
+    shouldRunAfter(tasks.test)
+}
+
+tasks.register<Test>("outboxClaimMysqlTest") {
+    group = "verification"
+    description = "Checks outbox claims against MySQL: no filesort, disjoint batches for concurrent claimers"
+    useJUnitPlatform {
+        includeTags("outbox-claim-mysql")
+    }
+    listOf("outbox.claim.mysql.url", "outbox.claim.mysql.user", "outbox.claim.mysql.password").forEach { key ->
+        System.getProperty(key)?.let { systemProperty(key, it) }
+    }
+    shouldRunAfter(tasks.test)
+}
+
 jacoco { toolVersion = "0.8.12" }
 
 tasks.jacocoTestReport {
@@ -89,4 +175,4 @@ tasks.jacocoTestReport {
         html.required.set(true)
         csv.required.set(false)
     }
-}
\ No newline at end of file
+}
@@ -1 +1,3 @@
-rootProject.name = "quest-service"
\ No newline at end of file
+rootProject.name = "quest-service"
+
+includeBuild("../libs/kafka-envelope")
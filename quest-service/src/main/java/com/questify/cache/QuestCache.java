@@ -0,0 +1,190 @@
+package com.questify.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.questify.repository.QuestRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Read-through cache for quest aggregates: a bounded in-process L1 in front of an optional
+ * shared Redis L2. Entries are evicted by quest events (see {@code QuestChangeListener}) and,
+ * on the writing node, right after the writing transaction commits. TTL bounds staleness for
+ * changes that emit no event.
+ * <p>
+ * A load that read the database before a concurrent write committed must not repopulate the cache
+ * after that write's eviction: L1 misses load inside {@code Cache.get}, so an eviction waits for the
+ * in-flight load and then removes its result, and L2 entries are only written while the quest's
+ * generation key (bumped on every eviction) still holds the value read before the load.
+ */
+@Slf4j
+@Component
+public class QuestCache {
+
+    /** Sets KEYS[1] only if KEYS[2], the generation, still equals ARGV[2] ("" when it was unset). */
+    private static final RedisScript<Long> SET_IF_GENERATION = new DefaultRedisScript<>("""
+            if (redis.call('get', KEYS[2]) or '') == ARGV[2] then
+              redis.call('set', KEYS[1], ARGV[1], 'PX', ARGV[3])
+              return 1
+            end
+            return 0
+            """, Long.class);
+
+    private final QuestRepository quests;
+    private final ObjectProvider<StringRedisTemplate> redis;
+    private final ObjectMapper mapper;
+    private final MeterRegistry registry;
+    private final Cache<Long, QuestSnapshot> local;
+
+    private final boolean enabled;
+    private final boolean redisEnabled;
+    private final Duration ttl;
+    private final String keyPrefix;
+
+    public QuestCache(QuestRepository quests,
+                      ObjectProvider<StringRedisTemplate> redis,
+                      ObjectMapper mapper,
+                      MeterRegistry registry,
+                      @Value("${app.cache.quests.enabled:true}") boolean enabled,
+                      @Value("${app.cache.quests.max-size:10000}") long maxSize,
+                      @Value("${app.cache.quests.ttl:PT10M}") Duration ttl,
+                      @Value("${app.cache.quests.redis.enabled:false}") boolean redisEnabled,
+                      @Value("${app.cache.quests.redis.key-prefix:quest-service:quest:}") String keyPrefix) {
+        this.quests = quests;
+        this.redis = redis;
+        this.mapper = mapper;
+        this.registry = registry;
+        this.enabled = enabled;
+        this.redisEnabled = redisEnabled;
+        this.ttl = ttl;
+        this.keyPrefix = keyPrefix;
+        this.local = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .removalListener((Long id, QuestSnapshot q, RemovalCause cause) -> {
+                    if (cause.wasEvicted()) evicted("l1", cause.name());
+                })
+                .build();
+        registry.gaugeMapSize("quest_cache_size", Tags.of("tier", "l1"), local.asMap());
+    }
+
+    public QuestSnapshot get(Long id) {
+        if (!enabled) return load(id);
+
+        QuestSnapshot hit = local.getIfPresent(id);
+        if (hit != null) {
+            lookup("l1", true);
+            return hit;
+        }
+        lookup("l1", false);
+        return local.get(id, this::loadShared);
+    }
+
+    public void evict(Long id) {
+        if (id == null) return;
+        if (local.asMap().remove(id) != null) evicted("l1", "explicit");
+        if (redisEnabled) {
+            try {
+                var template = redis.getObject();
+                template.opsForValue().increment(generationKey(id));
+                template.expire(generationKey(id), ttl);
+                if (Boolean.TRUE.equals(template.delete(keyPrefix + id))) evicted("l2", "explicit");
+            } catch (Exception e) {
+                log.warn("Quest cache L2 evict failed id={} error={}", id, e.toString());
+            }
+        }
+    }
+
+    /** Evicts once the surrounding transaction commits, or immediately when there is none. */
+    public void evictAfterCommit(Long id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(id);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(id);
+            }
+        });
+    }
+
+    /** L1 miss: L2, then the database. The generation is read first, so the load cannot predate it. */
+    private QuestSnapshot loadShared(Long id) {
+        if (!redisEnabled) return load(id);
+
+        String generation = readGeneration(id);
+        QuestSnapshot shared = readRedis(id);
+        lookup("l2", shared != null);
+        if (shared != null) return shared;
+
+        QuestSnapshot loaded = load(id);
+        if (generation != null) writeRedis(loaded, generation);
+        return loaded;
+    }
+
+    private QuestSnapshot load(Long id) {
+        return quests.findById(id)
+                .map(QuestSnapshot::of)
+                .orElseThrow(() -> new EntityNotFoundException("Quest %d not found".formatted(id)));
+    }
+
+    private QuestSnapshot readRedis(Long id) {
+        try {
+            String json = redis.getObject().opsForValue().get(keyPrefix + id);
+            return json == null ? null : mapper.readValue(json, QuestSnapshot.class);
+        } catch (Exception e) {
+            log.debug("Quest cache L2 read failed id={} error={}", id, e.toString());
+            return null;
+        }
+    }
+
+    /** {@code ""} when no eviction has been recorded yet, {@code null} when Redis is unreachable. */
+    private String readGeneration(Long id) {
+        try {
+            String generation = redis.getObject().opsForValue().get(generationKey(id));
+            return generation == null ? "" : generation;
+        } catch (Exception e) {
+            log.debug("Quest cache L2 generation read failed id={} error={}", id, e.toString());
+            return null;
+        }
+    }
+
+    private void writeRedis(QuestSnapshot q, String generation) {
+        try {
+            redis.getObject().execute(SET_IF_GENERATION,
+                    List.of(keyPrefix + q.id(), generationKey(q.id())),
+                    mapper.writeValueAsString(q), generation, String.valueOf(ttl.toMillis()));
+        } catch (Exception e) {
+            log.debug("Quest cache L2 write failed id={} error={}", q.id(), e.toString());
+        }
+    }
+
+    private String generationKey(Long id) {
+        return keyPrefix + "gen:" + id;
+    }
+
+    private void lookup(String tier, boolean hit) {
+        registry.counter("quest_cache_gets", "tier", tier, "result", hit ? "hit" : "miss").increment();
+    }
+
+    private void evicted(String tier, String cause) {
+        registry.counter("quest_cache_evictions", "tier", tier, "cause", cause.toLowerCase(Locale.ROOT)).increment();
+    }
+}
@@ -0,0 +1,49 @@
+package com.questify.cache;
+
+import com.questify.domain.Quest;
+import com.questify.domain.QuestCategory;
+import com.questify.domain.QuestStatus;
+import com.questify.domain.QuestVisibility;
+import com.questify.domain.VerificationSignals;
+
+import java.time.Instant;
+import java.util.List;
+
+/** Immutable, cache-friendly copy of a quest aggregate including its verification policy. */
+public record QuestSnapshot(
+        Long id,
+        String title,
+        String description,
+        QuestCategory category,
+        QuestStatus status,
+        Instant startDate,
+        Instant endDate,
+        Instant createdAt,
+        Instant updatedAt,
+        String createdByUserId,
+        QuestVisibility visibility,
+        int participantCount,
+        List<String> requiredEvidence,
+        List<String> optionalEvidence,
+        List<String> disqualifiers,
+        double minSupportScore,
+        String taskType
+) {
+    public static QuestSnapshot of(Quest q) {
+        var signals = q.getVerificationSignals() == null ? VerificationSignals.empty() : q.getVerificationSignals();
+        return new QuestSnapshot(
+                q.getId(), q.getTitle(), q.getDescription(),
+                q.getCategory(), q.getStatus(),
+                q.getStartDate(), q.getEndDate(),
+                q.getCreatedAt(), q.getUpdatedAt(),
+                q.getCreatedByUserId(),
+                q.getVisibility(),
+                q.getParticipantCount(),
+                signals.required(),
+                signals.optional(),
+                signals.disqualifiers(),
+                q.getVerificationMinSupportScore(),
+                q.getVerificationTaskType()
+        );
+    }
+}
@@ -1,24 +1,27 @@
 package com.questify.config;
 
-import com.questify.repository.QuestRepository;
+import com.questify.cache.QuestCache;
+import jakarta.persistence.EntityNotFoundException;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
 @Component("questSecurity")
 public class QuestSecurity {
-    private final QuestRepository quests;
+    private final QuestCache questCache;
     private final JwtAuth jwt;
 
-    public QuestSecurity(QuestRepository quests, JwtAuth jwt) {
-        this.quests = quests;
+    public QuestSecurity(QuestCache questCache, JwtAuth jwt) {
+        this.questCache = questCache;
         this.jwt = jwt;
     }
 
     public boolean isOwner(Long questId, Authentication auth) {
         String me = jwt.userId(auth);
         if (me == null) return false;
-        return quests.findById(questId)
-                .map(q -> me.equals(q.getCreatedByUserId()))
-                .orElse(false);
+        try {
+            return me.equals(questCache.get(questId).createdByUserId());
+        } catch (EntityNotFoundException e) {
+            return false;
+        }
     }
 }
\ No newline at end of file
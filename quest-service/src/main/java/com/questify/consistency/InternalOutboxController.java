@@ -0,0 +1,72 @@
+package com.questify.consistency;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * {@code /internal/outbox}: backlog overview plus the rows that are not getting out (FAILED, or
+ * NEW for longer than {@code stuckAfterSeconds}), and a bulk requeue of FAILED rows. Served under
+ * {@code /internal/**}, so both operations require the {@code X-Internal-Token}; the report
+ * carries {@code lastError} text and must not be public like {@code /actuator/**}.
+ */
+@RestController
+@RequestMapping("/internal/outbox")
+@RequiredArgsConstructor
+public class InternalOutboxController {
+
+    private static final int MAX_LIMIT = 500;
+
+    private final OutboxEventRepository outbox;
+    private final OutboxDispatcher dispatcher;
+
+    public record StuckEvent(String id, String topic, String eventKey, OutboxStatus status, int attempts,
+                             Instant createdAt, Instant nextAttemptAt, String claimedBy, Instant leaseUntil,
+                             String lastError) {}
+
+    public record Report(Map<OutboxStatus, Long> rows, Map<String, Long> pendingByTopic,
+                         Long oldestPendingAgeSeconds, List<StuckEvent> stuck) {}
+
+    public record RequeueResult(int requeued) {}
+
+    @GetMapping
+    public Report report(@RequestParam(required = false) Integer limit,
+                         @RequestParam(required = false) Long stuckAfterSeconds) {
+        int n = Math.min(MAX_LIMIT, Math.max(1, limit == null ? 50 : limit));
+        var olderThan = Instant.now().minusSeconds(stuckAfterSeconds == null ? 300 : Math.max(0, stuckAfterSeconds));
+
+        var rows = new TreeMap<OutboxStatus, Long>();
+        for (var row : outbox.countByStatus()) rows.put(row.getStatus(), row.getTotal());
+
+        var pending = new TreeMap<String, Long>();
+        for (var row : outbox.countPendingByTopic()) pending.put(row.getTopic(), row.getTotal());
+
+        Instant oldest = outbox.findOldestPendingCreatedAt();
+        Long age = oldest == null ? null : Math.max(0, Duration.between(oldest, Instant.now()).toSeconds());
+
+        var stuck = outbox.findStuck(olderThan, PageRequest.of(0, n)).stream()
+                .map(e -> new StuckEvent(e.getId(), e.getTopic(), e.getEventKey(), e.getStatus(), e.getAttempts(),
+                        e.getCreatedAt(), e.getNextAttemptAt(), e.getClaimedBy(), e.getLeaseUntil(), e.getLastError()))
+                .toList();
+
+        return new Report(rows, pending, age, stuck);
+    }
+
+    /** Moves FAILED rows (optionally of one topic) back to NEW with a fresh attempt budget. */
+    @PostMapping("/requeue")
+    public RequeueResult requeue(@RequestParam(required = false) String topic) {
+        int n = outbox.requeueFailed(topic == null || topic.isBlank() ? null : topic, Instant.now());
+        if (n > 0) dispatcher.wakeUp();
+        return new RequeueResult(n);
+    }
+}
@@ -1,27 +1,98 @@
 package com.questify.consistency;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.questify.kafka.EnvelopeFormat;
 import com.questify.kafka.EventEnvelope;
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.mapping.AbstractJavaTypeMapper;
+import org.springframework.kafka.support.serializer.JsonSerializer;
 import org.springframework.stereotype.Component;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Publishes outbox rows in pipelined batches: every event of a batch is handed to the producer
+ * before any acknowledgement is awaited, so a batch costs roughly one broker round-trip, and all
+ * acknowledged rows are marked {@code SENT} with a single bulk update. Per-key ordering relies on
+ * the producer's idempotent, in-order delivery within a partition.
+ * <p>
+ * {@code envelopeJson} is already the serialized envelope, so it is shipped as-is through a
+ * byte-array template built from the application's producer settings, instead of being parsed
+ * back into an {@link EventEnvelope} for {@code JsonSerializer} to write again. The
+ * {@code __TypeId__} header that {@code JsonSerializer} would add is kept unless the producer is
+ * configured with {@code spring.json.add.type.headers=false}. With
+ * {@code app.outbox.envelope-format=cbor} the JSON is streamed token by token into CBOR and the
+ * record is marked with the {@link EnvelopeFormat#HEADER} header; only switch once every consumer
+ * of the topic uses {@code EnvelopeDeserializer}.
+ * <p>
+ * Batches are claimed through {@link OutboxLeases}, so every replica can run the dispatcher: each
+ * one publishes a disjoint set of rows. Per-key ordering is therefore only guaranteed within a
+ * batch, not across replicas draining the same key concurrently.
+ * <p>
+ * The dispatcher runs on its own thread. {@code EventPublisher} wakes it right after the writing
+ * transaction commits, so events produced on this node go out immediately; polling with an idle
+ * backoff (up to {@code app.outbox.dispatchDelayMs}) only picks up retries and rows committed
+ * while another node was down.
+ * <p>
+ * Meters: {@code outbox_publish_latency{topic}} (insert to broker ack),
+ * {@code outbox_send_latency{topic}} (producer send to ack), {@code outbox_dispatch_batch}
+ * (claim to rows updated) and {@code outbox_dispatch_results{result=sent|retry|failed}}. Table-level
+ * gauges live in {@link OutboxMetrics}.
+ */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class OutboxDispatcher {
 
+    private static final Header ENVELOPE_TYPE_HEADER = new RecordHeader(
+            AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME,
+            EventEnvelope.class.getName().getBytes(StandardCharsets.UTF_8));
+    private static final Header CBOR_FORMAT_HEADER = new RecordHeader(
+            EnvelopeFormat.HEADER, EnvelopeFormat.CBOR.getBytes(StandardCharsets.UTF_8));
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final CBORFactory CBOR_FACTORY = new CBORFactory();
+
     private final OutboxEventRepository outbox;
-    private final KafkaTemplate<String, Object> kafka;
-    private final ObjectMapper mapper;
+    private final OutboxLeases leases;
+    private final KafkaTemplate<String, byte[]> kafka;
+    private final boolean typeHeaders;
+    private final MeterRegistry registry;
+    private final Map<String, TopicMeters> metersByTopic = new ConcurrentHashMap<>();
+    private final Timer batchTimer;
+    private final Semaphore signal = new Semaphore(0);
+
+    private volatile boolean running;
+    private Thread worker;
 
     @Value("${app.outbox.enabled:true}")
     private boolean enabled;
@@ -35,49 +106,222 @@ public class OutboxDispatcher {
     @Value("${app.outbox.baseRetrySeconds:5}")
     private int baseRetrySeconds;
 
+    /** Upper bound for awaiting the acknowledgements of a whole batch. */
     @Value("${app.outbox.sendTimeoutSeconds:10}")
     private int sendTimeoutSeconds;
 
-    @Scheduled(fixedDelayString = "${app.outbox.dispatchDelayMs:1000}")
-    public void dispatch() {
+    /** How long a claimed batch stays reserved; must comfortably exceed {@code sendTimeoutSeconds}. */
+    @Value("${app.outbox.leaseSeconds:60}")
+    private int leaseSeconds;
+
+    @Value("${app.outbox.instanceId:${HOSTNAME:}}")
+    private String instanceId;
+
+    /** Poll delay right after activity; doubles on every empty poll up to {@code dispatchDelayMs}. */
+    @Value("${app.outbox.idlePollMinMs:50}")
+    private long idlePollMinMs;
+
+    @Value("${app.outbox.dispatchDelayMs:5000}")
+    private long idlePollMaxMs;
+
+    /** {@code json} (default) or {@code cbor}, see {@link EnvelopeFormat}. */
+    @Value("${app.outbox.envelope-format:json}")
+    private String envelopeFormat;
+
+    @Autowired
+    public OutboxDispatcher(OutboxEventRepository outbox, OutboxLeases leases,
+                            ProducerFactory<?, ?> producerFactory, MeterRegistry registry) {
+        this(outbox, leases, rawTemplate(producerFactory), typeHeaders(producerFactory), registry);
+    }
+
+    public OutboxDispatcher(OutboxEventRepository outbox, OutboxLeases leases,
+                            KafkaTemplate<String, byte[]> kafka, boolean typeHeaders, MeterRegistry registry) {
+        this.outbox = outbox;
+        this.leases = leases;
+        this.kafka = kafka;
+        this.typeHeaders = typeHeaders;
+        this.registry = registry;
+        this.batchTimer = Timer.builder("outbox_dispatch_batch")
+                .description("Time to claim, publish and mark one outbox batch")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    @PostConstruct
+    void init() {
+        if (instanceId == null || instanceId.isBlank()) instanceId = UUID.randomUUID().toString();
+    }
+
+    private static KafkaTemplate<String, byte[]> rawTemplate(ProducerFactory<?, ?> producerFactory) {
+        return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(
+                producerFactory.getConfigurationProperties(), new StringSerializer(), new ByteArraySerializer()));
+    }
+
+    private static boolean typeHeaders(ProducerFactory<?, ?> producerFactory) {
+        Object v = producerFactory.getConfigurationProperties().get(JsonSerializer.ADD_TYPE_INFO_HEADERS);
+        return v == null || Boolean.parseBoolean(v.toString());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
         if (!enabled) return;
+        running = true;
+        worker = Thread.ofVirtual().name("outbox-dispatcher").start(this::run);
+    }
+
+    @PreDestroy
+    void close() throws Exception {
+        running = false;
+        if (worker != null) worker.interrupt();
+        if (kafka.getProducerFactory() instanceof DisposableBean factory) factory.destroy();
+    }
+
+    /** Asks the dispatcher to look for due rows now instead of at its next poll. */
+    public void wakeUp() {
+        if (signal.availablePermits() == 0) signal.release();
+    }
+
+    private void run() {
+        long idleMs = idlePollMinMs;
+        while (running) {
+            int claimed;
+            try {
+                claimed = dispatch();
+            } catch (Exception e) {
+                log.warn("Outbox dispatch failed error={}", e.toString());
+                claimed = 0;
+            }
+            if (claimed >= batchSize) {
+                idleMs = idlePollMinMs;
+                continue;
+            }
+            idleMs = claimed > 0 ? idlePollMinMs : Math.min(idlePollMaxMs, Math.max(idlePollMinMs, idleMs * 2));
 
-        var now = Instant.now();
-        var page = outbox.findByStatusAndNextAttemptAtLessThanEqualOrderByCreatedAtAsc(
-                OutboxStatus.NEW,
-                now,
-                PageRequest.of(0, batchSize, Sort.by("createdAt").ascending())
-        );
+            try {
+                boolean signalled = signal.tryAcquire(idleMs, TimeUnit.MILLISECONDS);
+                signal.drainPermits();
+                if (signalled) idleMs = idlePollMinMs;
+                registry.counter("outbox_dispatcher_wakeups", "reason", signalled ? "signal" : "poll").increment();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
 
-        for (var ev : page.getContent()) {
+    /** Publishes one claimed batch and returns how many rows it contained. */
+    public int dispatch() {
+        if (!enabled) return 0;
+
+        long started = System.nanoTime();
+        var batch = leases.claim(instanceId, batchSize, Duration.ofSeconds(leaseSeconds));
+        if (batch.isEmpty()) return 0;
+
+        var inFlight = send(batch);
+        await(inFlight);
+        batchTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        return batch.size();
+    }
+
+    private List<InFlight> send(List<OutboxEvent> events) {
+        boolean cbor = EnvelopeFormat.CBOR.equalsIgnoreCase(envelopeFormat);
+        var inFlight = new ArrayList<InFlight>(events.size());
+        for (var ev : events) {
+            CompletableFuture<?> future;
             try {
-                @SuppressWarnings("rawtypes")
-                EventEnvelope env = mapper.readValue(ev.getEnvelopeJson(), EventEnvelope.class);
+                byte[] value = cbor
+                        ? toCbor(ev.getEnvelopeJson())
+                        : ev.getEnvelopeJson().getBytes(StandardCharsets.UTF_8);
+                var record = new ProducerRecord<>(ev.getTopic(), ev.getEventKey(), value);
+                if (typeHeaders) record.headers().add(ENVELOPE_TYPE_HEADER);
+                if (cbor) record.headers().add(CBOR_FORMAT_HEADER);
+                long sentAt = System.nanoTime();
+                future = kafka.send(record).whenComplete((r, ex) -> {
+                    if (ex != null) return;
+                    var meters = meters(ev.getTopic());
+                    meters.send().record(System.nanoTime() - sentAt, TimeUnit.NANOSECONDS);
+                    meters.publish().record(Duration.between(ev.getCreatedAt(), Instant.now()));
+                });
+            } catch (Exception ex) {
+                future = CompletableFuture.failedFuture(ex);
+            }
+            inFlight.add(new InFlight(ev, future));
+        }
+        return inFlight;
+    }
+
+    /** Copies the stored JSON into CBOR token by token, without binding it to objects. */
+    static byte[] toCbor(String json) throws IOException {
+        var out = new ByteArrayOutputStream(json.length());
+        try (var parser = JSON_FACTORY.createParser(json); var generator = CBOR_FACTORY.createGenerator(out)) {
+            parser.nextToken();
+            generator.copyCurrentStructure(parser);
+        }
+        return out.toByteArray();
+    }
 
-                kafka.send(ev.getTopic(), ev.getEventKey(), env)
-                        .get(sendTimeoutSeconds, TimeUnit.SECONDS);
+    private void await(List<InFlight> inFlight) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(sendTimeoutSeconds);
+        var sent = new ArrayList<String>(inFlight.size());
+        var failed = new ArrayList<OutboxEvent>();
 
-                ev.setStatus(OutboxStatus.SENT);
-                ev.setSentAt(Instant.now());
-                ev.setLastError(null);
-                outbox.save(ev);
+        for (var f : inFlight) {
+            try {
+                f.future().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                sent.add(f.event().getId());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                failed.add(retryOrFail(f.event(), ex));
             } catch (Exception ex) {
-                int nextAttempts = ev.getAttempts() + 1;
-                ev.setAttempts(nextAttempts);
-                ev.setLastError(ex.getClass().getSimpleName() + ": " + ex.getMessage());
-
-                if (nextAttempts >= maxAttempts) {
-                    ev.setStatus(OutboxStatus.FAILED);
-                    log.error("Outbox FAILED id={} topic={} attempts={} error={}",
-                            ev.getId(), ev.getTopic(), nextAttempts, ev.getLastError());
-                } else {
-                    ev.setNextAttemptAt(Instant.now().plusSeconds((long) nextAttempts * baseRetrySeconds));
-                    log.warn("Outbox retry id={} topic={} attempt={} nextAttemptAt={} error={}",
-                            ev.getId(), ev.getTopic(), nextAttempts, ev.getNextAttemptAt(), ev.getLastError());
-                }
-
-                outbox.save(ev);
+                var cause = ex instanceof ExecutionException && ex.getCause() != null ? ex.getCause() : ex;
+                failed.add(retryOrFail(f.event(), cause));
             }
         }
+
+        if (!sent.isEmpty()) {
+            outbox.markSent(sent, Instant.now());
+            registry.counter("outbox_dispatch_results", "result", "sent").increment(sent.size());
+        }
+        if (!failed.isEmpty()) outbox.saveAll(failed);
+        log.debug("Outbox batch size={} sent={} failed={}", inFlight.size(), sent.size(), failed.size());
     }
+
+    private OutboxEvent retryOrFail(OutboxEvent ev, Throwable ex) {
+        int nextAttempts = ev.getAttempts() + 1;
+        ev.setAttempts(nextAttempts);
+        ev.setClaimedBy(null);
+        ev.setLeaseUntil(null);
+        ev.setLastError(ex.getClass().getSimpleName() + ": " + ex.getMessage());
+
+        boolean exhausted = nextAttempts >= maxAttempts;
+        registry.counter("outbox_dispatch_results", "result", exhausted ? "failed" : "retry").increment();
+        if (exhausted) {
+            ev.setStatus(OutboxStatus.FAILED);
+            log.error("Outbox FAILED id={} topic={} attempts={} error={}",
+                    ev.getId(), ev.getTopic(), nextAttempts, ev.getLastError());
+        } else {
+            ev.setNextAttemptAt(Instant.now().plusSeconds((long) nextAttempts * baseRetrySeconds));
+            log.warn("Outbox retry id={} topic={} attempt={} nextAttemptAt={} error={}",
+                    ev.getId(), ev.getTopic(), nextAttempts, ev.getNextAttemptAt(), ev.getLastError());
+        }
+        return ev;
+    }
+
+    private TopicMeters meters(String topic) {
+        return metersByTopic.computeIfAbsent(topic, t -> new TopicMeters(
+                Timer.builder("outbox_publish_latency")
+                        .description("Time from outbox insert to broker acknowledgement")
+                        .tag("topic", t)
+                        .publishPercentileHistogram()
+                        .register(registry),
+                Timer.builder("outbox_send_latency")
+                        .description("Time from producer send to broker acknowledgement")
+                        .tag("topic", t)
+                        .publishPercentileHistogram()
+                        .register(registry)));
+    }
+
+    private record TopicMeters(Timer publish, Timer send) {}
+
+    private record InFlight(OutboxEvent event, CompletableFuture<?> future) {}
 }
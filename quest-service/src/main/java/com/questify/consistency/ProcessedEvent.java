@@ -3,6 +3,7 @@ package com.questify.consistency;
 import jakarta.persistence.Column;
 import jakarta.persistence.EmbeddedId;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -16,7 +17,10 @@ import java.time.Instant;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "processed_event")
+@Table(
+        name = "processed_event",
+        indexes = @Index(name = "idx_processed_event_processed_at", columnList = "processedAt")
+)
 public class ProcessedEvent {
 
     @EmbeddedId
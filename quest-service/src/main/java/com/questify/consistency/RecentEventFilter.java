@@ -0,0 +1,115 @@
+package com.questify.consistency;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory Bloom filter of event ids this instance recently recorded, one per consumer group.
+ * A negative answer means the id was not seen here, which lets {@link ProcessedEventService} insert it
+ * without checking the table first; only possible hits are looked up. Hits are answered per id rather
+ * than per poll, since at a 1% false-positive rate a 500-id poll almost always has at least one. The
+ * table stays authoritative either way, since redeliveries after a restart or rebalance are not in the filter.
+ * <p>
+ * Each group keeps two generations of {@code capacity} ids; when the current one fills up it becomes
+ * the previous one and the oldest is dropped, so memory stays bounded and old ids age out.
+ */
+@Component
+public class RecentEventFilter {
+
+    private final boolean enabled;
+    private final int capacity;
+    private final int bits;
+    private final int hashes;
+    private final ConcurrentHashMap<String, Generations> groups = new ConcurrentHashMap<>();
+
+    public RecentEventFilter(@Value("${app.processed-events.filter.enabled:true}") boolean enabled,
+                             @Value("${app.processed-events.filter.capacity:500000}") int capacity,
+                             @Value("${app.processed-events.filter.fpp:0.01}") double fpp) {
+        this.enabled = enabled;
+        this.capacity = capacity;
+        double ln2 = Math.log(2);
+        this.bits = (int) Math.max(64, Math.ceil(-capacity * Math.log(fpp) / (ln2 * ln2)));
+        this.hashes = (int) Math.max(1, Math.round((double) bits / capacity * ln2));
+    }
+
+    /** The ids that may have been recorded for the group, in input order; all of them when the filter is disabled. */
+    public List<String> possiblySeen(String consumerGroup, Collection<String> eventIds) {
+        if (!enabled) return List.copyOf(eventIds);
+        var g = groups.get(consumerGroup);
+        if (g == null) return List.of();
+        var hits = new ArrayList<String>();
+        for (var id : eventIds) {
+            if (g.mightContain(hash(id))) hits.add(id);
+        }
+        return hits;
+    }
+
+    public void addAll(String consumerGroup, Collection<String> eventIds) {
+        if (!enabled || eventIds.isEmpty()) return;
+        var g = groups.computeIfAbsent(consumerGroup, k -> new Generations());
+        for (var id : eventIds) g.put(hash(id));
+    }
+
+    private final class Generations {
+        private Bloom current = new Bloom();
+        private Bloom previous;
+
+        synchronized boolean mightContain(long hash) {
+            return current.mightContain(hash) || (previous != null && previous.mightContain(hash));
+        }
+
+        synchronized void put(long hash) {
+            if (current.count >= capacity) {
+                previous = current;
+                current = new Bloom();
+            }
+            current.put(hash);
+        }
+    }
+
+    private final class Bloom {
+        private final long[] words = new long[(bits + 63) >>> 6];
+        private int count;
+
+        boolean mightContain(long hash) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashes; i++) {
+                int bit = ((h1 + i * h2) & Integer.MAX_VALUE) % bits;
+                if ((words[bit >>> 6] & (1L << bit)) == 0) return false;
+            }
+            return true;
+        }
+
+        void put(long hash) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashes; i++) {
+                int bit = ((h1 + i * h2) & Integer.MAX_VALUE) % bits;
+                words[bit >>> 6] |= 1L << bit;
+            }
+            count++;
+        }
+    }
+
+    /** 64-bit FNV-1a over the UTF-8 bytes, finished with a murmur3 mix so both halves are well spread. */
+    private static long hash(String id) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : id.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -2,7 +2,6 @@ package com.questify.controller;
 
 import com.questify.service.QuestService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -17,17 +16,16 @@ public class InternalAiReviewContextController {
     private final QuestService quests;
 
     @GetMapping("/{questId}/ai-review-context")
-    @Transactional(readOnly = true)
     public AiReviewQuestContextRes aiReviewContext(@PathVariable Long questId) {
-        var quest = quests.get(questId);
+        var quest = quests.getCached(questId);
         return new AiReviewQuestContextRes(
-                quest.getTitle(),
-                quest.getDescription(),
-                quest.getVerificationRequiredEvidence() == null ? List.of() : List.copyOf(quest.getVerificationRequiredEvidence()),
-                quest.getVerificationOptionalEvidence() == null ? List.of() : List.copyOf(quest.getVerificationOptionalEvidence()),
-                quest.getVerificationDisqualifiers() == null ? List.of() : List.copyOf(quest.getVerificationDisqualifiers()),
-                quest.getVerificationMinSupportScore(),
-                quest.getVerificationTaskType()
+                quest.title(),
+                quest.description(),
+                quest.requiredEvidence(),
+                quest.optionalEvidence(),
+                quest.disqualifiers(),
+                quest.minSupportScore(),
+                quest.taskType()
         );
     }
 
@@ -0,0 +1,25 @@
+package com.questify.controller;
+
+import com.questify.dto.ParticipantCountDtos.DriftReportRes;
+import com.questify.dto.ParticipantCountDtos.RepairRes;
+import com.questify.service.ParticipantCountReconciler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/internal/quests/participant-counts")
+@RequiredArgsConstructor
+public class InternalParticipantCountController {
+
+    private final ParticipantCountReconciler reconciler;
+
+    @GetMapping("/drift")
+    public DriftReportRes drift(@RequestParam(defaultValue = "100") int limit) {
+        return reconciler.report(limit);
+    }
+
+    @PostMapping("/repair")
+    public RepairRes repair() {
+        return reconciler.repair();
+    }
+}
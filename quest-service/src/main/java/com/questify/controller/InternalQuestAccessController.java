@@ -1,6 +1,9 @@
 package com.questify.controller;
 
+import com.questify.dto.QuestAccessDtos.AccessBatchReq;
+import com.questify.dto.QuestAccessDtos.AccessBatchRes;
 import com.questify.service.QuestService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -21,4 +24,9 @@ public class InternalQuestAccessController {
         boolean ok = questService.isOwnerOrParticipant(questId, userId);
         return ResponseEntity.ok(Map.of("allowed", ok));
     }
+
+    @PostMapping("/quests/access/batch")
+    public AccessBatchRes allowedBatch(@Valid @RequestBody AccessBatchReq req) {
+        return new AccessBatchRes(questService.accessBatch(req.checks()));
+    }
 }
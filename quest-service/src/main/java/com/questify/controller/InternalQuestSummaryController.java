@@ -0,0 +1,23 @@
+package com.questify.controller;
+
+import com.questify.dto.QuestSummaryDtos.RebuildRes;
+import com.questify.service.QuestSummaryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/internal/quests/summaries")
+@RequiredArgsConstructor
+public class InternalQuestSummaryController {
+
+    private final QuestSummaryService summaries;
+
+    @PostMapping("/rebuild")
+    public RebuildRes rebuild(@RequestParam(required = false) String userId) {
+        if (userId != null && !userId.isBlank()) {
+            summaries.rebuild(userId);
+            return new RebuildRes(1);
+        }
+        return summaries.rebuildAll();
+    }
+}
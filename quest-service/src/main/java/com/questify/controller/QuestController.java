@@ -4,37 +4,56 @@ import com.questify.config.JwtAuth;
 import com.questify.domain.Quest;
 import com.questify.domain.QuestStatus;
 import com.questify.dto.ParticipantResponse;
+import com.questify.dto.ParticipantSliceRes;
+import com.questify.dto.QuestCursor;
 import com.questify.dto.QuestDtos.*;
 import com.questify.dto.QuestSummaryRes;
 import com.questify.mapper.QuestMapper;
 import com.questify.repository.QuestParticipantRepository;
+import com.questify.search.QuestSearchService;
 import com.questify.service.CompletionService;
 import com.questify.service.QuestService;
+import com.questify.service.QuestSummaryService;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/quests")
 public class QuestController {
 
+    private static final int EXPORT_CHUNK_SIZE = 1000;
+
     private final QuestService service;
     private final QuestParticipantRepository participantRepo;
     private final CompletionService completionService;
+    private final QuestSearchService searchService;
+    private final QuestSummaryService summaryService;
     private final JwtAuth jwt;
 
     public QuestController(QuestService service,
                            QuestParticipantRepository participantRepo,
                            CompletionService completionService,
+                           QuestSearchService searchService,
+                           QuestSummaryService summaryService,
                            JwtAuth jwt) {
         this.service = service;
         this.participantRepo = participantRepo;
         this.completionService = completionService;
+        this.searchService = searchService;
+        this.summaryService = summaryService;
         this.jwt = jwt;
     }
 
@@ -48,14 +67,33 @@ public class QuestController {
         return PageRequest.of(p, s, sort);
     }
 
+    private PageRequest slice(int size) {
+        return page(0, size);
+    }
+
+    private QuestSliceRes toSliceRes(Slice<Quest> s, String me) {
+        var ids = s.getContent().stream().map(Quest::getId).toList();
+        Set<Long> completed = me == null ? Set.of() : completionService.completedQuestIds(ids, me);
+        var content = s.getContent().stream()
+                .map(q -> QuestMapper.toListRes(q, completed.contains(q.getId())))
+                .toList();
+        String next = s.hasNext() && !s.getContent().isEmpty()
+                ? QuestCursor.after(s.getContent().get(s.getContent().size() - 1)).encode()
+                : null;
+        return new QuestSliceRes(content, s.getSize(), s.hasNext(), next);
+    }
+
+    private Page<QuestRes> toResPage(Page<Quest> p, String me) {
+        var ids = p.getContent().stream().map(Quest::getId).toList();
+        Set<Long> completed = me == null ? Set.of() : completionService.completedQuestIds(ids, me);
+        return p.map(q -> QuestMapper.toListRes(q, completed.contains(q.getId())));
+    }
+
     @GetMapping("/mine-or-participating/summary")
     @PreAuthorize("isAuthenticated()")
     public QuestSummaryRes mineOrParticipatingSummary(@RequestParam(required = false) Boolean archived,
                                                       Authentication auth) {
-        var me = jwt.userId(auth);
-        long total = service.countMineOrParticipatingFiltered(me, archived);
-        long completed = completionService.countCompletedInMineOrParticipatingFiltered(me, archived);
-        return new QuestSummaryRes(total, completed);
+        return summaryService.summary(jwt.userId(auth), archived);
     }
 
 
@@ -64,7 +102,7 @@ public class QuestController {
     public ResponseEntity<QuestRes> create(@Valid @RequestBody CreateQuestReq req, Authentication auth) {
         var me = jwt.userId(auth);
         var saved = service.create(req, me);
-        var res = QuestMapper.toRes(saved, service.participantsCount(saved.getId()), false);
+        var res = QuestMapper.toRes(saved, saved.getParticipantCount(), false);
         return ResponseEntity.created(URI.create("/quests/" + saved.getId())).body(res);
     }
 
@@ -74,7 +112,7 @@ public class QuestController {
         var me = jwt.userId(auth);
         var q = service.update(id, req, me);
         boolean completedByMe = completionService.isCompleted(id, me);
-        return QuestMapper.toRes(q, service.participantsCount(id), completedByMe);
+        return QuestMapper.toRes(q, q.getParticipantCount(), completedByMe);
     }
 
     @PatchMapping("/{id}/status")
@@ -83,7 +121,7 @@ public class QuestController {
         var me = jwt.userId(auth);
         var q = service.updateStatus(id, req, me);
         boolean completedByMe = completionService.isCompleted(id, me);
-        return QuestMapper.toRes(q, service.participantsCount(id), completedByMe);
+        return QuestMapper.toRes(q, q.getParticipantCount(), completedByMe);
     }
 
     @PostMapping("/{id}/archive")
@@ -92,7 +130,7 @@ public class QuestController {
         var me = jwt.userId(auth);
         var q = service.archive(id, me);
         boolean completedByMe = completionService.isCompleted(id, me);
-        return QuestMapper.toRes(q, service.participantsCount(id), completedByMe);
+        return QuestMapper.toRes(q, q.getParticipantCount(), completedByMe);
     }
 
     @PostMapping("/{id}/join")
@@ -113,12 +151,48 @@ public class QuestController {
     public Page<ParticipantResponse> participants(@PathVariable Long id,
                                                   @RequestParam(defaultValue = "0") int page,
                                                   @RequestParam(defaultValue = "25") int size) {
-        var list = participantRepo.findByQuest_Id(id);
-        var dtos = QuestMapper.toParticipantDtos(list);
         var p = page(page, size);
-        int from = Math.min(p.getPageNumber() * p.getPageSize(), dtos.size());
-        int to = Math.min(from + p.getPageSize(), dtos.size());
-        return new PageImpl<>(dtos.subList(from, to), p, dtos.size());
+        return participantRepo.findPageByQuestId(id, PageRequest.of(p.getPageNumber(), p.getPageSize()));
+    }
+
+    @GetMapping("/{id}/participants/scroll")
+    public ParticipantSliceRes participantsScroll(@PathVariable Long id,
+                                                  @RequestParam(defaultValue = "0") long after,
+                                                  @RequestParam(defaultValue = "25") int size) {
+        var s = participantRepo.findByQuestIdAfter(id, after, PageRequest.of(0, slice(size).getPageSize()));
+        var content = s.getContent();
+        Long next = s.hasNext() && !content.isEmpty() ? content.get(content.size() - 1).id() : null;
+        return new ParticipantSliceRes(content, s.getSize(), s.hasNext(), next);
+    }
+
+    @GetMapping(value = "/{id}/participants/export", produces = "text/csv")
+    @PreAuthorize("@questSecurity.isOwner(#id, authentication) or hasAnyRole('ADMIN','REVIEWER')")
+    public ResponseEntity<StreamingResponseBody> exportParticipants(@PathVariable Long id) {
+        StreamingResponseBody body = out -> {
+            var writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writer.write("participantId,userId,joinedAt\n");
+            long after = 0;
+            while (true) {
+                var chunk = participantRepo.findByQuestIdAfter(id, after, PageRequest.of(0, EXPORT_CHUNK_SIZE));
+                for (var p : chunk.getContent()) {
+                    writer.write(p.id() + "," + csv(p.userId()) + "," + p.joinedAt() + "\n");
+                }
+                if (!chunk.hasNext() || chunk.getContent().isEmpty()) break;
+                after = chunk.getContent().get(chunk.getContent().size() - 1).id();
+                writer.flush();
+            }
+            writer.flush();
+        };
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"quest-" + id + "-participants.csv\"")
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .body(body);
+    }
+
+    private static String csv(String value) {
+        if (value == null) return "";
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) return value;
+        return '"' + value.replace("\"", "\"\"") + '"';
     }
 
     @GetMapping
@@ -128,32 +202,36 @@ public class QuestController {
         Page<Quest> p = (status == null)
                 ? service.discoverActive(page(page, size))
                 : service.listByStatus(status, page(page, size));
-        return p.map(q -> QuestMapper.toRes(q, service.participantsCount(q.getId()), false));
+        return toResPage(p, null);
     }
 
     @GetMapping("/{id}")
     public QuestRes get(@PathVariable Long id, Authentication auth) {
-        var q = service.get(id);
+        var q = service.getCached(id);
         boolean completedByMe = (auth != null && auth.isAuthenticated())
                 ? completionService.isCompleted(id, jwt.userId(auth))
                 : false;
-        return QuestMapper.toRes(q, service.participantsCount(id), completedByMe);
+        return QuestMapper.toRes(q, completedByMe);
     }
 
     @GetMapping("/discover")
     public Page<QuestRes> discover(@RequestParam(defaultValue = "0") int page,
                                    @RequestParam(defaultValue = "10") int size) {
-        var p = service.discoverActive(page(page, size))
-                .map(q -> QuestMapper.toRes(q, service.participantsCount(q.getId()), false));
+        var p = toResPage(service.discoverActive(page(page, size)), null);
         return new PageImpl<>(p.getContent(), p.getPageable(), p.getTotalElements());
     }
 
+    @GetMapping("/discover/scroll")
+    public QuestSliceRes discoverScroll(@RequestParam(required = false) String cursor,
+                                        @RequestParam(defaultValue = "10") int size) {
+        return toSliceRes(service.discoverActiveAfter(QuestCursor.decode(cursor), slice(size)), null);
+    }
+
     @GetMapping("/search")
     public Page<QuestRes> search(@RequestParam String q,
                                  @RequestParam(defaultValue = "0") int page,
                                  @RequestParam(defaultValue = "10") int size) {
-        var p = service.searchPublic(q, page(page, size))
-                .map(x -> QuestMapper.toRes(x, service.participantsCount(x.getId()), false));
+        var p = toResPage(searchService.search(q, page(page, size)), null);
         return new PageImpl<>(p.getContent(), p.getPageable(), p.getTotalElements());
     }
 
@@ -168,8 +246,27 @@ public class QuestController {
                 ? service.mine(me, page(page, size))
                 : service.mineByStatus(me, status, page(page, size));
 
-        return p.map(x -> QuestMapper.toRes(x, service.participantsCount(x.getId()),
-                completionService.isCompleted(x.getId(), me)));
+        return toResPage(p, me);
+    }
+
+    @GetMapping("/mine/scroll")
+    @PreAuthorize("isAuthenticated()")
+    public QuestSliceRes mineScroll(@RequestParam(required = false) String cursor,
+                                    @RequestParam(defaultValue = "10") int size,
+                                    @RequestParam(required = false) QuestStatus status,
+                                    Authentication auth) {
+        var me = jwt.userId(auth);
+        return toSliceRes(service.mineAfter(me, status, QuestCursor.decode(cursor), slice(size)), me);
+    }
+
+    @GetMapping("/mine-or-participating/scroll")
+    @PreAuthorize("isAuthenticated()")
+    public QuestSliceRes mineOrParticipatingScroll(@RequestParam(required = false) String cursor,
+                                                   @RequestParam(defaultValue = "10") int size,
+                                                   @RequestParam(required = false) Boolean archived,
+                                                   Authentication auth) {
+        var me = jwt.userId(auth);
+        return toSliceRes(service.mineOrParticipatingAfter(me, archived, QuestCursor.decode(cursor), slice(size)), me);
     }
 
     @GetMapping("/mine-or-participating")
@@ -194,7 +291,6 @@ public class QuestController {
             p = service.mineOrParticipating(me, page(page, size));
         }
 
-        return p.map(x -> QuestMapper.toRes(x, service.participantsCount(x.getId()),
-                completionService.isCompleted(x.getId(), me)));
+        return toResPage(p, me);
     }
 }
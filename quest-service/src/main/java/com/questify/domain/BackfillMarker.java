@@ -0,0 +1,25 @@
+package com.questify.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Completion record of a one-time data backfill (see {@code BackfillMarkers}). The schema is managed
+ * by Hibernate, so backfills that would otherwise ship as migrations record here that they have run.
+ */
+@Entity
+@Table(name = "backfill_marker")
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BackfillMarker {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(name = "completed_at", nullable = false)
+    private Instant completedAt;
+}
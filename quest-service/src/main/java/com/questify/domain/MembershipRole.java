@@ -0,0 +1,6 @@
+package com.questify.domain;
+
+public enum MembershipRole {
+    OWNER,
+    PARTICIPANT
+}
@@ -8,12 +8,19 @@ import java.util.Set;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 @Builder
 @Entity
-@Table(name="quests")
+@Table(
+        name = "quests",
+        indexes = {
+                @Index(name = "idx_quests_visibility_status_created", columnList = "visibility,status,createdAt,id"),
+                @Index(name = "idx_quests_owner_created", columnList = "created_by_user_id,createdAt,id")
+        }
+)
 @Getter @Setter @AllArgsConstructor @NoArgsConstructor
 public class Quest {
 
@@ -58,23 +65,10 @@ public class Quest {
     @Builder.Default
     private QuestVisibility visibility = QuestVisibility.PRIVATE;
 
-    @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(name = "quest_verification_required", joinColumns = @JoinColumn(name = "quest_id"))
-    @Column(name = "`signal`", nullable = false, length = 120)
-    @Builder.Default
-    private Set<String> verificationRequiredEvidence = new LinkedHashSet<>();
-
-    @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(name = "quest_verification_optional", joinColumns = @JoinColumn(name = "quest_id"))
-    @Column(name = "`signal`", nullable = false, length = 120)
+    @Convert(converter = VerificationSignalsConverter.class)
+    @Column(name = "verification_signals", columnDefinition = "TEXT")
     @Builder.Default
-    private Set<String> verificationOptionalEvidence = new LinkedHashSet<>();
-
-    @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(name = "quest_verification_disqualifiers", joinColumns = @JoinColumn(name = "quest_id"))
-    @Column(name = "`signal`", nullable = false, length = 120)
-    @Builder.Default
-    private Set<String> verificationDisqualifiers = new LinkedHashSet<>();
+    private VerificationSignals verificationSignals = VerificationSignals.empty();
 
     @Column(name = "verification_min_support_score", nullable = false)
     @Builder.Default
@@ -83,6 +77,11 @@ public class Quest {
     @Column(name = "verification_task_type", length = 80)
     private String verificationTaskType;
 
+    @ColumnDefault("0")
+    @Column(name = "participant_count", nullable = false, updatable = false)
+    @Builder.Default
+    private int participantCount = 0;
+
     @OneToMany(mappedBy = "quest", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @Builder.Default
     private Set<QuestParticipant> participants = new LinkedHashSet<>();
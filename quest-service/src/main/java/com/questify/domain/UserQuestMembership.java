@@ -0,0 +1,60 @@
+package com.questify.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Read projection of "quests a user owns or participates in", one row per (user, quest).
+ * Written in the same transactions as the quest and participant changes it mirrors; owner rows
+ * win over participant rows. {@code createdAt} is the quest's creation time so feeds can be
+ * ordered and paged from the index alone.
+ */
+@Entity
+@Table(
+        name = "user_quest_membership",
+        uniqueConstraints = @UniqueConstraint(name = "uq_membership_user_quest", columnNames = {"user_id", "quest_id"}),
+        indexes = {
+                @Index(name = "idx_membership_user_created", columnList = "user_id,created_at,quest_id"),
+                @Index(name = "idx_membership_user_status_created", columnList = "user_id,status,created_at,quest_id"),
+                @Index(name = "idx_membership_quest", columnList = "quest_id")
+        }
+)
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserQuestMembership {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false, length = 128)
+    private String userId;
+
+    @Column(name = "quest_id", nullable = false)
+    private Long questId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "role", nullable = false, length = 16)
+    private MembershipRole role;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 24)
+    private QuestStatus status;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    public static UserQuestMembership of(Quest quest, String userId, MembershipRole role) {
+        return UserQuestMembership.builder()
+                .userId(userId)
+                .questId(quest.getId())
+                .role(role)
+                .status(quest.getStatus())
+                .createdAt(quest.getCreatedAt())
+                .build();
+    }
+}
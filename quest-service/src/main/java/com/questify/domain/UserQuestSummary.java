@@ -0,0 +1,45 @@
+package com.questify.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Per-user dashboard counters over the quests a user owns or participates in. Maintained with
+ * deltas by {@code QuestSummaryService}; a missing row is rebuilt from the membership projection
+ * on first read.
+ */
+@Entity
+@Table(name = "user_quest_summary")
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserQuestSummary {
+
+    @Id
+    @Column(name = "user_id", length = 128)
+    private String userId;
+
+    @Column(nullable = false)
+    private long total;
+
+    @Column(nullable = false)
+    private long active;
+
+    @Column(nullable = false)
+    private long archived;
+
+    @Column(nullable = false)
+    private long completed;
+
+    @Column(name = "completed_archived", nullable = false)
+    private long completedArchived;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    @PrePersist @PreUpdate
+    void touch() { updatedAt = Instant.now(); }
+}
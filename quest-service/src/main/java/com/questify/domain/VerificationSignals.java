@@ -0,0 +1,36 @@
+package com.questify.domain;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Evidence signals of a quest's verification policy. Stored as a single JSON column on
+ * {@code quests} (see {@link VerificationSignalsConverter}) so a quest loads in one select.
+ */
+public record VerificationSignals(
+        List<String> required,
+        List<String> optional,
+        List<String> disqualifiers
+) {
+    private static final VerificationSignals EMPTY = new VerificationSignals(List.of(), List.of(), List.of());
+
+    public VerificationSignals {
+        required = copy(required);
+        optional = copy(optional);
+        disqualifiers = copy(disqualifiers);
+    }
+
+    public static VerificationSignals empty() {
+        return EMPTY;
+    }
+
+    public static VerificationSignals of(Collection<String> required,
+                                         Collection<String> optional,
+                                         Collection<String> disqualifiers) {
+        return new VerificationSignals(copy(required), copy(optional), copy(disqualifiers));
+    }
+
+    private static List<String> copy(Collection<String> values) {
+        return values == null ? List.of() : List.copyOf(values);
+    }
+}
@@ -0,0 +1,46 @@
+package com.questify.domain;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Empty signals are stored as {@code null}: a quest that was loaded before
+ * {@code VerificationSignalsBackfill} reached it reads as empty, and saving it (a status change,
+ * say) must leave the column {@code null} so the backfill still copies its legacy rows.
+ */
+@Converter
+public class VerificationSignalsConverter implements AttributeConverter<VerificationSignals, String> {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Override
+    public String convertToDatabaseColumn(VerificationSignals signals) {
+        if (signals == null || isEmpty(signals)) return null;
+        return toJson(signals);
+    }
+
+    /** Serializes unconditionally, empty signals included; used where a row must be marked as migrated. */
+    public static String toJson(VerificationSignals signals) {
+        try {
+            return MAPPER.writeValueAsString(signals);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize verification signals", e);
+        }
+    }
+
+    private static boolean isEmpty(VerificationSignals s) {
+        return s.required().isEmpty() && s.optional().isEmpty() && s.disqualifiers().isEmpty();
+    }
+
+    @Override
+    public VerificationSignals convertToEntityAttribute(String json) {
+        if (json == null || json.isBlank()) return VerificationSignals.empty();
+        try {
+            return MAPPER.readValue(json, VerificationSignals.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot read verification signals", e);
+        }
+    }
+}
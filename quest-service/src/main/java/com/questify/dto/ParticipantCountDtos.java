@@ -0,0 +1,25 @@
+package com.questify.dto;
+
+import java.util.List;
+
+public final class ParticipantCountDtos {
+
+    private ParticipantCountDtos() {}
+
+    public record DriftRes(
+            Long questId,
+            int storedCount,
+            long actualCount
+    ) {}
+
+    public record DriftReportRes(
+            long questsScanned,
+            long driftedQuests,
+            List<DriftRes> drift
+    ) {}
+
+    public record RepairRes(
+            long questsScanned,
+            long questsRepaired
+    ) {}
+}
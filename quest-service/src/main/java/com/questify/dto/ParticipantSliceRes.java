@@ -0,0 +1,5 @@
+package com.questify.dto;
+
+import java.util.List;
+
+public record ParticipantSliceRes(List<ParticipantResponse> content, int size, boolean hasNext, Long nextAfter) {}
@@ -0,0 +1,32 @@
+package com.questify.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public final class QuestAccessDtos {
+
+    private QuestAccessDtos() {}
+
+    public record AccessCheck(
+            @NotNull Long questId,
+            @NotBlank String userId
+    ) {}
+
+    public record AccessBatchReq(
+            @NotNull @Size(max = 500) List<@Valid @NotNull AccessCheck> checks
+    ) {}
+
+    public record AccessResult(
+            Long questId,
+            String userId,
+            boolean allowed
+    ) {}
+
+    public record AccessBatchRes(
+            List<AccessResult> results
+    ) {}
+}
@@ -0,0 +1,40 @@
+package com.questify.dto;
+
+import com.questify.domain.Quest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position for feeds ordered by {@code createdAt desc, id desc}.
+ * Encoded as URL-safe base64 of {@code <createdAt>|<id>}.
+ */
+public record QuestCursor(Instant createdAt, Long id) {
+
+    private static final QuestCursor START = new QuestCursor(Instant.parse("9999-12-31T23:59:59Z"), Long.MAX_VALUE);
+
+    public static QuestCursor start() {
+        return START;
+    }
+
+    public static QuestCursor after(Quest q) {
+        return new QuestCursor(q.getCreatedAt(), q.getId());
+    }
+
+    public static QuestCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return START;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            return new QuestCursor(Instant.parse(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor.");
+        }
+    }
+
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
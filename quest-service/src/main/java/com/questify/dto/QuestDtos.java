@@ -59,4 +59,11 @@ public class QuestDtos {
             VerificationPolicyDto verificationPolicy
     ) {}
 
+    public record QuestSliceRes(
+            List<QuestRes> content,
+            int size,
+            boolean hasNext,
+            String nextCursor
+    ) {}
+
 }
@@ -0,0 +1,10 @@
+package com.questify.dto;
+
+public final class QuestSummaryDtos {
+
+    private QuestSummaryDtos() {}
+
+    public record RebuildRes(
+            long usersRebuilt
+    ) {}
+}
@@ -1,12 +1,15 @@
 package com.questify.kafka;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.questify.consistency.OutboxDispatcher;
 import com.questify.consistency.OutboxEvent;
 import com.questify.consistency.OutboxEventRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Component
 @RequiredArgsConstructor
@@ -15,6 +18,7 @@ public class EventPublisher {
     private final OutboxEventRepository outbox;
     private final ObjectMapper mapper;
     private final KafkaTemplate<String, Object> kafka;
+    private final OutboxDispatcher dispatcher;
 
     @Value("${app.outbox.enabled:true}")
     private boolean outboxEnabled;
@@ -33,5 +37,20 @@ public class EventPublisher {
         } catch (Exception e) {
             throw new RuntimeException("Failed to serialize event envelope for outbox", e);
         }
+        wakeDispatcherAfterCommit();
+    }
+
+    /** The row only becomes visible to the dispatcher once the surrounding transaction commits. */
+    private void wakeDispatcherAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            dispatcher.wakeUp();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                dispatcher.wakeUp();
+            }
+        });
     }
 }
@@ -0,0 +1,66 @@
+package com.questify.kafka;
+
+import com.questify.cache.QuestCache;
+import com.questify.search.QuestSearchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps this instance's in-memory quest projections (search index, quest cache) current. Every
+ * replica holds its own copy, so the group id is unique per instance and only new events are read.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QuestChangeListener {
+
+    private static final Set<String> SEARCH_TYPES =
+            Set.of("QuestCreated", "QuestUpdated", "QuestStatusUpdated", "QuestArchived");
+    private static final Set<String> CACHE_TYPES =
+            Set.of("QuestUpdated", "QuestStatusUpdated", "QuestArchived", "ParticipantJoined", "ParticipantLeft");
+
+    private final QuestSearchService search;
+    private final QuestCache cache;
+
+    @KafkaListener(
+            topics = "${app.kafka.topics.quests:quests}",
+            groupId = "${spring.application.name}-local-${random.uuid}",
+            properties = "auto.offset.reset=latest",
+            containerFactory = "kafkaListenerContainerFactory"
+    )
+    public void onQuestEvent(ConsumerRecord<String, EventEnvelope> rec, Acknowledgment ack) {
+        var env = rec.value();
+        if (env == null) {
+            ack.acknowledge();
+            return;
+        }
+        boolean forSearch = SEARCH_TYPES.contains(env.eventType());
+        boolean forCache = CACHE_TYPES.contains(env.eventType());
+        if (!forSearch && !forCache) {
+            ack.acknowledge();
+            return;
+        }
+
+        Long questId = env.payload() instanceof Map<?, ?> p ? toLong(p.get("questId")) : null;
+        if (questId == null) {
+            log.warn("Quest event without questId type={} eventId={}", env.eventType(), env.eventId());
+        } else {
+            if (forCache) cache.evict(questId);
+            if (forSearch) search.refresh(questId);
+        }
+        ack.acknowledge();
+    }
+
+    private static Long toLong(Object o) {
+        if (o == null) return null;
+        if (o instanceof Number n) return n.longValue();
+        try { return Long.parseLong(String.valueOf(o)); } catch (Exception e) { return null; }
+    }
+}
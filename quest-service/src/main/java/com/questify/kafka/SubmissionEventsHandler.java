@@ -8,6 +8,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Map;
 
 @Slf4j
@@ -30,6 +31,20 @@ public class SubmissionEventsHandler {
             return;
         }
 
+        apply(env);
+    }
+
+    /** Handles one poll, or one key group of it, in a single transaction; already-processed events are filtered with one query. */
+    @Transactional
+    public void handleBatch(List<EventEnvelope> envelopes) {
+        var fresh = processedEvents.filterUnprocessed(consumerGroup, envelopes);
+        int skipped = envelopes.size() - fresh.size();
+        if (skipped > 0) log.info("Duplicate submission events skipped count={}", skipped);
+
+        for (var env : fresh) apply(env);
+    }
+
+    private void apply(EventEnvelope env) {
         if ("SubmissionReviewed".equals(env.eventType())) {
             @SuppressWarnings("unchecked")
             Map<String, Object> p = (Map<String, Object>) env.payload();
@@ -4,33 +4,49 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class SubmissionsListener {
 
     private final SubmissionEventsHandler handler;
+    private final KeyOrderedProcessor keyOrdered;
 
     @KafkaListener(
             topics = "${app.kafka.topics.submissions}",
-            groupId = "${spring.application.name}"
+            groupId = "${spring.application.name}",
+            containerFactory = "batchKafkaListenerContainerFactory"
     )
-    public void onSubmissionEvent(ConsumerRecord<String, EventEnvelope> rec, Acknowledgment ack) {
-        try {
-            var env = rec.value();
-            if (env == null) {
+    public void onSubmissionEvents(List<ConsumerRecord<String, EventEnvelope>> records, Acknowledgment ack) {
+        var envelopes = new ArrayList<EventEnvelope>(records.size());
+        for (var rec : records) {
+            if (rec.value() == null) {
                 log.warn("Null envelope on {} partition={} offset={}", rec.topic(), rec.partition(), rec.offset());
-                ack.acknowledge();
-                return;
+            } else {
+                envelopes.add(rec.value());
             }
+        }
 
-            handler.handle(env);
-            ack.acknowledge();
-        } catch (Exception e) {
-            throw e;
+        try {
+            keyOrdered.process(envelopes, EventEnvelope::partitionKey, handler::handleBatch);
+        } catch (Exception batchError) {
+            log.warn("Submission event batch of {} failed, retrying record by record error={}",
+                    records.size(), batchError.toString());
+            for (int i = 0; i < records.size(); i++) {
+                try {
+                    handler.handle(records.get(i).value());
+                } catch (Exception e) {
+                    throw new BatchListenerFailedException("Submission event handling failed", e, i);
+                }
+            }
         }
+        ack.acknowledge();
     }
 }
@@ -1,9 +1,12 @@
 package com.questify.kafka;
 
+import com.questify.cache.QuestCache;
 import com.questify.consistency.ProcessedEventService;
 import com.questify.repository.QuestCompletionRepository;
 import com.questify.repository.QuestParticipantRepository;
 import com.questify.repository.QuestRepository;
+import com.questify.repository.UserQuestMembershipRepository;
+import com.questify.service.QuestSummaryService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -19,8 +22,11 @@ public class UserEventsHandler {
 
     private final ProcessedEventService processedEvents;
     private final QuestParticipantRepository participants;
+    private final UserQuestMembershipRepository memberships;
     private final QuestCompletionRepository completions;
     private final QuestRepository quests;
+    private final QuestCache questCache;
+    private final QuestSummaryService summaries;
 
     @Value("${spring.application.name}")
     private String consumerGroup;
@@ -49,11 +55,23 @@ public class UserEventsHandler {
             throw new IllegalArgumentException("Missing userId in UserDeleted payload: " + p);
         }
 
+        var joinedQuestIds = participants.findByUserId(userId).stream()
+                .map(qp -> qp.getQuest().getId())
+                .toList();
+        if (!joinedQuestIds.isEmpty()) {
+            quests.decrementParticipantCounts(joinedQuestIds);
+        }
         long participantsDeleted = participants.deleteByUserId(userId);
+        memberships.deleteParticipations(userId);
         long completionsDeleted = completions.deleteByUserId(userId);
 
         String anon = "deleted-" + shortId(userId);
+        var ownedQuestIds = quests.findIdsByCreatedByUserId(userId);
         int questsAnonymized = quests.anonymizeCreator(userId, anon);
+        memberships.reassignOwner(userId, anon);
+        summaries.onUserDeleted(userId);
+        joinedQuestIds.forEach(questCache::evictAfterCommit);
+        ownedQuestIds.forEach(questCache::evictAfterCommit);
 
         log.info(
                 "GDPR cleanup (quest-service): userId={} participantsDeleted={} completionsDeleted={} questsAnonymized={} eventId={}",
@@ -1,22 +1,35 @@
 package com.questify.mapper;
 
+import com.questify.cache.QuestSnapshot;
 import com.questify.domain.Quest;
 import com.questify.domain.QuestParticipant;
+import com.questify.domain.VerificationSignals;
 import com.questify.dto.ParticipantResponse;
 import com.questify.dto.QuestDtos;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.Set;
 
 public class QuestMapper {
     public static QuestDtos.QuestRes toRes(Quest q, int participantsCount, boolean completedByCurrentUser) {
+        VerificationSignals signals = q.getVerificationSignals() == null ? VerificationSignals.empty() : q.getVerificationSignals();
         QuestDtos.VerificationPolicyDto verificationPolicy = new QuestDtos.VerificationPolicyDto(
-                sortedSignals(q.getVerificationRequiredEvidence()),
-                sortedSignals(q.getVerificationOptionalEvidence()),
-                sortedSignals(q.getVerificationDisqualifiers()),
+                sortedSignals(signals.required()),
+                sortedSignals(signals.optional()),
+                sortedSignals(signals.disqualifiers()),
                 q.getVerificationMinSupportScore(),
                 q.getVerificationTaskType()
         );
+        return toRes(q, participantsCount, completedByCurrentUser, verificationPolicy);
+    }
+
+    /** List-page variant: the verification policy is only served by the detail endpoint. */
+    public static QuestDtos.QuestRes toListRes(Quest q, boolean completedByCurrentUser) {
+        return toRes(q, q.getParticipantCount(), completedByCurrentUser, null);
+    }
+
+    private static QuestDtos.QuestRes toRes(Quest q, int participantsCount, boolean completedByCurrentUser,
+                                            QuestDtos.VerificationPolicyDto verificationPolicy) {
         return new QuestDtos.QuestRes(
                 q.getId(), q.getTitle(), q.getDescription(),
                 q.getCategory(), q.getStatus(),
@@ -30,13 +43,34 @@ public class QuestMapper {
         );
     }
 
+    public static QuestDtos.QuestRes toRes(QuestSnapshot q, boolean completedByCurrentUser) {
+        QuestDtos.VerificationPolicyDto verificationPolicy = new QuestDtos.VerificationPolicyDto(
+                sortedSignals(q.requiredEvidence()),
+                sortedSignals(q.optionalEvidence()),
+                sortedSignals(q.disqualifiers()),
+                q.minSupportScore(),
+                q.taskType()
+        );
+        return new QuestDtos.QuestRes(
+                q.id(), q.title(), q.description(),
+                q.category(), q.status(),
+                q.startDate(), q.endDate(),
+                q.createdAt(), q.updatedAt(),
+                q.createdByUserId(),
+                q.participantCount(),
+                completedByCurrentUser,
+                q.visibility(),
+                verificationPolicy
+        );
+    }
+
     public static List<ParticipantResponse> toParticipantDtos(List<QuestParticipant> entities) {
         return entities.stream()
                 .map(p -> new ParticipantResponse(p.getId(), p.getUserId(), p.getJoinedAt()))
                 .toList();
     }
 
-    private static List<String> sortedSignals(Set<String> values) {
+    private static List<String> sortedSignals(Collection<String> values) {
         if (values == null || values.isEmpty()) return List.of();
         return values.stream()
                 .filter(value -> value != null && !value.isBlank())
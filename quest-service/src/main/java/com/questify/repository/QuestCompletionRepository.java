@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,24 +21,44 @@ public interface QuestCompletionRepository extends JpaRepository<QuestCompletion
     Optional<QuestCompletion> findBySubmissionId(Long submissionId);
     List<QuestCompletion> findByUserId(String userId);
     long deleteByUserId(String userId);
+
     @Query("""
-       select count(c)
+       select c.questId
        from QuestCompletion c
        where c.userId = :userId
-         and c.questId in (
-           select distinct q.id
-           from Quest q
-           left join q.participants p
-           where (q.createdByUserId = :userId or p.userId = :userId)
-             and (
-               :archived is null
-               or (:archived = true and q.status = com.questify.domain.QuestStatus.ARCHIVED)
-               or (:archived = false and q.status <> com.questify.domain.QuestStatus.ARCHIVED)
-             )
-       )
+         and c.questId in :questIds
+       """)
+    List<Long> findCompletedQuestIds(@Param("userId") String userId, @Param("questIds") Collection<Long> questIds);
+    @Query("""
+       select count(c)
+       from QuestCompletion c, UserQuestMembership m
+       where c.userId = :userId
+         and m.userId = :userId
+         and m.questId = c.questId
+         and (
+           :archived is null
+           or (:archived = true and m.status = com.questify.domain.QuestStatus.ARCHIVED)
+           or (:archived = false and m.status <> com.questify.domain.QuestStatus.ARCHIVED)
+         )
        """)
     long countMyCompletedFiltered(@Param("userId") String userId, @Param("archived") Boolean archived);
 
+    /** {@link #countMyCompletedFiltered} over quests and participants, for use before the membership backfill has run. */
+    @Query("""
+       select count(c)
+       from QuestCompletion c, Quest q
+       where c.userId = :userId
+         and q.id = c.questId
+         and (q.createdByUserId = :userId
+              or exists (select 1 from QuestParticipant p where p.quest = q and p.userId = :userId))
+         and (
+           :archived is null
+           or (:archived = true and q.status = com.questify.domain.QuestStatus.ARCHIVED)
+           or (:archived = false and q.status <> com.questify.domain.QuestStatus.ARCHIVED)
+         )
+       """)
+    long countMyCompletedViaParticipants(@Param("userId") String userId, @Param("archived") Boolean archived);
+
     @Query("""
        select q.title as title, c.completedAt as completedAt
        from QuestCompletion c
@@ -1,15 +1,70 @@
 package com.questify.repository;
 
 import com.questify.domain.QuestParticipant;
+import com.questify.dto.ParticipantResponse;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface QuestParticipantRepository extends JpaRepository<QuestParticipant,Long> {
+    interface QuestParticipantCountProjection {
+        Long getQuestId();
+        long getParticipants();
+    }
+
+    interface ParticipantKeyProjection {
+        Long getQuestId();
+        String getUserId();
+    }
+
     Optional<QuestParticipant> findByQuest_IdAndUserId(Long questId, String userId);
     long countByQuest_Id(Long questId);
     List<QuestParticipant> findByQuest_Id(Long questId);
+
+    @Query(value = """
+           select new com.questify.dto.ParticipantResponse(p.id, p.userId, p.joinedAt)
+           from QuestParticipant p
+           where p.quest.id = :questId
+           order by p.id asc
+           """,
+           countQuery = "select count(p) from QuestParticipant p where p.quest.id = :questId")
+    Page<ParticipantResponse> findPageByQuestId(@Param("questId") Long questId, Pageable pageable);
+
+    /** Keyset page: participants with id greater than {@code afterId}, in id order. */
+    @Query("""
+           select new com.questify.dto.ParticipantResponse(p.id, p.userId, p.joinedAt)
+           from QuestParticipant p
+           where p.quest.id = :questId
+             and p.id > :afterId
+           order by p.id asc
+           """)
+    Slice<ParticipantResponse> findByQuestIdAfter(@Param("questId") Long questId,
+                                                  @Param("afterId") long afterId,
+                                                  Pageable pageable);
     List<QuestParticipant> findByUserId(String userId);
     long deleteByUserId(String userId);
+
+    @Query("""
+       select p.quest.id as questId, count(p) as participants
+       from QuestParticipant p
+       where p.quest.id in :questIds
+       group by p.quest.id
+       """)
+    List<QuestParticipantCountProjection> countByQuestIds(@Param("questIds") Collection<Long> questIds);
+
+    /** Superset of the requested (quest, user) memberships; callers match exact pairs in memory. */
+    @Query("""
+       select p.quest.id as questId, p.userId as userId
+       from QuestParticipant p
+       where p.quest.id in :questIds and p.userId in :userIds
+       """)
+    List<ParticipantKeyProjection> findKeys(@Param("questIds") Collection<Long> questIds,
+                                            @Param("userIds") Collection<String> userIds);
 }
@@ -5,10 +5,31 @@ import com.questify.domain.QuestStatus;
 import com.questify.domain.QuestVisibility;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
 public interface QuestRepository extends JpaRepository<Quest, Long> {
+    interface ParticipantCounterProjection {
+        Long getId();
+        int getParticipantCount();
+    }
+
+    interface QuestOwnerProjection {
+        Long getId();
+        String getCreatedByUserId();
+    }
+
+    interface SearchDocumentProjection {
+        Long getId();
+        String getTitle();
+        String getDescription();
+        Instant getCreatedAt();
+    }
 
     Page<Quest> findByStatus(QuestStatus status, Pageable pageable);
 
@@ -22,15 +43,6 @@ public interface QuestRepository extends JpaRepository<Quest, Long> {
     Page<Quest> findByVisibilityAndStatus(
             QuestVisibility visibility, QuestStatus status, Pageable pageable);
 
-    @Query("""
-           select distinct q
-           from Quest q
-           left join q.participants p
-           where q.createdByUserId = :userId
-              or p.userId = :userId
-           """)
-    Page<Quest> findMyOrParticipating(@Param("userId") String userId, Pageable pageable);
-
     @Query("""
            select q
            from Quest q
@@ -42,29 +54,80 @@ public interface QuestRepository extends JpaRepository<Quest, Long> {
 
     Page<Quest> findByCreatedByUserIdAndStatus(String userId, QuestStatus status, Pageable pageable);
 
-    /* ===== NEW: server-side filters for archived vs non-archived ===== */
+    /* ===== Owner-or-participant reads over quests; used only until the membership backfill has run ===== */
 
     @Query("""
-           select distinct q
+           select q
            from Quest q
-           left join q.participants p
-           where (q.createdByUserId = :userId or p.userId = :userId)
+           where (q.createdByUserId = :userId
+                  or exists (select 1 from QuestParticipant p where p.quest = q and p.userId = :userId))
              and q.status = :status
+           order by q.createdAt desc, q.id desc
            """)
-    Page<Quest> findMyOrParticipatingWithStatus(@Param("userId") String userId,
+    List<Quest> findMyOrParticipatingWithStatus(@Param("userId") String userId,
                                                 @Param("status") QuestStatus status,
                                                 Pageable pageable);
 
     @Query("""
-           select distinct q
+           select count(q)
+           from Quest q
+           where (q.createdByUserId = :userId
+                  or exists (select 1 from QuestParticipant p where p.quest = q and p.userId = :userId))
+             and q.status = :status
+           """)
+    long countMyOrParticipatingWithStatus(@Param("userId") String userId, @Param("status") QuestStatus status);
+
+    @Query(value = """
+           select q
+           from Quest q
+           where (q.createdByUserId = :userId
+                  or exists (select 1 from QuestParticipant p where p.quest = q and p.userId = :userId))
+             and (:status is null or q.status = :status)
+             and (:excluded is null or q.status <> :excluded)
+           order by q.createdAt desc, q.id desc
+           """,
+           countQuery = """
+           select count(q)
+           from Quest q
+           where (q.createdByUserId = :userId
+                  or exists (select 1 from QuestParticipant p where p.quest = q and p.userId = :userId))
+             and (:status is null or q.status = :status)
+             and (:excluded is null or q.status <> :excluded)
+           """)
+    Page<Quest> findMyOrParticipatingFiltered(@Param("userId") String userId,
+                                              @Param("status") QuestStatus status,
+                                              @Param("excluded") QuestStatus excluded,
+                                              Pageable pageable);
+
+    @Query("""
+           select count(q)
+           from Quest q
+           where (q.createdByUserId = :userId
+                  or exists (select 1 from QuestParticipant p where p.quest = q and p.userId = :userId))
+             and (:status is null or q.status = :status)
+             and (:excluded is null or q.status <> :excluded)
+           """)
+    long countMyOrParticipatingFiltered(@Param("userId") String userId,
+                                        @Param("status") QuestStatus status,
+                                        @Param("excluded") QuestStatus excluded);
+
+    @Query("""
+           select q
            from Quest q
-           left join q.participants p
-           where (q.createdByUserId = :userId or p.userId = :userId)
-             and q.status <> :status
+           where (q.createdByUserId = :userId
+                  or exists (select 1 from QuestParticipant p where p.quest = q and p.userId = :userId))
+             and (:status is null or q.status = :status)
+             and (:excluded is null or q.status <> :excluded)
+             and (q.createdAt < :createdAt or (q.createdAt = :createdAt and q.id < :id))
+           order by q.createdAt desc, q.id desc
            """)
-    Page<Quest> findMyOrParticipatingNotStatus(@Param("userId") String userId,
-                                               @Param("status") QuestStatus status,
-                                               Pageable pageable);
+    Slice<Quest> findMyOrParticipatingBefore(@Param("userId") String userId,
+                                             @Param("status") QuestStatus status,
+                                             @Param("excluded") QuestStatus excluded,
+                                             @Param("createdAt") Instant createdAt,
+                                             @Param("id") Long id,
+                                             Pageable pageable);
+
     @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Query("""
            update Quest q
@@ -72,30 +135,92 @@ public interface QuestRepository extends JpaRepository<Quest, Long> {
             where q.createdByUserId = :userId
            """)
     int anonymizeCreator(@Param("userId") String userId, @Param("anonId") String anonId);
+
+    @Query("select q.id from Quest q where q.createdByUserId = :userId")
+    List<Long> findIdsByCreatedByUserId(@Param("userId") String userId);
+
+    @Modifying(flushAutomatically = true)
     @Query("""
-       select count(distinct q.id)
-       from Quest q
-       left join q.participants p
-       where (q.createdByUserId = :userId or p.userId = :userId)
-       """)
-    long countMyOrParticipating(@Param("userId") String userId);
+           update Quest q
+              set q.participantCount = q.participantCount + 1
+            where q.id = :questId
+           """)
+    int incrementParticipantCount(@Param("questId") Long questId);
 
+    @Modifying(flushAutomatically = true)
     @Query("""
-       select count(distinct q.id)
-       from Quest q
-       left join q.participants p
-       where (q.createdByUserId = :userId or p.userId = :userId)
-         and q.status = :status
-       """)
-    long countMyOrParticipatingWithStatus(@Param("userId") String userId, @Param("status") QuestStatus status);
+           update Quest q
+              set q.participantCount = q.participantCount - 1
+            where q.id = :questId
+              and q.participantCount > 0
+           """)
+    int decrementParticipantCount(@Param("questId") Long questId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("""
+           update Quest q
+              set q.participantCount = q.participantCount - 1
+            where q.id in :questIds
+              and q.participantCount > 0
+           """)
+    int decrementParticipantCounts(@Param("questIds") Collection<Long> questIds);
 
+    @Modifying(flushAutomatically = true)
     @Query("""
-       select count(distinct q.id)
-       from Quest q
-       left join q.participants p
-       where (q.createdByUserId = :userId or p.userId = :userId)
-         and q.status <> :status
-       """)
-    long countMyOrParticipatingNotStatus(@Param("userId") String userId, @Param("status") QuestStatus status);
+           update Quest q
+              set q.participantCount = (
+                  select count(p) from QuestParticipant p where p.quest.id = q.id
+              )
+            where q.id in :questIds
+           """)
+    int recomputeParticipantCounts(@Param("questIds") Collection<Long> questIds);
+
+    @Query("""
+           select q.id as id, q.participantCount as participantCount
+           from Quest q
+           where q.id > :afterId
+           order by q.id asc
+           """)
+    List<ParticipantCounterProjection> findParticipantCounters(@Param("afterId") long afterId, Pageable pageable);
+
+    /* ===== keyset feeds: (createdAt, id) strictly before the cursor, no count query ===== */
+
+    @Query("""
+           select q
+           from Quest q
+           where q.visibility = :visibility
+             and q.status = :status
+             and (q.createdAt < :createdAt or (q.createdAt = :createdAt and q.id < :id))
+           """)
+    Slice<Quest> findByVisibilityAndStatusBefore(@Param("visibility") QuestVisibility visibility,
+                                                 @Param("status") QuestStatus status,
+                                                 @Param("createdAt") Instant createdAt,
+                                                 @Param("id") Long id,
+                                                 Pageable pageable);
+
+    @Query("""
+           select q
+           from Quest q
+           where q.createdByUserId = :userId
+             and (:status is null or q.status = :status)
+             and (q.createdAt < :createdAt or (q.createdAt = :createdAt and q.id < :id))
+           """)
+    Slice<Quest> findByCreatedByUserIdBefore(@Param("userId") String userId,
+                                             @Param("status") QuestStatus status,
+                                             @Param("createdAt") Instant createdAt,
+                                             @Param("id") Long id,
+                                             Pageable pageable);
+
+    @Query("""
+           select q.id as id, q.title as title, q.description as description, q.createdAt as createdAt
+           from Quest q
+           where q.visibility = com.questify.domain.QuestVisibility.PUBLIC
+             and q.status = com.questify.domain.QuestStatus.ACTIVE
+             and q.id > :afterId
+           order by q.id asc
+           """)
+    List<SearchDocumentProjection> findSearchDocuments(@Param("afterId") long afterId, Pageable pageable);
 
+    @Query("select q.id as id, q.createdByUserId as createdByUserId from Quest q where q.id in :ids")
+    List<QuestOwnerProjection> findOwnersByIds(@Param("ids") Collection<Long> ids);
 }
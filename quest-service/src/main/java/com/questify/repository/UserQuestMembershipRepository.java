@@ -0,0 +1,130 @@
+package com.questify.repository;
+
+import com.questify.domain.MembershipRole;
+import com.questify.domain.QuestStatus;
+import com.questify.domain.UserQuestMembership;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Id feeds are ordered newest first by (createdAt, questId) in the query itself; callers pass an
+ * unsorted {@link Pageable}.
+ */
+public interface UserQuestMembershipRepository extends JpaRepository<UserQuestMembership, Long> {
+
+    boolean existsByUserIdAndQuestId(String userId, Long questId);
+
+    @Query(value = """
+           select m.questId
+           from UserQuestMembership m
+           where m.userId = :userId
+           order by m.createdAt desc, m.questId desc
+           """,
+           countQuery = "select count(m) from UserQuestMembership m where m.userId = :userId")
+    Page<Long> findQuestIds(@Param("userId") String userId, Pageable pageable);
+
+    @Query(value = """
+           select m.questId
+           from UserQuestMembership m
+           where m.userId = :userId
+             and m.status = :status
+           order by m.createdAt desc, m.questId desc
+           """,
+           countQuery = "select count(m) from UserQuestMembership m where m.userId = :userId and m.status = :status")
+    Page<Long> findQuestIdsWithStatus(@Param("userId") String userId,
+                                      @Param("status") QuestStatus status,
+                                      Pageable pageable);
+
+    @Query(value = """
+           select m.questId
+           from UserQuestMembership m
+           where m.userId = :userId
+             and m.status <> :status
+           order by m.createdAt desc, m.questId desc
+           """,
+           countQuery = "select count(m) from UserQuestMembership m where m.userId = :userId and m.status <> :status")
+    Page<Long> findQuestIdsNotStatus(@Param("userId") String userId,
+                                     @Param("status") QuestStatus status,
+                                     Pageable pageable);
+
+    @Query("""
+           select m.questId
+           from UserQuestMembership m
+           where m.userId = :userId
+             and (
+               :archived is null
+               or (:archived = true and m.status = com.questify.domain.QuestStatus.ARCHIVED)
+               or (:archived = false and m.status <> com.questify.domain.QuestStatus.ARCHIVED)
+             )
+             and (m.createdAt < :createdAt or (m.createdAt = :createdAt and m.questId < :id))
+           order by m.createdAt desc, m.questId desc
+           """)
+    Slice<Long> findQuestIdsBefore(@Param("userId") String userId,
+                                   @Param("archived") Boolean archived,
+                                   @Param("createdAt") Instant createdAt,
+                                   @Param("id") Long id,
+                                   Pageable pageable);
+
+    @Query("""
+           select m.status
+           from UserQuestMembership m
+           where m.userId = :userId
+             and m.questId = :questId
+           """)
+    Optional<QuestStatus> findStatus(@Param("userId") String userId, @Param("questId") Long questId);
+
+    @Query("""
+           select distinct m.userId
+           from UserQuestMembership m
+           where m.userId > :afterUserId
+           order by m.userId asc
+           """)
+    List<String> findUserIdsAfter(@Param("afterUserId") String afterUserId, Pageable pageable);
+
+    long countByUserId(String userId);
+
+    long countByUserIdAndStatus(String userId, QuestStatus status);
+
+    long countByUserIdAndStatusNot(String userId, QuestStatus status);
+
+    @Modifying(flushAutomatically = true)
+    @Query("""
+           delete from UserQuestMembership m
+            where m.userId = :userId
+              and m.questId = :questId
+              and m.role = :role
+           """)
+    int deleteMembership(@Param("userId") String userId,
+                         @Param("questId") Long questId,
+                         @Param("role") MembershipRole role);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update UserQuestMembership m set m.status = :status where m.questId = :questId")
+    int updateStatus(@Param("questId") Long questId, @Param("status") QuestStatus status);
+
+    @Modifying(flushAutomatically = true)
+    @Query("""
+           delete from UserQuestMembership m
+            where m.userId = :userId
+              and m.role = com.questify.domain.MembershipRole.PARTICIPANT
+           """)
+    int deleteParticipations(@Param("userId") String userId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("""
+           update UserQuestMembership m
+              set m.userId = :anonId
+            where m.userId = :userId
+              and m.role = com.questify.domain.MembershipRole.OWNER
+           """)
+    int reassignOwner(@Param("userId") String userId, @Param("anonId") String anonId);
+}
@@ -0,0 +1,111 @@
+package com.questify.repository;
+
+import com.questify.domain.UserQuestSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+
+/** Delta updates only touch existing rows; missing rows are rebuilt from scratch on the next write. */
+public interface UserQuestSummaryRepository extends JpaRepository<UserQuestSummary, String> {
+
+    interface SummaryCounts {
+        long getTotal();
+        long getActive();
+        long getArchived();
+        long getCompleted();
+        long getCompletedArchived();
+    }
+
+    /** The counts {@link #upsertFromMembership} would write, for users who have no row yet. */
+    @Query(value = """
+           select (select count(*) from user_quest_membership m where m.user_id = :userId) as total,
+                  (select count(*) from user_quest_membership m where m.user_id = :userId and m.status = 'ACTIVE') as active,
+                  (select count(*) from user_quest_membership m where m.user_id = :userId and m.status = 'ARCHIVED') as archived,
+                  (select count(*) from quest_completions c
+                     join user_quest_membership m on m.user_id = c.user_id and m.quest_id = c.quest_id
+                    where c.user_id = :userId) as completed,
+                  (select count(*) from quest_completions c
+                     join user_quest_membership m on m.user_id = c.user_id and m.quest_id = c.quest_id
+                    where c.user_id = :userId and m.status = 'ARCHIVED') as completedArchived
+           """, nativeQuery = true)
+    SummaryCounts countFromMembership(@Param("userId") String userId);
+
+    /**
+     * Writes the user's row from {@code user_quest_membership} and {@code quest_completions} in one
+     * statement. Concurrent callers both succeed (the later one overwrites with equally fresh counts),
+     * and the select is a locking read, so membership written by a delta that found no row yet is
+     * still counted here. Does not clear the persistence context, since it also runs inside the
+     * join, leave and completion transactions.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+           insert into user_quest_summary (user_id, total, active, archived, completed, completed_archived, updated_at)
+           select :userId,
+                  (select count(*) from user_quest_membership m where m.user_id = :userId),
+                  (select count(*) from user_quest_membership m where m.user_id = :userId and m.status = 'ACTIVE'),
+                  (select count(*) from user_quest_membership m where m.user_id = :userId and m.status = 'ARCHIVED'),
+                  (select count(*) from quest_completions c
+                     join user_quest_membership m on m.user_id = c.user_id and m.quest_id = c.quest_id
+                    where c.user_id = :userId),
+                  (select count(*) from quest_completions c
+                     join user_quest_membership m on m.user_id = c.user_id and m.quest_id = c.quest_id
+                    where c.user_id = :userId and m.status = 'ARCHIVED'),
+                  :now
+           on duplicate key update
+                  total = values(total),
+                  active = values(active),
+                  archived = values(archived),
+                  completed = values(completed),
+                  completed_archived = values(completed_archived),
+                  updated_at = values(updated_at)
+           """, nativeQuery = true)
+    int upsertFromMembership(@Param("userId") String userId, @Param("now") Instant now);
+
+    @Modifying(flushAutomatically = true)
+    @Query("""
+           update UserQuestSummary s
+              set s.total = s.total + :total,
+                  s.active = s.active + :active,
+                  s.archived = s.archived + :archived,
+                  s.completed = s.completed + :completed,
+                  s.completedArchived = s.completedArchived + :completedArchived,
+                  s.updatedAt = instant
+            where s.userId = :userId
+           """)
+    int addDeltas(@Param("userId") String userId,
+                  @Param("total") long total,
+                  @Param("active") long active,
+                  @Param("archived") long archived,
+                  @Param("completed") long completed,
+                  @Param("completedArchived") long completedArchived);
+
+    @Modifying(flushAutomatically = true)
+    @Query("""
+           update UserQuestSummary s
+              set s.active = s.active + :active,
+                  s.archived = s.archived + :archived,
+                  s.updatedAt = instant
+            where s.userId in (select m.userId from UserQuestMembership m where m.questId = :questId)
+           """)
+    int addStatusDeltasForMembers(@Param("questId") Long questId,
+                                  @Param("active") long active,
+                                  @Param("archived") long archived);
+
+    @Modifying(flushAutomatically = true)
+    @Query("""
+           update UserQuestSummary s
+              set s.completedArchived = s.completedArchived + :completedArchived,
+                  s.updatedAt = instant
+            where s.userId in (select m.userId from UserQuestMembership m where m.questId = :questId)
+              and s.userId in (select c.userId from QuestCompletion c where c.questId = :questId)
+           """)
+    int addCompletedArchivedForMembers(@Param("questId") Long questId,
+                                       @Param("completedArchived") long completedArchived);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from UserQuestSummary s where s.userId = :userId")
+    int deleteByUserId(@Param("userId") String userId);
+}
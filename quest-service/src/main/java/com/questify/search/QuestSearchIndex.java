@@ -0,0 +1,337 @@
+package com.questify.search;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over quest title + description.
+ * <p>
+ * Every query term must match (AND); each term matches exact tokens and, for type-ahead,
+ * tokens it is a prefix of. Title hits outrank description hits and exact hits outrank
+ * prefix hits; ties fall back to {@code createdAt desc, id desc} like the SQL feeds. A term that
+ * is a prefix of more than {@value #MAX_PREFIX_EXPANSIONS} indexed tokens is not expanded at all;
+ * the result is flagged {@link Hits#truncated()} so callers can answer from SQL instead.
+ * <p>
+ * Postings are sorted int arrays of document ordinals. Updates tombstone the old ordinal and
+ * append a new one, so postings stay sorted. Once tombstones pile up they are swept and the live
+ * ordinals renumbered densely (in order, so postings stay sorted), which keeps the ordinal space
+ * bounded by the live document count rather than by total writes. A query's scratch arrays are
+ * sized by the postings of its rarest term, not by the ordinal space.
+ */
+public class QuestSearchIndex {
+
+    /** {@code truncated} means a query term had too many prefix expansions to match completely. */
+    public record Hits(List<Long> questIds, long total, boolean truncated) {
+        static final Hits NONE = new Hits(List.of(), 0, false);
+        static final Hits TRUNCATED = new Hits(List.of(), 0, true);
+    }
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MIN_TERM_LENGTH = 2;
+    static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final byte IN_DESCRIPTION = 1;
+    private static final byte IN_TITLE = 2;
+
+    private final int maxDescriptionTerms;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Posting> terms = new TreeMap<>();
+    private final Map<Long, Integer> ordinalById = new HashMap<>();
+    private final BitSet live = new BitSet();
+    private long[] ids = new long[1024];
+    private long[] createdAtMillis = new long[1024];
+    private int nextOrdinal;
+    private int dead;
+
+    public QuestSearchIndex(int maxDescriptionTerms) {
+        this.maxDescriptionTerms = maxDescriptionTerms;
+    }
+
+    public static boolean searchable(String query) {
+        return !tokenize(query).isEmpty();
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) return List.of();
+        LinkedHashSet<String> out = new LinkedHashSet<>();
+        for (String t : NON_WORD.split(text.toLowerCase(Locale.ROOT))) {
+            if (t.length() >= MIN_TERM_LENGTH) out.add(t);
+        }
+        return List.copyOf(out);
+    }
+
+    public void upsert(long questId, String title, String description, Instant createdAt) {
+        Map<String, Byte> flags = new HashMap<>();
+        for (String t : tokenize(title)) flags.merge(t, IN_TITLE, (a, b) -> (byte) (a | b));
+        int described = 0;
+        for (String t : tokenize(description)) {
+            if (described++ >= maxDescriptionTerms) break;
+            flags.merge(t, IN_DESCRIPTION, (a, b) -> (byte) (a | b));
+        }
+
+        lock.writeLock().lock();
+        try {
+            tombstone(questId);
+            int ord = nextOrdinal++;
+            if (ord == ids.length) {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+                createdAtMillis = Arrays.copyOf(createdAtMillis, createdAtMillis.length * 2);
+            }
+            ids[ord] = questId;
+            createdAtMillis[ord] = createdAt == null ? 0L : createdAt.toEpochMilli();
+            live.set(ord);
+            ordinalById.put(questId, ord);
+            flags.forEach((term, flag) -> terms.computeIfAbsent(term, k -> new Posting()).add(ord, flag));
+            maybeCompact();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long questId) {
+        lock.writeLock().lock();
+        try {
+            tombstone(questId);
+            maybeCompact();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinalById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Hits search(String query, int offset, int limit) {
+        List<String> queryTerms = tokenize(query);
+        if (queryTerms.isEmpty() || limit <= 0) return Hits.NONE;
+
+        lock.readLock().lock();
+        try {
+            List<List<Match>> groups = new ArrayList<>();
+            for (String term : queryTerms) {
+                List<Match> matches = expand(term);
+                if (matches == null) return Hits.TRUNCATED;
+                if (matches.isEmpty()) return Hits.NONE;
+                groups.add(matches);
+            }
+            groups.sort(Comparator.comparingLong(QuestSearchIndex::postingCount));
+
+            // c.ords[0..n) are the sorted ordinals matching every group so far, c.scores[k] their total score
+            Candidates c = seed(groups.get(0));
+            for (int g = 1; g < groups.size() && c.n > 0; g++) {
+                narrow(groups.get(g), c);
+            }
+            return top(c, Math.max(0, offset), limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** The exact token plus every token {@code term} prefixes, or {@code null} past the expansion cap. */
+    private List<Match> expand(String term) {
+        List<Match> matches = new ArrayList<>();
+        Posting exact = terms.get(term);
+        if (exact != null) matches.add(new Match(exact, true));
+        int expansions = 0;
+        for (Posting p : terms.subMap(term, false, term + Character.MAX_VALUE, false).values()) {
+            if (++expansions > MAX_PREFIX_EXPANSIONS) return null;
+            matches.add(new Match(p, false));
+        }
+        return matches;
+    }
+
+    /** Live ordinals of the smallest group with their best score, sized by its postings, not the index. */
+    private Candidates seed(List<Match> group) {
+        long[] packed = new long[(int) postingCount(group)];
+        int m = 0;
+        for (Match match : group) {
+            Posting p = match.posting();
+            for (int i = 0; i < p.size; i++) {
+                int ord = p.ords[i];
+                if (live.get(ord)) packed[m++] = ((long) ord << 8) | score(p.flags[i], match.exact());
+            }
+        }
+        Arrays.sort(packed, 0, m);
+
+        Candidates c = new Candidates(m);
+        for (int i = 0; i < m; i++) {
+            int ord = (int) (packed[i] >>> 8);
+            int s = (int) (packed[i] & 0xFF);
+            if (c.n > 0 && c.ords[c.n - 1] == ord) {
+                c.scores[c.n - 1] = s; // sorted ascending, so the last duplicate scores highest
+            } else {
+                c.ords[c.n] = ord;
+                c.scores[c.n++] = s;
+            }
+        }
+        return c;
+    }
+
+    /** Keeps candidates that also match {@code group}, adding the group's best score. */
+    private static void narrow(List<Match> group, Candidates c) {
+        int[] round = new int[c.n];
+        if ((long) c.n * group.size() * 20 < postingCount(group)) {
+            for (int k = 0; k < c.n; k++) {
+                for (Match m : group) {
+                    int idx = m.posting().indexOf(c.ords[k]);
+                    if (idx >= 0) round[k] = Math.max(round[k], score(m.posting().flags[idx], m.exact()));
+                }
+            }
+        } else {
+            for (Match m : group) {
+                Posting p = m.posting();
+                int k = 0;
+                for (int i = 0; i < p.size && k < c.n; i++) {
+                    int ord = p.ords[i];
+                    while (k < c.n && c.ords[k] < ord) k++;
+                    if (k < c.n && c.ords[k] == ord) round[k] = Math.max(round[k], score(p.flags[i], m.exact()));
+                }
+            }
+        }
+
+        int kept = 0;
+        for (int k = 0; k < c.n; k++) {
+            if (round[k] > 0) {
+                c.ords[kept] = c.ords[k];
+                c.scores[kept++] = c.scores[k] + round[k];
+            }
+        }
+        c.n = kept;
+    }
+
+    private Hits top(Candidates c, int offset, int limit) {
+        Comparator<Integer> rank = Comparator.<Integer>comparingInt(k -> c.scores[k])
+                .thenComparingLong(k -> createdAtMillis[c.ords[k]])
+                .thenComparingLong(k -> ids[c.ords[k]]);
+
+        int keep = offset + limit;
+        PriorityQueue<Integer> heap = new PriorityQueue<>(Math.max(1, Math.min(keep, c.n)), rank);
+        for (int k = 0; k < c.n; k++) {
+            if (heap.size() < keep) {
+                heap.offer(k);
+            } else if (rank.compare(k, heap.peek()) > 0) {
+                heap.poll();
+                heap.offer(k);
+            }
+        }
+
+        List<Integer> ranked = new ArrayList<>(heap);
+        ranked.sort(rank.reversed());
+        List<Long> page = ranked.stream()
+                .skip(offset)
+                .map(k -> ids[c.ords[k]])
+                .toList();
+        return new Hits(page, c.n, false);
+    }
+
+    private static int score(byte flag, boolean exact) {
+        int base = (flag & IN_TITLE) != 0 ? 3 : 1;
+        return exact ? base * 2 : base;
+    }
+
+    private static long postingCount(List<Match> group) {
+        long n = 0;
+        for (Match m : group) n += m.posting().size;
+        return n;
+    }
+
+    private void tombstone(long questId) {
+        Integer old = ordinalById.remove(questId);
+        if (old != null) {
+            live.clear(old);
+            dead++;
+        }
+    }
+
+    private void maybeCompact() {
+        if (dead < 1024 || dead < ordinalById.size() / 4) return;
+
+        int[] renumbered = new int[nextOrdinal];
+        int count = 0;
+        for (int ord = live.nextSetBit(0); ord >= 0; ord = live.nextSetBit(ord + 1)) {
+            renumbered[ord] = count;
+            ids[count] = ids[ord];
+            createdAtMillis[count] = createdAtMillis[ord];
+            count++;
+        }
+
+        var it = terms.values().iterator();
+        while (it.hasNext()) {
+            Posting p = it.next();
+            p.retainLive(live, renumbered);
+            if (p.size == 0) it.remove();
+        }
+        ordinalById.replaceAll((id, ord) -> renumbered[ord]);
+
+        int capacity = Math.max(1024, Integer.highestOneBit(Math.max(1, count)) << 1);
+        ids = Arrays.copyOf(ids, capacity);
+        createdAtMillis = Arrays.copyOf(createdAtMillis, capacity);
+        live.clear();
+        live.set(0, count);
+        nextOrdinal = count;
+        dead = 0;
+    }
+
+    /** Size of the ordinal space. */
+    int ordinalCapacity() {
+        lock.readLock().lock();
+        try {
+            return nextOrdinal;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private record Match(Posting posting, boolean exact) {}
+
+    private static final class Candidates {
+        final int[] ords;
+        final int[] scores;
+        int n;
+
+        Candidates(int capacity) {
+            ords = new int[capacity];
+            scores = new int[capacity];
+        }
+    }
+
+    private static final class Posting {
+        int[] ords = new int[2];
+        byte[] flags = new byte[2];
+        int size;
+
+        void add(int ord, byte flag) {
+            if (size == ords.length) {
+                ords = Arrays.copyOf(ords, size * 2);
+                flags = Arrays.copyOf(flags, size * 2);
+            }
+            ords[size] = ord;
+            flags[size] = flag;
+            size++;
+        }
+
+        int indexOf(int ord) {
+            return Arrays.binarySearch(ords, 0, size, ord);
+        }
+
+        /** Drops dead ordinals and maps the rest through {@code renumbered}, which preserves order. */
+        void retainLive(BitSet live, int[] renumbered) {
+            int w = 0;
+            for (int r = 0; r < size; r++) {
+                if (live.get(ords[r])) {
+                    ords[w] = renumbered[ords[r]];
+                    flags[w] = flags[r];
+                    w++;
+                }
+            }
+            size = w;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.questify.search;
+
+import com.questify.domain.Quest;
+import com.questify.domain.QuestStatus;
+import com.questify.domain.QuestVisibility;
+import com.questify.repository.QuestRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Serves public quest search from {@link QuestSearchIndex}. The index is built from the
+ * database after startup; until it is ready (or when disabled) search falls back to the
+ * SQL {@code like} query, as it does for queries the index cannot answer completely.
+ * <p>
+ * Hits are re-checked against the loaded rows, so a quest made private or archived drops out of
+ * the results before its change event reaches {@link #refresh}. Refreshes that arrive while the
+ * index is being rebuilt are only recorded and replayed once the rebuild is done, so a warm-up
+ * chunk read before a change cannot overwrite it.
+ */
+@Slf4j
+@Service
+public class QuestSearchService {
+
+    private final QuestRepository quests;
+    private final QuestSearchIndex index;
+
+    @Value("${app.search.index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.search.index.warmup-chunk-size:1000}")
+    private int warmupChunkSize;
+
+    private volatile boolean ready;
+    private volatile boolean rebuilding;
+    private final Set<Long> refreshedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    public QuestSearchService(QuestRepository quests,
+                              @Value("${app.search.index.max-description-terms:64}") int maxDescriptionTerms) {
+        this.quests = quests;
+        this.index = new QuestSearchIndex(maxDescriptionTerms);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpAsync() {
+        if (!enabled) return;
+        Thread.ofVirtual().name("quest-search-warmup").start(this::rebuild);
+    }
+
+    public void rebuild() {
+        long started = System.nanoTime();
+        rebuilding = true;
+        try {
+            long afterId = 0;
+            while (true) {
+                var chunk = quests.findSearchDocuments(afterId, PageRequest.of(0, warmupChunkSize));
+                if (chunk.isEmpty()) break;
+                for (var doc : chunk) {
+                    index.upsert(doc.getId(), doc.getTitle(), doc.getDescription(), doc.getCreatedAt());
+                }
+                afterId = chunk.get(chunk.size() - 1).getId();
+            }
+            ready = true;
+            log.info("Quest search index ready: quests={} tookMs={}",
+                    index.size(), (System.nanoTime() - started) / 1_000_000);
+        } catch (Exception e) {
+            log.error("Quest search index warm-up failed, staying on SQL search: {}", e.toString());
+        } finally {
+            rebuilding = false;
+            replayRefreshes();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public Page<Quest> search(String q, Pageable pageable) {
+        if (!enabled || !ready || !QuestSearchIndex.searchable(q)) {
+            return quests.searchPublic(q, pageable);
+        }
+
+        var hits = index.search(q, (int) pageable.getOffset(), pageable.getPageSize());
+        if (hits.truncated()) {
+            return quests.searchPublic(q, pageable);
+        }
+        if (hits.questIds().isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, hits.total());
+        }
+
+        Map<Long, Quest> byId = quests.findAllById(hits.questIds()).stream()
+                .collect(Collectors.toMap(Quest::getId, Function.identity()));
+        List<Quest> ordered = new ArrayList<>(hits.questIds().size());
+        for (Long id : hits.questIds()) {
+            Quest quest = byId.get(id);
+            if (quest != null && isPublicActive(quest)) {
+                ordered.add(quest);
+            } else {
+                index.remove(id);
+            }
+        }
+        long dropped = hits.questIds().size() - ordered.size();
+        return new PageImpl<>(ordered, pageable, hits.total() - dropped);
+    }
+
+    public void refresh(Long questId) {
+        if (!enabled || questId == null) return;
+        if (rebuilding) {
+            refreshedDuringRebuild.add(questId);
+            if (rebuilding) return;
+        }
+        apply(questId);
+    }
+
+    private void replayRefreshes() {
+        var it = refreshedDuringRebuild.iterator();
+        while (it.hasNext()) {
+            Long questId = it.next();
+            it.remove();
+            apply(questId);
+        }
+    }
+
+    /** Re-reads the quest, so applying the same id twice (replay racing a late refresh) is harmless. */
+    private void apply(Long questId) {
+        quests.findById(questId).ifPresentOrElse(q -> {
+            if (isPublicActive(q)) {
+                index.upsert(q.getId(), q.getTitle(), q.getDescription(), q.getCreatedAt());
+            } else {
+                index.remove(q.getId());
+            }
+        }, () -> index.remove(questId));
+    }
+
+    private static boolean isPublicActive(Quest q) {
+        return q.getVisibility() == QuestVisibility.PUBLIC && q.getStatus() == QuestStatus.ACTIVE;
+    }
+}
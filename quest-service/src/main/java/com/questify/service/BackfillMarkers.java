@@ -0,0 +1,38 @@
+package com.questify.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+/**
+ * Tracks which one-time backfills have completed, in {@code backfill_marker}. Backfills are
+ * idempotent, so replicas racing on the first start may both run one; the marker only keeps later
+ * starts from repeating it.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BackfillMarkers {
+
+    private final JdbcTemplate jdbc;
+
+    public boolean isDone(String name) {
+        try {
+            Long n = jdbc.queryForObject("select count(*) from backfill_marker where name = ?", Long.class, name);
+            return n != null && n > 0;
+        } catch (DataAccessException e) {
+            log.warn("Backfill marker {} unreadable, treating as not done: {}", name, e.toString());
+            return false;
+        }
+    }
+
+    public void markDone(String name) {
+        jdbc.update("insert ignore into backfill_marker (name, completed_at) values (?, ?)",
+                name, Timestamp.from(Instant.now()));
+    }
+}
@@ -1,16 +1,19 @@
 package com.questify.service;
 
+import com.questify.domain.Quest;
 import com.questify.domain.QuestStatus;
 import com.questify.dto.CoachContextDtos.CoachContextRes;
 import com.questify.dto.CoachContextDtos.RecentCompletionRes;
 import com.questify.repository.QuestCompletionRepository;
 import com.questify.repository.QuestRepository;
+import com.questify.repository.UserQuestMembershipRepository;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class CoachContextService {
@@ -20,25 +23,25 @@ public class CoachContextService {
 
     private final QuestRepository quests;
     private final QuestCompletionRepository completions;
+    private final UserQuestMembershipRepository memberships;
+    private final MembershipBackfill membershipBackfill;
 
-    public CoachContextService(QuestRepository quests, QuestCompletionRepository completions) {
+    public CoachContextService(QuestRepository quests,
+                               QuestCompletionRepository completions,
+                               UserQuestMembershipRepository memberships,
+                               MembershipBackfill membershipBackfill) {
         this.quests = quests;
         this.completions = completions;
+        this.memberships = memberships;
+        this.membershipBackfill = membershipBackfill;
     }
 
     @Transactional(readOnly = true)
     public CoachContextRes getCoachContext(String userId, boolean includeRecentHistory) {
-        var activeTitles = quests.findMyOrParticipatingWithStatus(
-                        userId,
-                        QuestStatus.ACTIVE,
-                        PageRequest.of(
-                                0,
-                                ACTIVE_TITLE_LIMIT,
-                                Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"))
-                        )
-                )
+        boolean projected = membershipBackfill.isComplete();
+        var activeTitles = (projected ? activeTitlesFromMembership(userId) : activeTitlesFromParticipants(userId))
                 .stream()
-                .map(q -> q.getTitle() == null ? "" : q.getTitle().trim())
+                .map(title -> title == null ? "" : title.trim())
                 .filter(title -> !title.isBlank())
                 .toList();
 
@@ -54,8 +57,32 @@ public class CoachContextService {
         return new CoachContextRes(
                 activeTitles,
                 recentCompletions,
-                quests.countMyOrParticipatingWithStatus(userId, QuestStatus.ACTIVE),
-                completions.countMyCompletedFiltered(userId, null)
+                projected
+                        ? memberships.countByUserIdAndStatus(userId, QuestStatus.ACTIVE)
+                        : quests.countMyOrParticipatingWithStatus(userId, QuestStatus.ACTIVE),
+                projected
+                        ? completions.countMyCompletedFiltered(userId, null)
+                        : completions.countMyCompletedViaParticipants(userId, null)
         );
     }
+
+    private List<String> activeTitlesFromMembership(String userId) {
+        var activeIds = memberships.findQuestIdsWithStatus(
+                        userId,
+                        QuestStatus.ACTIVE,
+                        PageRequest.of(0, ACTIVE_TITLE_LIMIT)
+                )
+                .getContent();
+        Map<Long, String> titlesById = new HashMap<>();
+        quests.findAllById(activeIds).forEach(q -> titlesById.put(q.getId(), q.getTitle()));
+        return activeIds.stream().map(titlesById::get).toList();
+    }
+
+    /** Slower owner-or-participant read, served until the membership projection has been backfilled. */
+    private List<String> activeTitlesFromParticipants(String userId) {
+        return quests.findMyOrParticipatingWithStatus(userId, QuestStatus.ACTIVE, PageRequest.of(0, ACTIVE_TITLE_LIMIT))
+                .stream()
+                .map(Quest::getTitle)
+                .toList();
+    }
 }
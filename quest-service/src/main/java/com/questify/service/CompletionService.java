@@ -9,21 +9,26 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 @Service
 public class CompletionService {
 
     private final QuestCompletionRepository completions;
     private final EventPublisher events;
+    private final QuestSummaryService summaries;
 
     @Value("${app.kafka.topics.streaks:streaks}")
     private String streaksTopic;
 
-    public CompletionService(QuestCompletionRepository completions, EventPublisher events) {
+    public CompletionService(QuestCompletionRepository completions, EventPublisher events, QuestSummaryService summaries) {
         this.completions = completions;
         this.events = events;
+        this.summaries = summaries;
     }
 
     @Transactional
@@ -46,6 +51,7 @@ public class CompletionService {
                     .completedAt(Instant.now())
                     .build();
             saved = completions.save(c);
+            summaries.onCompletionAdded(userId, questId);
         } else {
             if (existing.getStatus() == QuestStatus.COMPLETED) {
                 return existing;
@@ -85,6 +91,12 @@ public class CompletionService {
         return completions.existsByQuestIdAndUserId(questId, userId);
     }
 
+    @Transactional(readOnly = true)
+    public Set<Long> completedQuestIds(Collection<Long> questIds, String userId) {
+        if (userId == null || questIds == null || questIds.isEmpty()) return Set.of();
+        return new HashSet<>(completions.findCompletedQuestIds(userId, questIds));
+    }
+
     @Transactional(readOnly = true)
     public long countForQuest(Long questId) {
         return completions.countByQuestId(questId);
@@ -0,0 +1,117 @@
+package com.questify.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * One-time fill of {@code user_quest_membership} from {@code quests} and {@code quest_participants}
+ * in quest-id ranges, recorded as {@value #MARKER} in {@code backfill_marker}; after that the
+ * projection is kept current by the join, leave and status write paths. Inserts are idempotent
+ * ({@code insert ignore} on the user/quest unique key) and rows whose owner or participant is gone
+ * are pruned, so replicas racing on the first start are harmless. Deleting the marker row re-runs it.
+ * <p>
+ * Until {@link #isComplete()} the projection may be missing rows, and every reader falls back to
+ * the owner-or-participant queries. The run that fills the projection publishes {@link Completed}
+ * before recording the marker, so projection-derived state is rebuilt exactly once as well.
+ */
+@Slf4j
+@Component
+public class MembershipBackfill {
+
+    /** Published once a run has brought {@code user_quest_membership} in line with quests and participants. */
+    public record Completed(long inserted, long pruned) {}
+
+    static final String MARKER = "user-quest-membership-backfill";
+
+    private static final String INSERT_OWNERS = """
+            insert ignore into user_quest_membership (user_id, quest_id, role, status, created_at)
+            select q.created_by_user_id, q.id, 'OWNER', q.status, q.created_at
+            from quests q
+            where q.id > ? and q.id <= ?
+            """;
+    private static final String INSERT_PARTICIPANTS = """
+            insert ignore into user_quest_membership (user_id, quest_id, role, status, created_at)
+            select p.user_id, q.id, 'PARTICIPANT', q.status, q.created_at
+            from quest_participants p
+            join quests q on q.id = p.quest_id
+            where q.id > ? and q.id <= ?
+            """;
+    private static final String PRUNE_STALE = """
+            delete m from user_quest_membership m
+            where m.quest_id > ? and m.quest_id <= ?
+              and not (m.role = 'OWNER' and exists (
+                    select 1 from quests q where q.id = m.quest_id and q.created_by_user_id = m.user_id))
+              and not (m.role = 'PARTICIPANT' and exists (
+                    select 1 from quest_participants p where p.quest_id = m.quest_id and p.user_id = m.user_id))
+            """;
+    private static final String SYNC_STATUS = """
+            update user_quest_membership m
+            join quests q on q.id = m.quest_id
+            set m.status = q.status
+            where q.id > ? and q.id <= ?
+              and m.status <> q.status
+            """;
+
+    private final JdbcTemplate jdbc;
+    private final ApplicationEventPublisher publisher;
+    private final BackfillMarkers markers;
+    private volatile boolean complete;
+
+    @Value("${app.quests.membership.backfill.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.quests.membership.backfill.chunk-size:5000}")
+    private int chunkSize;
+
+    public MembershipBackfill(JdbcTemplate jdbc, ApplicationEventPublisher publisher, BackfillMarkers markers) {
+        this.jdbc = jdbc;
+        this.publisher = publisher;
+        this.markers = markers;
+    }
+
+    /** Whether {@code user_quest_membership} is known to cover every quest and participant. */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillAsync() {
+        if (!enabled || markers.isDone(MARKER)) {
+            complete = true;
+            return;
+        }
+        Thread.ofVirtual().name("membership-backfill").start(this::backfill);
+    }
+
+    public long backfill() {
+        long started = System.nanoTime();
+        long inserted = 0;
+        long pruned = 0;
+        try {
+            Long maxId = jdbc.queryForObject("select max(id) from quests", Long.class);
+            long last = maxId == null ? 0 : maxId;
+
+            for (long from = 0; from < last; from += chunkSize) {
+                long to = Math.min(last, from + chunkSize);
+                inserted += jdbc.update(INSERT_OWNERS, from, to);
+                inserted += jdbc.update(INSERT_PARTICIPANTS, from, to);
+                pruned += jdbc.update(PRUNE_STALE, from, to);
+                jdbc.update(SYNC_STATUS, from, to);
+            }
+            log.info("Membership backfill done: inserted={} pruned={} tookMs={}",
+                    inserted, pruned, (System.nanoTime() - started) / 1_000_000);
+            complete = true;
+            publisher.publishEvent(new Completed(inserted, pruned));
+            markers.markDone(MARKER);
+        } catch (DataAccessException e) {
+            log.error("Membership backfill stopped after inserted={}: {}", inserted, e.toString());
+        }
+        return inserted;
+    }
+}
@@ -0,0 +1,131 @@
+package com.questify.service;
+
+import com.questify.dto.ParticipantCountDtos.DriftReportRes;
+import com.questify.dto.ParticipantCountDtos.DriftRes;
+import com.questify.dto.ParticipantCountDtos.RepairRes;
+import com.questify.repository.QuestParticipantRepository;
+import com.questify.repository.QuestRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares the denormalized {@code quests.participant_count} column with the real
+ * number of {@code quest_participants} rows, walking the quests table in id order.
+ * Repairs run one short transaction per chunk; the first start after the column was added
+ * fills it for existing quests before the service reports ready.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ParticipantCountReconciler {
+
+    private final QuestRepository quests;
+    private final QuestParticipantRepository participants;
+    private final TransactionOperations tx;
+    private final BackfillMarkers markers;
+
+    static final String INITIAL_FILL = "participant-count-initial-fill";
+
+    @Value("${app.quests.participant-count.enabled:true}")
+    private boolean repairEnabled;
+
+    @Value("${app.quests.participant-count.chunk-size:500}")
+    private int chunkSize;
+
+    public DriftReportRes report(int limit) {
+        int max = Math.min(1000, Math.max(1, limit));
+        List<DriftRes> drift = new ArrayList<>();
+        long scanned = 0;
+        long drifted = 0;
+        long afterId = 0;
+
+        while (true) {
+            var chunk = quests.findParticipantCounters(afterId, PageRequest.of(0, chunkSize));
+            if (chunk.isEmpty()) break;
+
+            var actual = actualCounts(chunk);
+            for (var row : chunk) {
+                long real = actual.getOrDefault(row.getId(), 0L);
+                if (real != row.getParticipantCount()) {
+                    drifted++;
+                    if (drift.size() < max) {
+                        drift.add(new DriftRes(row.getId(), row.getParticipantCount(), real));
+                    }
+                }
+            }
+            scanned += chunk.size();
+            afterId = chunk.get(chunk.size() - 1).getId();
+        }
+
+        return new DriftReportRes(scanned, drifted, drift);
+    }
+
+    public RepairRes repair() {
+        long scanned = 0;
+        long repaired = 0;
+        long afterId = 0;
+
+        while (true) {
+            var chunk = quests.findParticipantCounters(afterId, PageRequest.of(0, chunkSize));
+            if (chunk.isEmpty()) break;
+
+            var actual = actualCounts(chunk);
+            List<Long> drifted = chunk.stream()
+                    .filter(row -> actual.getOrDefault(row.getId(), 0L) != row.getParticipantCount())
+                    .map(QuestRepository.ParticipantCounterProjection::getId)
+                    .toList();
+            if (!drifted.isEmpty()) {
+                Integer updated = tx.execute(status -> quests.recomputeParticipantCounts(drifted));
+                repaired += updated == null ? 0 : updated;
+            }
+            scanned += chunk.size();
+            afterId = chunk.get(chunk.size() - 1).getId();
+        }
+
+        return new RepairRes(scanned, repaired);
+    }
+
+    /** Fills the counter for quests that existed before the column; runs once, synchronously at startup. */
+    @EventListener(ApplicationStartedEvent.class)
+    public void initialFill() {
+        if (markers.isDone(INITIAL_FILL)) return;
+        var res = repair();
+        markers.markDone(INITIAL_FILL);
+        log.info("Participant counters filled: questsScanned={} questsRepaired={}",
+                res.questsScanned(), res.questsRepaired());
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.quests.participant-count.repair-initial-delay-ms:60000}",
+            fixedDelayString = "${app.quests.participant-count.repair-job-ms:3600000}"
+    )
+    public void repairJob() {
+        if (!repairEnabled) return;
+        var res = repair();
+        if (res.questsRepaired() > 0) {
+            log.warn("Participant counter drift repaired: questsScanned={} questsRepaired={}",
+                    res.questsScanned(), res.questsRepaired());
+        }
+    }
+
+    private Map<Long, Long> actualCounts(List<QuestRepository.ParticipantCounterProjection> chunk) {
+        var ids = chunk.stream().map(QuestRepository.ParticipantCounterProjection::getId).toList();
+        Map<Long, Long> counts = new HashMap<>();
+        for (var row : participants.countByQuestIds(ids)) {
+            counts.put(row.getQuestId(), row.getParticipants());
+        }
+        return counts;
+    }
+}
@@ -1,6 +1,11 @@
 package com.questify.service;
 
+import com.questify.cache.QuestCache;
+import com.questify.cache.QuestSnapshot;
 import com.questify.domain.*;
+import com.questify.dto.QuestAccessDtos.AccessCheck;
+import com.questify.dto.QuestAccessDtos.AccessResult;
+import com.questify.dto.QuestCursor;
 import com.questify.dto.QuestDtos.*;
 import com.questify.kafka.EventPublisher;
 import com.questify.repository.*;
@@ -8,29 +13,50 @@ import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 @Service
 public class QuestService {
     private final QuestRepository quests;
     private final QuestParticipantRepository participants;
+    private final UserQuestMembershipRepository memberships;
+    private final QuestSummaryService summaries;
+    private final MembershipBackfill membershipBackfill;
     private final EventPublisher events;
+    private final QuestCache cache;
 
     @Value("${app.kafka.topics.quests:quests}")
     private String questsTopic;
 
-    public QuestService(QuestRepository quests, QuestParticipantRepository participants, EventPublisher events) {
+    public QuestService(QuestRepository quests,
+                        QuestParticipantRepository participants,
+                        UserQuestMembershipRepository memberships,
+                        QuestSummaryService summaries,
+                        MembershipBackfill membershipBackfill,
+                        EventPublisher events,
+                        QuestCache cache) {
         this.quests = quests;
         this.participants = participants;
+        this.memberships = memberships;
+        this.summaries = summaries;
+        this.membershipBackfill = membershipBackfill;
         this.events = events;
+        this.cache = cache;
     }
 
     @Transactional
@@ -50,6 +76,8 @@ public class QuestService {
                 .build();
         applyVerificationPolicy(q, req.verificationPolicy());
         var saved = quests.save(q);
+        memberships.save(UserQuestMembership.of(saved, saved.getCreatedByUserId(), MembershipRole.OWNER));
+        summaries.onMembershipAdded(saved.getCreatedByUserId(), saved.getId(), saved.getStatus());
 
         events.publish(
                 questsTopic,
@@ -76,6 +104,10 @@ public class QuestService {
         return quests.findById(id).orElseThrow(() -> new EntityNotFoundException("Quest %d not found".formatted(id)));
     }
 
+    public QuestSnapshot getCached(Long id) {
+        return cache.get(id);
+    }
+
     @Transactional
     public Quest update(Long id, UpdateQuestReq req, String requesterUserId) {
         var q = get(id);
@@ -107,6 +139,7 @@ public class QuestService {
                 )
         );
 
+        cache.evictAfterCommit(saved.getId());
         return saved;
     }
 
@@ -116,8 +149,11 @@ public class QuestService {
         if (!q.getCreatedByUserId().equals(requesterUserId)) {
             throw new AccessDeniedException("Only owner can update status.");
         }
+        var previous = q.getStatus();
         q.setStatus(req.status());
         var saved = quests.save(q);
+        memberships.updateStatus(saved.getId(), saved.getStatus());
+        summaries.onQuestStatusChanged(saved.getId(), previous, saved.getStatus());
 
         events.publish(
                 questsTopic,
@@ -129,6 +165,7 @@ public class QuestService {
                 )
         );
 
+        cache.evictAfterCommit(saved.getId());
         return saved;
     }
 
@@ -138,8 +175,11 @@ public class QuestService {
         if (!q.getCreatedByUserId().equals(requesterUserId)) {
             throw new AccessDeniedException("Only owner can archive.");
         }
+        var previous = q.getStatus();
         q.setStatus(QuestStatus.ARCHIVED);
         var saved = quests.save(q);
+        memberships.updateStatus(saved.getId(), saved.getStatus());
+        summaries.onQuestStatusChanged(saved.getId(), previous, saved.getStatus());
 
         events.publish(
                 questsTopic,
@@ -151,6 +191,7 @@ public class QuestService {
                 )
         );
 
+        cache.evictAfterCommit(saved.getId());
         return saved;
     }
 
@@ -163,13 +204,36 @@ public class QuestService {
     }
 
     public Page<Quest> mineOrParticipating(String userId, Pageable pageable) {
-        return quests.findMyOrParticipating(userId, pageable);
+        if (!membershipBackfill.isComplete()) {
+            return quests.findMyOrParticipatingFiltered(userId, null, null, unsorted(pageable));
+        }
+        return questPage(memberships.findQuestIds(userId, unsorted(pageable)));
     }
 
     public Page<Quest> discoverActive(Pageable pageable) {
         return quests.findByVisibilityAndStatus(QuestVisibility.PUBLIC, QuestStatus.ACTIVE, pageable);
     }
 
+    public Slice<Quest> discoverActiveAfter(QuestCursor cursor, Pageable pageable) {
+        return quests.findByVisibilityAndStatusBefore(QuestVisibility.PUBLIC, QuestStatus.ACTIVE,
+                cursor.createdAt(), cursor.id(), pageable);
+    }
+
+    public Slice<Quest> mineAfter(String userId, QuestStatus status, QuestCursor cursor, Pageable pageable) {
+        return quests.findByCreatedByUserIdBefore(userId, status, cursor.createdAt(), cursor.id(), pageable);
+    }
+
+    public Slice<Quest> mineOrParticipatingAfter(String userId, Boolean archived, QuestCursor cursor, Pageable pageable) {
+        if (!membershipBackfill.isComplete()) {
+            return quests.findMyOrParticipatingBefore(userId,
+                    Boolean.TRUE.equals(archived) ? QuestStatus.ARCHIVED : null,
+                    Boolean.FALSE.equals(archived) ? QuestStatus.ARCHIVED : null,
+                    cursor.createdAt(), cursor.id(), unsorted(pageable));
+        }
+        var ids = memberships.findQuestIdsBefore(userId, archived, cursor.createdAt(), cursor.id(), unsorted(pageable));
+        return new SliceImpl<>(loadInOrder(ids.getContent()), ids.getPageable(), ids.hasNext());
+    }
+
     public Page<Quest> searchPublic(String q, Pageable pageable) {
         return quests.searchPublic(q, pageable);
     }
@@ -183,6 +247,12 @@ public class QuestService {
         if (participants.findByQuest_IdAndUserId(questId, userId).isPresent()) return;
         try {
             participants.save(new QuestParticipant(q, userId));
+            quests.incrementParticipantCount(questId);
+            if (!memberships.existsByUserIdAndQuestId(userId, questId)) {
+                memberships.save(UserQuestMembership.of(q, userId, MembershipRole.PARTICIPANT));
+                summaries.onMembershipAdded(userId, questId, q.getStatus());
+            }
+            cache.evictAfterCommit(questId);
 
             events.publish(
                     questsTopic,
@@ -199,6 +269,11 @@ public class QuestService {
         var existing = participants.findByQuest_IdAndUserId(questId, userId);
         if (existing.isPresent()) {
             participants.delete(existing.get());
+            quests.decrementParticipantCount(questId);
+            if (memberships.deleteMembership(userId, questId, MembershipRole.PARTICIPANT) > 0) {
+                summaries.onMembershipRemoved(userId, questId, existing.get().getQuest().getStatus());
+            }
+            cache.evictAfterCommit(questId);
 
             events.publish(
                     questsTopic,
@@ -214,18 +289,24 @@ public class QuestService {
     }
 
     public Page<Quest> mineOrParticipatingWithStatus(String userId, QuestStatus status, Pageable pageable) {
-        return quests.findMyOrParticipatingWithStatus(userId, status, pageable);
+        if (!membershipBackfill.isComplete()) {
+            return quests.findMyOrParticipatingFiltered(userId, status, null, unsorted(pageable));
+        }
+        return questPage(memberships.findQuestIdsWithStatus(userId, status, unsorted(pageable)));
     }
 
     public Page<Quest> mineOrParticipatingNotStatus(String userId, QuestStatus status, Pageable pageable) {
-        return quests.findMyOrParticipatingNotStatus(userId, status, pageable);
+        if (!membershipBackfill.isComplete()) {
+            return quests.findMyOrParticipatingFiltered(userId, null, status, unsorted(pageable));
+        }
+        return questPage(memberships.findQuestIdsNotStatus(userId, status, unsorted(pageable)));
     }
 
     public Page<Quest> mineOrParticipatingFiltered(String userId, Boolean archived, Pageable pageable) {
-        if (archived == null) return quests.findMyOrParticipating(userId, pageable);
+        if (archived == null) return mineOrParticipating(userId, pageable);
         return archived
-                ? quests.findMyOrParticipatingWithStatus(userId, QuestStatus.ARCHIVED, pageable)
-                : quests.findMyOrParticipatingNotStatus(userId, QuestStatus.ARCHIVED, pageable);
+                ? mineOrParticipatingWithStatus(userId, QuestStatus.ARCHIVED, pageable)
+                : mineOrParticipatingNotStatus(userId, QuestStatus.ARCHIVED, pageable);
     }
 
     public int participantsCount(Long questId) {
@@ -238,13 +319,63 @@ public class QuestService {
                         participants.findByQuest_IdAndUserId(questId, userId).isPresent()
         ).orElse(false);
     }
+
+    /** Answers many (quest, user) access checks with two queries, in request order. */
+    @Transactional(readOnly = true)
+    public List<AccessResult> accessBatch(List<AccessCheck> checks) {
+        if (checks == null || checks.isEmpty()) return List.of();
+
+        Set<Long> questIds = new HashSet<>();
+        Set<String> userIds = new HashSet<>();
+        for (AccessCheck c : checks) {
+            questIds.add(c.questId());
+            userIds.add(c.userId());
+        }
+
+        Map<Long, String> owners = new HashMap<>();
+        for (var o : quests.findOwnersByIds(questIds)) owners.put(o.getId(), o.getCreatedByUserId());
+
+        Set<String> memberships = new HashSet<>();
+        for (var k : participants.findKeys(questIds, userIds)) memberships.add(k.getQuestId() + "|" + k.getUserId());
+
+        return checks.stream()
+                .map(c -> {
+                    String owner = owners.get(c.questId());
+                    boolean allowed = owner != null
+                            && (owner.equals(c.userId()) || memberships.contains(c.questId() + "|" + c.userId()));
+                    return new AccessResult(c.questId(), c.userId(), allowed);
+                })
+                .toList();
+    }
+
     public long countMineOrParticipatingFiltered(String userId, Boolean archived) {
+        if (!membershipBackfill.isComplete()) {
+            return quests.countMyOrParticipatingFiltered(userId,
+                    Boolean.TRUE.equals(archived) ? QuestStatus.ARCHIVED : null,
+                    Boolean.FALSE.equals(archived) ? QuestStatus.ARCHIVED : null);
+        }
         if (archived == null) {
-            return quests.countMyOrParticipating(userId);
+            return memberships.countByUserId(userId);
         }
         return archived
-                ? quests.countMyOrParticipatingWithStatus(userId, QuestStatus.ARCHIVED)
-                : quests.countMyOrParticipatingNotStatus(userId, QuestStatus.ARCHIVED);
+                ? memberships.countByUserIdAndStatus(userId, QuestStatus.ARCHIVED)
+                : memberships.countByUserIdAndStatusNot(userId, QuestStatus.ARCHIVED);
+    }
+
+    /** Membership id feeds and the owner-or-participant fallbacks carry their own order; drop the caller's sort. */
+    private static Pageable unsorted(Pageable pageable) {
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+    }
+
+    private Page<Quest> questPage(Page<Long> ids) {
+        return new PageImpl<>(loadInOrder(ids.getContent()), ids.getPageable(), ids.getTotalElements());
+    }
+
+    private List<Quest> loadInOrder(List<Long> ids) {
+        if (ids.isEmpty()) return List.of();
+        Map<Long, Quest> byId = new HashMap<>();
+        for (Quest q : quests.findAllById(ids)) byId.put(q.getId(), q);
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
     }
 
     private static void applyVerificationPolicy(Quest quest, com.questify.dto.QuestDtos.VerificationPolicyDto policy) {
@@ -262,9 +393,7 @@ public class QuestService {
             throw new IllegalArgumentException("Verification policy requires at least 2 disqualifier signals.");
         }
 
-        quest.setVerificationRequiredEvidence(required);
-        quest.setVerificationOptionalEvidence(optional);
-        quest.setVerificationDisqualifiers(disqualifiers);
+        quest.setVerificationSignals(VerificationSignals.of(required, optional, disqualifiers));
 
         double minSupport = policy.minSupportScore() == null
                 ? 0.7
@@ -293,10 +422,11 @@ public class QuestService {
     }
 
     private static Map<String, Object> verificationPolicyMap(Quest quest) {
+        var signals = quest.getVerificationSignals() == null ? VerificationSignals.empty() : quest.getVerificationSignals();
         return Map.of(
-                "requiredEvidence", quest.getVerificationRequiredEvidence() == null ? List.of() : quest.getVerificationRequiredEvidence(),
-                "optionalEvidence", quest.getVerificationOptionalEvidence() == null ? List.of() : quest.getVerificationOptionalEvidence(),
-                "disqualifiers", quest.getVerificationDisqualifiers() == null ? List.of() : quest.getVerificationDisqualifiers(),
+                "requiredEvidence", signals.required(),
+                "optionalEvidence", signals.optional(),
+                "disqualifiers", signals.disqualifiers(),
                 "minSupportScore", quest.getVerificationMinSupportScore(),
                 "taskType", quest.getVerificationTaskType() == null ? "" : quest.getVerificationTaskType()
         );
@@ -0,0 +1,174 @@
+package com.questify.service;
+
+import com.questify.domain.QuestStatus;
+import com.questify.domain.UserQuestSummary;
+import com.questify.dto.QuestSummaryDtos.RebuildRes;
+import com.questify.dto.QuestSummaryRes;
+import com.questify.repository.QuestCompletionRepository;
+import com.questify.repository.QuestRepository;
+import com.questify.repository.UserQuestMembershipRepository;
+import com.questify.repository.UserQuestSummaryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Instant;
+
+/**
+ * Keeps {@link UserQuestSummary} rows in step with membership, status and completion writes.
+ * The {@code on*} hooks run inside the caller's transaction; when a user's membership or completion
+ * changes and they have no row yet, the row is computed from {@code user_quest_membership} there,
+ * as a single upsert, so concurrent writers cannot collide on the primary key. Reads never write:
+ * a user without a row is counted from the projection directly.
+ * <p>
+ * Rows are neither read nor written while {@link MembershipBackfill} is still filling the
+ * projection; summaries are counted from quests and participants instead, and every row is
+ * rebuilt once, when the backfill reports {@link MembershipBackfill.Completed}.
+ */
+@Slf4j
+@Service
+public class QuestSummaryService {
+
+    private final UserQuestSummaryRepository summaries;
+    private final UserQuestMembershipRepository memberships;
+    private final QuestCompletionRepository completions;
+    private final QuestRepository quests;
+    private final MembershipBackfill membershipBackfill;
+    private final TransactionOperations tx;
+
+    @Value("${app.quests.summary.rebuild-chunk-size:500}")
+    private int chunkSize;
+
+    public QuestSummaryService(UserQuestSummaryRepository summaries,
+                               UserQuestMembershipRepository memberships,
+                               QuestCompletionRepository completions,
+                               QuestRepository quests,
+                               MembershipBackfill membershipBackfill,
+                               TransactionOperations tx) {
+        this.summaries = summaries;
+        this.memberships = memberships;
+        this.completions = completions;
+        this.quests = quests;
+        this.membershipBackfill = membershipBackfill;
+        this.tx = tx;
+    }
+
+    @Transactional(readOnly = true)
+    public QuestSummaryRes summary(String userId, Boolean archived) {
+        if (!membershipBackfill.isComplete()) {
+            return summaryFromParticipants(userId, archived);
+        }
+        var s = summaries.findById(userId).orElseGet(() -> countFromMembership(userId));
+        if (archived == null) {
+            return new QuestSummaryRes(s.getTotal(), s.getCompleted());
+        }
+        return archived
+                ? new QuestSummaryRes(s.getArchived(), s.getCompletedArchived())
+                : new QuestSummaryRes(s.getTotal() - s.getArchived(), s.getCompleted() - s.getCompletedArchived());
+    }
+
+    public void onMembershipAdded(String userId, Long questId, QuestStatus status) {
+        applyMembership(userId, questId, status, 1);
+    }
+
+    public void onMembershipRemoved(String userId, Long questId, QuestStatus status) {
+        applyMembership(userId, questId, status, -1);
+    }
+
+    public void onQuestStatusChanged(Long questId, QuestStatus from, QuestStatus to) {
+        if (from == to) return;
+        long active = is(to, QuestStatus.ACTIVE) - is(from, QuestStatus.ACTIVE);
+        long archived = is(to, QuestStatus.ARCHIVED) - is(from, QuestStatus.ARCHIVED);
+        if (active != 0 || archived != 0) {
+            summaries.addStatusDeltasForMembers(questId, active, archived);
+        }
+        if (archived != 0) {
+            summaries.addCompletedArchivedForMembers(questId, archived);
+        }
+    }
+
+    /** Call only when a completion row was inserted, matching how completions are counted. */
+    public void onCompletionAdded(String userId, Long questId) {
+        memberships.findStatus(userId, questId).ifPresent(status ->
+                addDeltasOrRebuild(userId, 0, 0, 0, 1, is(status, QuestStatus.ARCHIVED)));
+    }
+
+    public void onUserDeleted(String userId) {
+        summaries.deleteByUserId(userId);
+    }
+
+    @Transactional
+    public UserQuestSummary rebuild(String userId) {
+        summaries.upsertFromMembership(userId, Instant.now());
+        return summaries.findById(userId)
+                .orElseThrow(() -> new IllegalStateException("Quest summary for " + userId + " missing after rebuild"));
+    }
+
+    @EventListener
+    public void onMembershipBackfillCompleted(MembershipBackfill.Completed event) {
+        rebuildAll();
+    }
+
+    /** Recomputes every member's row, walking user ids in order. One transaction per user on purpose. */
+    public RebuildRes rebuildAll() {
+        long started = System.nanoTime();
+        long rebuilt = 0;
+        String after = "";
+        while (true) {
+            var userIds = memberships.findUserIdsAfter(after, PageRequest.of(0, chunkSize));
+            if (userIds.isEmpty()) break;
+            for (String userId : userIds) {
+                tx.executeWithoutResult(status -> summaries.upsertFromMembership(userId, Instant.now()));
+                rebuilt++;
+            }
+            after = userIds.get(userIds.size() - 1);
+        }
+        log.info("Quest summaries rebuilt: users={} tookMs={}", rebuilt, (System.nanoTime() - started) / 1_000_000);
+        return new RebuildRes(rebuilt);
+    }
+
+    /** Slower owner-or-participant count, served until the membership projection has been re-synced. */
+    private QuestSummaryRes summaryFromParticipants(String userId, Boolean archived) {
+        QuestStatus status = Boolean.TRUE.equals(archived) ? QuestStatus.ARCHIVED : null;
+        QuestStatus excluded = Boolean.FALSE.equals(archived) ? QuestStatus.ARCHIVED : null;
+        return new QuestSummaryRes(
+                quests.countMyOrParticipatingFiltered(userId, status, excluded),
+                completions.countMyCompletedViaParticipants(userId, archived));
+    }
+
+    private void applyMembership(String userId, Long questId, QuestStatus status, int sign) {
+        long completed = completions.existsByQuestIdAndUserId(questId, userId) ? sign : 0;
+        addDeltasOrRebuild(userId,
+                sign,
+                sign * is(status, QuestStatus.ACTIVE),
+                sign * is(status, QuestStatus.ARCHIVED),
+                completed,
+                completed * is(status, QuestStatus.ARCHIVED));
+    }
+
+    /** The upsert already counts this change: it reads the projection after the caller's flush. */
+    private void addDeltasOrRebuild(String userId, long total, long active, long archived,
+                                    long completed, long completedArchived) {
+        int updated = summaries.addDeltas(userId, total, active, archived, completed, completedArchived);
+        if (updated == 0 && membershipBackfill.isComplete()) {
+            summaries.upsertFromMembership(userId, Instant.now());
+        }
+    }
+
+    private UserQuestSummary countFromMembership(String userId) {
+        var c = summaries.countFromMembership(userId);
+        return UserQuestSummary.builder()
+                .userId(userId)
+                .total(c.getTotal()).active(c.getActive()).archived(c.getArchived())
+                .completed(c.getCompleted()).completedArchived(c.getCompletedArchived())
+                .build();
+    }
+
+    private static long is(QuestStatus actual, QuestStatus expected) {
+        return actual == expected ? 1 : 0;
+    }
+}
@@ -0,0 +1,152 @@
+package com.questify.service;
+
+import com.questify.cache.QuestCache;
+import com.questify.domain.VerificationSignals;
+import com.questify.domain.VerificationSignalsConverter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * One-time migration from the legacy {@code quest_verification_required/optional/disqualifiers}
+ * element-collection tables into {@code quests.verification_signals}. Runs synchronously at startup,
+ * before the service reports ready, so no quest is served or edited with its signals still missing.
+ * Every start re-runs it until the {@value #MARKER} marker is recorded, which picks up quests that
+ * replicas of the previous release create during a rollout. The marker is recorded once no quest
+ * created within {@code settle} still has legacy rows, i.e. the previous release has stopped writing
+ * them; from then on the legacy tables are never read again and can be dropped. Deleting the marker
+ * row re-enables the migration.
+ */
+@Slf4j
+@Component
+public class VerificationSignalsBackfill {
+
+    private static final String REQUIRED = "quest_verification_required";
+    private static final String OPTIONAL = "quest_verification_optional";
+    private static final String DISQUALIFIERS = "quest_verification_disqualifiers";
+
+    static final String MARKER = "verification-signals-migration";
+
+    private final JdbcTemplate jdbc;
+    private final NamedParameterJdbcTemplate named;
+    private final QuestCache cache;
+    private final BackfillMarkers markers;
+
+    @Value("${app.quests.verification-signals.backfill.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.quests.verification-signals.backfill.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.quests.verification-signals.backfill.settle:PT24H}")
+    private Duration settle;
+
+    public VerificationSignalsBackfill(JdbcTemplate jdbc, QuestCache cache, BackfillMarkers markers) {
+        this.jdbc = jdbc;
+        this.named = new NamedParameterJdbcTemplate(jdbc);
+        this.cache = cache;
+        this.markers = markers;
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void backfillOnStart() {
+        if (!enabled || markers.isDone(MARKER)) return;
+        if (!legacyTablesPresent()) {
+            markers.markDone(MARKER);
+            return;
+        }
+        try {
+            backfill();
+            if (previousReleaseSettled()) {
+                markers.markDone(MARKER);
+                log.info("Verification signals migration complete; legacy tables are no longer read");
+            }
+        } catch (DataAccessException e) {
+            log.error("Verification signals backfill stopped, retrying on next start: {}", e.toString());
+        }
+    }
+
+    int backfill() {
+        int migrated = 0;
+        long afterId = 0;
+        while (true) {
+            List<Long> ids = jdbc.queryForList(
+                    "select id from quests where verification_signals is null and id > ? order by id limit ?",
+                    Long.class, afterId, chunkSize);
+            if (ids.isEmpty()) break;
+
+            Map<Long, Set<String>> required = load(REQUIRED, ids);
+            Map<Long, Set<String>> optional = load(OPTIONAL, ids);
+            Map<Long, Set<String>> disqualifiers = load(DISQUALIFIERS, ids);
+
+            List<Object[]> updates = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                var signals = VerificationSignals.of(
+                        required.get(id), optional.get(id), disqualifiers.get(id));
+                updates.add(new Object[]{VerificationSignalsConverter.toJson(signals), id});
+            }
+            jdbc.batchUpdate(
+                    "update quests set verification_signals = ? where id = ? and verification_signals is null",
+                    updates);
+            ids.forEach(cache::evict);
+
+            migrated += ids.size();
+            afterId = ids.get(ids.size() - 1);
+        }
+        if (migrated > 0) log.info("Verification signals backfilled for {} quests", migrated);
+        return migrated;
+    }
+
+    /** No quest created within {@code settle} has legacy rows, so no previous-release replica is still writing them. */
+    private boolean previousReleaseSettled() {
+        Timestamp since = Timestamp.from(Instant.now().minus(settle));
+        Long recent = jdbc.queryForObject(
+                "select count(*) from quests q where q.created_at > ? and ("
+                        + legacyRowsExist(REQUIRED) + " or "
+                        + legacyRowsExist(OPTIONAL) + " or "
+                        + legacyRowsExist(DISQUALIFIERS) + ")",
+                Long.class, since);
+        return recent != null && recent == 0;
+    }
+
+    private static String legacyRowsExist(String table) {
+        return "exists (select 1 from " + table + " l where l.quest_id = q.id)";
+    }
+
+    private boolean legacyTablesPresent() {
+        try {
+            jdbc.queryForObject("select count(*) from " + REQUIRED + " where 1 = 0", Long.class);
+            return true;
+        } catch (DataAccessException e) {
+            log.debug("Legacy verification tables not present, nothing to backfill");
+            return false;
+        }
+    }
+
+    private Map<Long, Set<String>> load(String table, List<Long> ids) {
+        Map<Long, Set<String>> out = new HashMap<>();
+        named.query(
+                "select quest_id, `signal` from " + table + " where quest_id in (:ids)",
+                new MapSqlParameterSource("ids", ids),
+                rs -> {
+                    out.computeIfAbsent(rs.getLong(1), k -> new LinkedHashSet<>()).add(rs.getString(2));
+                });
+        return out;
+    }
+}
@@ -0,0 +1,120 @@
+package com.questify.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.questify.kafka.EnvelopeDeserializer;
+import com.questify.kafka.EnvelopeFormat;
+import com.questify.kafka.EventEnvelope;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the JSON and CBOR envelope encodings on message size and consumer-side decode cost
+ * ({@link EnvelopeDeserializer} as configured on the listeners). Envelopes carry payloads shaped
+ * like the submission events quest-service consumes.
+ * <p>
+ * Run with {@code ./gradlew envelopeFormatBenchmark [-Denvelope.benchmark.events=100000]
+ * [-Denvelope.benchmark.rounds=5]}.
+ */
+@Tag("envelope-format-benchmark")
+@EnabledIfSystemProperty(named = "envelope.benchmark.enabled", matches = "true")
+class EnvelopeFormatBenchmarkTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper().registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private static final ObjectMapper CBOR = new ObjectMapper(new CBORFactory()).registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    void compares_json_with_cbor_envelopes() throws Exception {
+        int events = Integer.parseInt(System.getProperty("envelope.benchmark.events", "100000"));
+        int rounds = Integer.parseInt(System.getProperty("envelope.benchmark.rounds", "5"));
+
+        List<byte[]> json = new ArrayList<>(events);
+        List<byte[]> cbor = new ArrayList<>(events);
+        for (int i = 0; i < events; i++) {
+            var env = envelope(i);
+            json.add(JSON.writeValueAsBytes(env));
+            cbor.add(CBOR.writeValueAsBytes(env));
+        }
+
+        var deserializer = new EnvelopeDeserializer();
+        deserializer.configure(Map.of(
+                JsonDeserializer.TRUSTED_PACKAGES, "*",
+                JsonDeserializer.VALUE_DEFAULT_TYPE, EventEnvelope.class.getName()), false);
+        var jsonHeaders = new RecordHeaders();
+        var cborHeaders = new RecordHeaders();
+        cborHeaders.add(EnvelopeFormat.HEADER, EnvelopeFormat.CBOR.getBytes(StandardCharsets.UTF_8));
+
+        var sample = (EventEnvelope<?>) deserializer.deserialize("t", cborHeaders, cbor.get(1));
+        assertThat(sample).isEqualTo(deserializer.deserialize("t", jsonHeaders, json.get(1)));
+
+        double jsonNs = 0, cborNs = 0;
+        for (int r = 0; r <= rounds; r++) {
+            double j = decodeNsPerEvent(deserializer, jsonHeaders, json);
+            double c = decodeNsPerEvent(deserializer, cborHeaders, cbor);
+            if (r == 0) continue; // warm-up
+            jsonNs += j / rounds;
+            cborNs += c / rounds;
+        }
+
+        double jsonBytes = avgSize(json);
+        double cborBytes = avgSize(cbor);
+        List<String> rows = List.of(
+                "| json | %d | %.0f | %.0f |".formatted(events, jsonBytes, jsonNs),
+                "| cbor | %d | %.0f | %.0f |".formatted(events, cborBytes, cborNs),
+                "| cbor / json | | %.2f | %.2f |".formatted(cborBytes / jsonBytes, cborNs / jsonNs));
+        writeReport(rows);
+    }
+
+    private static EventEnvelope<Map<String, Object>> envelope(int i) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("submissionId", 1_000_000L + i);
+        payload.put("questId", 10_000L + i % 5_000);
+        payload.put("userId", "3f0c9a52-6d1e-4f8b-9a7c-%012d".formatted(i));
+        payload.put("reviewStatus", i % 3 == 0 ? "REJECTED" : "APPROVED");
+        payload.put("reviewerUserId", "8b1d2c44-0e7a-4b5c-8d9e-%012d".formatted(i % 97));
+        payload.put("reviewedAt", Instant.parse("2025-01-01T00:00:00Z").plusSeconds(i).toString());
+        return new EventEnvelope<>("a1b2c3d4-0000-4000-8000-%012d".formatted(i), "SubmissionReviewed", 1,
+                Instant.parse("2025-01-01T00:00:00Z").plusSeconds(i), "submission-service",
+                "c0ffee00-0000-4000-8000-%012d".formatted(i), String.valueOf(payload.get("questId")), payload);
+    }
+
+    private static double decodeNsPerEvent(EnvelopeDeserializer deserializer, RecordHeaders headers, List<byte[]> values) {
+        long t = System.nanoTime();
+        int ids = 0;
+        for (byte[] v : values) {
+            var env = (EventEnvelope<?>) deserializer.deserialize("t", headers, v);
+            ids += env.eventId().length();
+        }
+        assertThat(ids).isPositive();
+        return (double) (System.nanoTime() - t) / values.size();
+    }
+
+    private static double avgSize(List<byte[]> values) {
+        return values.stream().mapToInt(v -> v.length).average().orElse(0);
+    }
+
+    private static void writeReport(List<String> rows) throws Exception {
+        BenchmarkReport.write("envelope-format-benchmark", "Envelope format benchmark",
+                "Average value size and EnvelopeDeserializer decode time per event for the same envelopes "
+                        + "encoded as JSON (JsonDeserializer path) and CBOR (envelope-format: cbor). "
+                        + "First round is warm-up; the rest are averaged.",
+                List.of("format", "events", "avg bytes", "decode ns/event"),
+                rows);
+    }
+}
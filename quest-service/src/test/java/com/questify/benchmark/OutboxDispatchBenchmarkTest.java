@@ -0,0 +1,298 @@
+package com.questify.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.questify.consistency.OutboxDispatcher;
+import com.questify.consistency.OutboxEvent;
+import com.questify.consistency.OutboxEventRepository;
+import com.questify.consistency.OutboxLeases;
+import com.questify.consistency.OutboxStatus;
+import com.questify.kafka.EventEnvelope;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.mock.MockProducerFactory;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Measures outbox throughput (events/second) of the previous one-at-a-time loop
+ * ({@code send().get()} of the re-parsed envelope plus a JPA {@code save}, i.e. select + update,
+ * per event) against {@link OutboxDispatcher}'s pipelined raw-JSON send and bulk {@code markSent}. The table lives in an
+ * in-memory H2 database; the broker is a {@link MockProducer} acknowledging outstanding sends
+ * after a simulated round-trip.
+ * <p>
+ * Run with {@code ./gradlew outboxDispatchBenchmark [-Doutbox.benchmark.batchSizes=50,500,5000]
+ * [-Doutbox.benchmark.events=10000] [-Doutbox.benchmark.brokerLatencyMs=1]}.
+ */
+@Tag("outbox-dispatch-benchmark")
+@EnabledIfSystemProperty(named = "outbox.benchmark.enabled", matches = "true")
+class OutboxDispatchBenchmarkTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    void compares_sequential_with_pipelined_dispatch() throws Exception {
+        List<Integer> batchSizes = ints(System.getProperty("outbox.benchmark.batchSizes", "50,500,5000"));
+        int events = Integer.parseInt(System.getProperty("outbox.benchmark.events", "10000"));
+        long latencyMs = Long.parseLong(System.getProperty("outbox.benchmark.brokerLatencyMs", "1"));
+
+        List<String> rows = new ArrayList<>();
+        for (int batchSize : batchSizes) {
+            double sequential;
+            try (var db = DriverManager.getConnection("jdbc:h2:mem:outbox-seq" + batchSize + ";DB_CLOSE_DELAY=-1");
+                 var broker = new Broker<Object>(latencyMs, new JsonSerializer<>(MAPPER))) {
+                seed(db, events);
+                sequential = eventsPerSecond(events, () -> sequentialDispatch(db, broker.template, batchSize));
+                assertThat(pending(db)).isZero();
+            }
+
+            double pipelined;
+            try (var db = DriverManager.getConnection("jdbc:h2:mem:outbox-pipe" + batchSize + ";DB_CLOSE_DELAY=-1");
+                 var broker = new Broker<byte[]>(latencyMs, new ByteArraySerializer())) {
+                seed(db, events);
+                var dispatcher = dispatcher(db, broker.template, batchSize);
+                pipelined = eventsPerSecond(events, () -> {
+                    while (pending(db) > 0) dispatcher.dispatch();
+                });
+                assertThat(pending(db)).isZero();
+            }
+
+            rows.add("| %d | %d | %d | %.0f | %.0f | %.1fx |".formatted(
+                    batchSize, events, latencyMs, sequential, pipelined, pipelined / sequential));
+        }
+
+        writeReport(rows);
+    }
+
+    /** The dispatcher loop as it was before batching: parse, one round-trip and one save per event. */
+    private static void sequentialDispatch(Connection db, KafkaTemplate<String, Object> kafka, int batchSize) throws Exception {
+        while (true) {
+            var batch = findNew(db, batchSize);
+            if (batch.isEmpty()) return;
+            for (var ev : batch) {
+                EventEnvelope<?> env = MAPPER.readValue(ev.getEnvelopeJson(), EventEnvelope.class);
+                kafka.send(ev.getTopic(), ev.getEventKey(), env).get(10, TimeUnit.SECONDS);
+                selectById(db, ev.getId());
+                try (PreparedStatement ps = db.prepareStatement("""
+                        update outbox_event
+                           set topic = ?, event_key = ?, envelope_json = ?, status = 'SENT', attempts = ?,
+                               created_at = ?, next_attempt_at = ?, sent_at = ?, last_error = null
+                         where id = ?""")) {
+                    ps.setString(1, ev.getTopic());
+                    ps.setString(2, ev.getEventKey());
+                    ps.setString(3, ev.getEnvelopeJson());
+                    ps.setInt(4, ev.getAttempts());
+                    ps.setTimestamp(5, Timestamp.from(ev.getCreatedAt()));
+                    ps.setTimestamp(6, Timestamp.from(ev.getNextAttemptAt()));
+                    ps.setTimestamp(7, Timestamp.from(Instant.now()));
+                    ps.setString(8, ev.getId());
+                    ps.executeUpdate();
+                }
+            }
+        }
+    }
+
+    private static OutboxDispatcher dispatcher(Connection db, KafkaTemplate<String, byte[]> kafka, int batchSize) {
+        var repo = mock(OutboxEventRepository.class);
+        var leases = mock(OutboxLeases.class);
+        when(leases.claim(anyString(), anyInt(), any())).thenAnswer(inv -> findNew(db, inv.<Integer>getArgument(1)));
+        when(repo.markSent(anyCollection(), any())).thenAnswer(inv -> markSent(db, inv.getArgument(0), inv.getArgument(1)));
+
+        var dispatcher = new OutboxDispatcher(repo, leases, kafka, true, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(dispatcher, "enabled", true);
+        ReflectionTestUtils.setField(dispatcher, "batchSize", batchSize);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 10);
+        ReflectionTestUtils.setField(dispatcher, "baseRetrySeconds", 5);
+        ReflectionTestUtils.setField(dispatcher, "sendTimeoutSeconds", 30);
+        ReflectionTestUtils.setField(dispatcher, "leaseSeconds", 60);
+        ReflectionTestUtils.setField(dispatcher, "instanceId", "benchmark");
+        return dispatcher;
+    }
+
+    private static void seed(Connection db, int events) throws Exception {
+        try (Statement st = db.createStatement()) {
+            st.execute("""
+                    create table outbox_event (
+                      id varchar(36) primary key,
+                      topic varchar(200) not null,
+                      event_key varchar(512),
+                      envelope_json clob not null,
+                      status varchar(16) not null,
+                      attempts int not null,
+                      created_at timestamp not null,
+                      next_attempt_at timestamp not null,
+                      sent_at timestamp,
+                      last_error varchar(2000)
+                    )""");
+            st.execute("create index idx_outbox_status_next_created on outbox_event(status, next_attempt_at, created_at)");
+        }
+
+        Instant base = Instant.now().minusSeconds(3600);
+        try (PreparedStatement ps = db.prepareStatement("insert into outbox_event values (?,?,?,?,'NEW',0,?,?,null,null)")) {
+            for (int i = 0; i < events; i++) {
+                String key = String.valueOf(i % 500);
+                var env = EventEnvelope.of("QuestCompleted", 1, "quest-service", key,
+                        Map.of("questId", i % 500, "userId", "user-" + (i % 97), "completedAt", base.toString()));
+                Instant createdAt = base.plusMillis(i);
+                ps.setString(1, env.eventId());
+                ps.setString(2, "quests");
+                ps.setString(3, key);
+                ps.setString(4, MAPPER.writeValueAsString(env));
+                ps.setTimestamp(5, Timestamp.from(createdAt));
+                ps.setTimestamp(6, Timestamp.from(createdAt));
+                ps.addBatch();
+                if (i % 1000 == 999) ps.executeBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    private static List<OutboxEvent> findNew(Connection db, int limit) throws Exception {
+        var out = new ArrayList<OutboxEvent>(limit);
+        try (PreparedStatement ps = db.prepareStatement("""
+                select id, topic, event_key, envelope_json, attempts, created_at, next_attempt_at
+                from outbox_event
+                where status = 'NEW' and next_attempt_at <= ?
+                order by created_at asc
+                limit ?""")) {
+            ps.setTimestamp(1, Timestamp.from(Instant.now()));
+            ps.setInt(2, limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    out.add(OutboxEvent.builder()
+                            .id(rs.getString(1))
+                            .topic(rs.getString(2))
+                            .eventKey(rs.getString(3))
+                            .envelopeJson(rs.getString(4))
+                            .status(OutboxStatus.NEW)
+                            .attempts(rs.getInt(5))
+                            .createdAt(rs.getTimestamp(6).toInstant())
+                            .nextAttemptAt(rs.getTimestamp(7).toInstant())
+                            .build());
+                }
+            }
+        }
+        return out;
+    }
+
+    private static void selectById(Connection db, String id) throws Exception {
+        try (PreparedStatement ps = db.prepareStatement("select * from outbox_event where id = ?")) {
+            ps.setString(1, id);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+            }
+        }
+    }
+
+    private static int markSent(Connection db, Collection<String> ids, Instant sentAt) throws Exception {
+        String in = String.join(",", Collections.nCopies(ids.size(), "?"));
+        try (PreparedStatement ps = db.prepareStatement(
+                "update outbox_event set status = 'SENT', sent_at = ?, last_error = null where id in (" + in + ")")) {
+            ps.setTimestamp(1, Timestamp.from(sentAt));
+            int i = 2;
+            for (String id : ids) ps.setString(i++, id);
+            return ps.executeUpdate();
+        }
+    }
+
+    private static int pending(Connection db) throws Exception {
+        try (Statement st = db.createStatement();
+             ResultSet rs = st.executeQuery("select count(*) from outbox_event where status = 'NEW'")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    private static double eventsPerSecond(int events, Op op) throws Exception {
+        long t = System.nanoTime();
+        op.run();
+        return events / ((System.nanoTime() - t) / 1_000_000_000.0);
+    }
+
+    private static List<Integer> ints(String csv) {
+        return Arrays.stream(csv.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .map(Integer::parseInt)
+                .toList();
+    }
+
+    private static void writeReport(List<String> rows) throws Exception {
+        BenchmarkReport.write("outbox-dispatch-benchmark", "Outbox dispatch benchmark",
+                "Events/second draining a seeded outbox table on H2. Sequential = parse + JsonSerializer + send().get() "
+                        + "+ select/update per event; pipelined = OutboxDispatcher (stored JSON sent as-is, async sends per batch, "
+                        + "one bulk update). "
+                        + "The mock broker acknowledges all outstanding sends once per simulated round-trip.",
+                List.of("batch size", "events", "broker RTT ms", "sequential ev/s", "pipelined ev/s", "speedup"),
+                rows);
+    }
+
+    /** Mock broker: outstanding sends are acknowledged together after each simulated round-trip. */
+    private static final class Broker<V> implements AutoCloseable {
+        final MockProducer<String, V> producer;
+        final KafkaTemplate<String, V> template;
+        final Thread acker;
+
+        Broker(long latencyMs, Serializer<V> valueSerializer) {
+            // KafkaTemplate closes the producer after every send; the factory hands out this shared instance.
+            producer = new MockProducer<>(false, new StringSerializer(), valueSerializer) {
+                @Override
+                public void close() {
+                }
+
+                @Override
+                public void close(Duration timeout) {
+                }
+            };
+            template = new KafkaTemplate<>(new MockProducerFactory<>(() -> producer));
+            acker = Thread.ofPlatform().daemon().name("mock-broker").start(() -> {
+                while (!Thread.currentThread().isInterrupted()) {
+                    try {
+                        TimeUnit.MILLISECONDS.sleep(latencyMs);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    while (producer.completeNext()) {
+                        // acknowledge everything sent during this round-trip
+                    }
+                }
+            });
+        }
+
+        @Override
+        public void close() {
+            acker.interrupt();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Op {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,169 @@
+package com.questify.benchmark;
+
+import com.questify.consistency.ProcessedEventRepository;
+import com.questify.consistency.ProcessedEventService;
+import com.questify.consistency.RecentEventFilter;
+import com.questify.kafka.EventEnvelope;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Replays a stream of events through the consumer-side dedupe and compares the previous per-record path
+ * (exists select + insert, committed per event) against {@link ProcessedEventService#filterUnprocessed},
+ * which handles a whole poll in a single transaction: one {@code select ... in} plus one multi-row
+ * {@code insert ignore}, or with the {@link RecentEventFilter} prefilter on, a select over only the ids the
+ * filter may have seen. Both a first delivery (all new) and a full redelivery (all duplicates) are timed.
+ * The table lives in an in-memory H2 database in MySQL mode.
+ * <p>
+ * Run with {@code ./gradlew processedEventBenchmark [-Dprocessed.benchmark.events=100000]
+ * [-Dprocessed.benchmark.pollSize=500]}.
+ */
+@Tag("processed-event-benchmark")
+@EnabledIfSystemProperty(named = "processed.benchmark.enabled", matches = "true")
+class ProcessedEventReplayBenchmarkTest {
+
+    private static final String GROUP = "quest-service";
+
+    @Test
+    void compares_per_record_with_batched_dedupe() throws Exception {
+        int events = Integer.parseInt(System.getProperty("processed.benchmark.events", "100000"));
+        int pollSize = Integer.parseInt(System.getProperty("processed.benchmark.pollSize", "500"));
+        List<List<EventEnvelope>> polls = polls(events, pollSize);
+
+        List<String> rows = new ArrayList<>();
+
+        try (var ds = dataSource("processed-single")) {
+            Connection db = ds.getConnection();
+            db.setAutoCommit(true);
+            double first = eventsPerSecond(events, () -> { for (var poll : polls) perRecord(db, poll); });
+            assertThat(count(db)).isEqualTo(events);
+            double replay = eventsPerSecond(events, () -> { for (var poll : polls) perRecord(db, poll); });
+            assertThat(count(db)).isEqualTo(events);
+            rows.add("| per record | %d | %d | %.0f | %.0f |".formatted(events, pollSize, first, replay));
+        }
+
+        rows.add(batched("processed-batch-select", events, pollSize, polls, false));
+        rows.add(batched("processed-batch-filter", events, pollSize, polls, true));
+
+        writeReport(rows);
+    }
+
+    /** Times {@link ProcessedEventService#filterUnprocessed}, with the in-memory prefilter on or off, one transaction per poll. */
+    private static String batched(String name, int events, int pollSize, List<List<EventEnvelope>> polls,
+                                  boolean prefilter) throws Exception {
+        try (var ds = dataSource(name)) {
+            var service = new ProcessedEventService(mock(ProcessedEventRepository.class), new JdbcTemplate(ds),
+                    new RecentEventFilter(prefilter, events, 0.01));
+            var tx = new TransactionTemplate(new DataSourceTransactionManager(ds));
+            int[] fresh = new int[1];
+            double first = eventsPerSecond(events, () -> {
+                for (var poll : polls) fresh[0] += tx.execute(s -> service.filterUnprocessed(GROUP, poll)).size();
+            });
+            assertThat(fresh[0]).isEqualTo(events);
+            fresh[0] = 0;
+            double replay = eventsPerSecond(events, () -> {
+                for (var poll : polls) fresh[0] += tx.execute(s -> service.filterUnprocessed(GROUP, poll)).size();
+            });
+            assertThat(fresh[0]).isZero();
+            return "| batched, prefilter %s | %d | %d | %.0f | %.0f |".formatted(
+                    prefilter ? "on" : "off", events, pollSize, first, replay);
+        }
+    }
+
+    /** The consumer dedupe as it was before batching: one select and one insert per event, each committed on its own. */
+    private static void perRecord(Connection db, List<EventEnvelope> poll) throws Exception {
+        for (var env : poll) {
+            try (PreparedStatement ps = db.prepareStatement(
+                    "select count(*) from processed_event where consumer_group = ? and event_id = ?")) {
+                ps.setString(1, GROUP);
+                ps.setString(2, env.eventId());
+                try (var rs = ps.executeQuery()) {
+                    rs.next();
+                    if (rs.getInt(1) > 0) continue;
+                }
+            }
+            try (PreparedStatement ps = db.prepareStatement(
+                    "insert into processed_event (consumer_group, event_id, processed_at) values (?, ?, ?)")) {
+                ps.setString(1, GROUP);
+                ps.setString(2, env.eventId());
+                ps.setTimestamp(3, Timestamp.from(Instant.now()));
+                ps.executeUpdate();
+            }
+        }
+    }
+
+    private static SingleConnectionDataSource dataSource(String name) throws Exception {
+        var ds = new SingleConnectionDataSource("jdbc:h2:mem:" + name + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "", true);
+        try (var st = ds.getConnection().createStatement()) {
+            st.execute("""
+                    create table processed_event (
+                      consumer_group varchar(200) not null,
+                      event_id varchar(36) not null,
+                      processed_at timestamp not null,
+                      primary key (consumer_group, event_id)
+                    )""");
+        }
+        return ds;
+    }
+
+    private static List<List<EventEnvelope>> polls(int events, int pollSize) {
+        List<List<EventEnvelope>> polls = new ArrayList<>();
+        List<EventEnvelope> poll = new ArrayList<>(pollSize);
+        Instant now = Instant.now();
+        for (int i = 0; i < events; i++) {
+            poll.add(new EventEnvelope<>(UUID.randomUUID().toString(), "SubmissionReviewed", 1, now,
+                    "submission-service", null, String.valueOf(i % 64), Map.of("submissionId", i)));
+            if (poll.size() == pollSize) {
+                polls.add(poll);
+                poll = new ArrayList<>(pollSize);
+            }
+        }
+        if (!poll.isEmpty()) polls.add(poll);
+        return polls;
+    }
+
+    private static long count(Connection db) throws Exception {
+        try (var st = db.createStatement(); var rs = st.executeQuery("select count(*) from processed_event")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Op {
+        void run() throws Exception;
+    }
+
+    private static double eventsPerSecond(int events, Op op) throws Exception {
+        long t = System.nanoTime();
+        op.run();
+        return events / ((System.nanoTime() - t) / 1_000_000_000.0);
+    }
+
+    private static void writeReport(List<String> rows) throws Exception {
+        BenchmarkReport.write("processed-event-benchmark", "Processed-event dedupe benchmark",
+                "Events/second through the consumer dedupe on H2 (MySQL mode). Per record = exists select + insert, "
+                        + "committed per event; batched = ProcessedEventService.filterUnprocessed, one transaction per poll "
+                        + "(prefilter off: select ... in + multi-row insert ignore; prefilter on: the select only covers ids "
+                        + "the Bloom filter may have seen). Redelivery replays the same polls.",
+                List.of("path", "events", "poll size", "first delivery ev/s", "redelivery ev/s"),
+                rows);
+    }
+}
@@ -0,0 +1,184 @@
+package com.questify.benchmark;
+
+import com.questify.search.QuestSearchIndex;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares {@link QuestSearchIndex} against the {@code lower(title) like '%q%'} page + count
+ * queries that {@code QuestRepository.searchPublic} issues, on an in-memory H2 table.
+ * <p>
+ * Run with {@code ./gradlew questSearchBenchmark [-Dquest.search.benchmark.sizes=100000,1000000]}.
+ */
+@Tag("quest-search-benchmark")
+@EnabledIfSystemProperty(named = "quest.search.benchmark.enabled", matches = "true")
+class QuestSearchBenchmarkTest {
+
+    private static final String[] WORDS = {
+            "run", "running", "read", "reading", "pages", "morning", "evening", "walk", "steps", "water",
+            "drink", "sleep", "early", "study", "math", "worksheet", "guitar", "practice", "code", "kata",
+            "journal", "write", "essay", "budget", "save", "cook", "meal", "prep", "stretch", "yoga",
+            "push", "ups", "plank", "cycle", "bike", "swim", "laps", "language", "spanish", "vocab",
+            "meditate", "breathe", "garden", "plant", "clean", "desk", "declutter", "call", "friend", "family"
+    };
+    private static final List<String> QUERIES = List.of("run", "guitar practice", "spanish vo", "meal prep", "yo", "declutter desk");
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURED_ROUNDS = 200;
+    private static final int PAGE_SIZE = 10;
+
+    @Test
+    void compares_index_with_like_query() throws Exception {
+        List<Integer> sizes = Arrays.stream(System.getProperty("quest.search.benchmark.sizes", "100000,1000000").split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .map(Integer::parseInt)
+                .toList();
+
+        List<String> rows = new ArrayList<>();
+        for (int size : sizes) {
+            try (Connection db = DriverManager.getConnection("jdbc:h2:mem:search" + size + ";DB_CLOSE_DELAY=-1")) {
+                QuestSearchIndex index = new QuestSearchIndex(64);
+                long buildMs = seed(db, index, size);
+                long heapMb = usedHeapMb();
+
+                for (String q : QUERIES) {
+                    long[] like = measure(() -> likeQuery(db, q));
+                    long[] idx = measure(() -> index.search(q, 0, PAGE_SIZE).questIds().size());
+                    rows.add("| %d | `%s` | %.3f | %.3f | %.3f | %.3f | %d | %d |".formatted(
+                            size, q,
+                            millis(like, 50), millis(like, 95),
+                            millis(idx, 50), millis(idx, 95),
+                            buildMs, heapMb));
+                }
+                assertThat(index.size()).isEqualTo(size);
+            }
+        }
+
+        writeReport(rows);
+    }
+
+    private static long seed(Connection db, QuestSearchIndex index, int size) throws Exception {
+        try (Statement st = db.createStatement()) {
+            st.execute("""
+                    create table quests (
+                      id bigint primary key,
+                      title varchar(140) not null,
+                      description varchar(2000) not null,
+                      visibility varchar(16) not null,
+                      status varchar(24) not null,
+                      created_at timestamp not null
+                    )""");
+        }
+
+        Random rnd = new Random(42);
+        Instant base = Instant.parse("2024-01-01T00:00:00Z");
+        long indexNanos = 0;
+        try (PreparedStatement ps = db.prepareStatement("insert into quests values (?,?,?,?,?,?)")) {
+            for (int i = 1; i <= size; i++) {
+                String title = phrase(rnd, 2 + rnd.nextInt(4));
+                String description = phrase(rnd, 12 + rnd.nextInt(30));
+                Instant createdAt = base.plusSeconds(i * 37L);
+
+                ps.setLong(1, i);
+                ps.setString(2, title);
+                ps.setString(3, description);
+                ps.setString(4, "PUBLIC");
+                ps.setString(5, "ACTIVE");
+                ps.setTimestamp(6, Timestamp.from(createdAt));
+                ps.addBatch();
+                if (i % 5000 == 0) ps.executeBatch();
+
+                long t = System.nanoTime();
+                index.upsert(i, title, description, createdAt);
+                indexNanos += System.nanoTime() - t;
+            }
+            ps.executeBatch();
+        }
+        return indexNanos / 1_000_000;
+    }
+
+    private static int likeQuery(Connection db, String q) throws Exception {
+        int n = 0;
+        try (PreparedStatement page = db.prepareStatement("""
+                select id from quests
+                where lower(title) like lower(concat('%', ?, '%'))
+                  and visibility = 'PUBLIC' and status = 'ACTIVE'
+                order by created_at desc, id desc
+                limit ?""");
+             PreparedStatement count = db.prepareStatement("""
+                select count(*) from quests
+                where lower(title) like lower(concat('%', ?, '%'))
+                  and visibility = 'PUBLIC' and status = 'ACTIVE'""")) {
+            page.setString(1, q);
+            page.setInt(2, PAGE_SIZE);
+            try (ResultSet rs = page.executeQuery()) {
+                while (rs.next()) n++;
+            }
+            count.setString(1, q);
+            try (ResultSet rs = count.executeQuery()) {
+                rs.next();
+            }
+        }
+        return n;
+    }
+
+    private static long[] measure(Op op) throws Exception {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) op.run();
+        long[] samples = new long[MEASURED_ROUNDS];
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long t = System.nanoTime();
+            op.run();
+            samples[i] = System.nanoTime() - t;
+        }
+        Arrays.sort(samples);
+        return samples;
+    }
+
+    private static double millis(long[] sorted, int percentile) {
+        int idx = Math.min(sorted.length - 1, (int) Math.ceil(percentile / 100.0 * sorted.length) - 1);
+        return sorted[Math.max(0, idx)] / 1_000_000.0;
+    }
+
+    private static String phrase(Random rnd, int words) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) sb.append(' ');
+            sb.append(WORDS[rnd.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+
+    private static long usedHeapMb() {
+        Runtime rt = Runtime.getRuntime();
+        rt.gc();
+        return (rt.totalMemory() - rt.freeMemory()) / (1024 * 1024);
+    }
+
+    private static void writeReport(List<String> rows) throws Exception {
+        BenchmarkReport.write("quest-search-benchmark", "Quest search benchmark",
+                "Latencies in ms over " + MEASURED_ROUNDS + " runs (page of " + PAGE_SIZE + "). "
+                        + "LIKE = page + count query on H2; heap is JVM used heap after seeding (table + index).",
+                List.of("quests", "query", "LIKE p50", "LIKE p95", "index p50", "index p95", "index build ms", "heap MB"),
+                rows);
+    }
+
+    @FunctionalInterface
+    private interface Op {
+        Object run() throws Exception;
+    }
+}
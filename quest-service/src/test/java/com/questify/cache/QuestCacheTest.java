@@ -0,0 +1,181 @@
+package com.questify.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.questify.domain.*;
+import com.questify.repository.QuestRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QuestCacheTest {
+
+    @Mock QuestRepository quests;
+    @Mock ObjectProvider<StringRedisTemplate> redis;
+
+    SimpleMeterRegistry registry;
+    QuestCache cache;
+
+    @BeforeEach
+    void setup() {
+        registry = new SimpleMeterRegistry();
+        cache = new QuestCache(quests, redis, new ObjectMapper(), registry,
+                true, 100, Duration.ofMinutes(10), false, "test:quest:");
+    }
+
+    private Quest quest(long id) {
+        return Quest.builder()
+                .id(id)
+                .title("Q" + id)
+                .description("D" + id)
+                .category(QuestCategory.OTHER)
+                .status(QuestStatus.ACTIVE)
+                .visibility(QuestVisibility.PUBLIC)
+                .createdByUserId("owner")
+                .createdAt(Instant.parse("2025-01-01T00:00:00Z"))
+                .build();
+    }
+
+    private double gets(String tier, String result) {
+        var c = registry.find("quest_cache_gets").tags("tier", tier, "result", result).counter();
+        return c == null ? 0 : c.count();
+    }
+
+    @Test
+    void second_get_is_served_from_l1() {
+        when(quests.findById(1L)).thenReturn(Optional.of(quest(1L)));
+
+        var first = cache.get(1L);
+        var second = cache.get(1L);
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.createdByUserId()).isEqualTo("owner");
+        verify(quests, times(1)).findById(1L);
+        assertThat(gets("l1", "miss")).isEqualTo(1);
+        assertThat(gets("l1", "hit")).isEqualTo(1);
+        verifyNoInteractions(redis);
+    }
+
+    @Test
+    void evict_forces_reload() {
+        when(quests.findById(1L)).thenReturn(Optional.of(quest(1L)));
+
+        cache.get(1L);
+        cache.evict(1L);
+        cache.get(1L);
+
+        verify(quests, times(2)).findById(1L);
+        assertThat(registry.find("quest_cache_evictions").tags("tier", "l1", "cause", "explicit").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void evicting_an_uncached_quest_is_not_counted() {
+        cache.evict(1L);
+
+        assertThat(registry.find("quest_cache_evictions").counter()).isNull();
+    }
+
+    @Test
+    void eviction_during_a_load_discards_the_loaded_snapshot() throws Exception {
+        var loading = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        when(quests.findById(1L)).thenAnswer(inv -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(quest(1L));
+        }).thenReturn(Optional.of(quest(1L)));
+
+        var reader = CompletableFuture.supplyAsync(() -> cache.get(1L));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        var writer = CompletableFuture.runAsync(() -> cache.evict(1L));
+        Thread.sleep(50);
+        release.countDown();
+        reader.get(5, TimeUnit.SECONDS);
+        writer.get(5, TimeUnit.SECONDS);
+
+        cache.get(1L);
+        verify(quests, times(2)).findById(1L);
+    }
+
+    @Test
+    void l2_write_is_conditional_on_the_generation_read_before_the_load() {
+        var template = mock(StringRedisTemplate.class);
+        @SuppressWarnings("unchecked")
+        ValueOperations<String, String> values = mock(ValueOperations.class);
+        when(redis.getObject()).thenReturn(template);
+        when(template.opsForValue()).thenReturn(values);
+        when(values.get("test:quest:gen:1")).thenReturn("4");
+        when(quests.findById(1L)).thenReturn(Optional.of(quest(1L)));
+        cache = new QuestCache(quests, redis, new ObjectMapper().registerModule(new JavaTimeModule()), registry,
+                true, 100, Duration.ofMinutes(10), true, "test:quest:");
+
+        cache.get(1L);
+
+        var order = inOrder(values, quests, template);
+        order.verify(values).get("test:quest:gen:1");
+        order.verify(quests).findById(1L);
+        order.verify(template).execute(any(RedisScript.class),
+                eq(List.of("test:quest:1", "test:quest:gen:1")), anyString(), eq("4"), eq("600000"));
+    }
+
+    @Test
+    void l2_eviction_bumps_the_generation() {
+        var template = mock(StringRedisTemplate.class);
+        @SuppressWarnings("unchecked")
+        ValueOperations<String, String> values = mock(ValueOperations.class);
+        when(redis.getObject()).thenReturn(template);
+        when(template.opsForValue()).thenReturn(values);
+        when(template.delete("test:quest:1")).thenReturn(false);
+        cache = new QuestCache(quests, redis, new ObjectMapper(), registry,
+                true, 100, Duration.ofMinutes(10), true, "test:quest:");
+
+        cache.evict(1L);
+
+        verify(values).increment("test:quest:gen:1");
+        verify(template).expire("test:quest:gen:1", Duration.ofMinutes(10));
+        assertThat(registry.find("quest_cache_evictions").counter()).isNull();
+    }
+
+    @Test
+    void missing_quest_is_not_cached() {
+        when(quests.findById(404L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> cache.get(404L)).isInstanceOf(EntityNotFoundException.class);
+        assertThatThrownBy(() -> cache.get(404L)).isInstanceOf(EntityNotFoundException.class);
+        verify(quests, times(2)).findById(404L);
+    }
+
+    @Test
+    void disabled_cache_always_loads() {
+        cache = new QuestCache(quests, redis, new ObjectMapper(), registry,
+                false, 100, Duration.ofMinutes(10), false, "test:quest:");
+        when(quests.findById(1L)).thenReturn(Optional.of(quest(1L)));
+
+        cache.get(1L);
+        cache.get(1L);
+
+        verify(quests, times(2)).findById(1L);
+    }
+}
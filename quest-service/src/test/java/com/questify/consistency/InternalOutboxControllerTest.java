@@ -0,0 +1,67 @@
+package com.questify.consistency;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InternalOutboxControllerTest {
+
+    @Mock OutboxEventRepository outbox;
+    @Mock OutboxDispatcher dispatcher;
+
+    @InjectMocks InternalOutboxController controller;
+
+    @Test
+    void report_lists_backlog_and_stuck_rows_without_payloads() {
+        var failed = OutboxEvent.newEvent("e1", "quests", "7", "{\"large\":\"payload\"}");
+        failed.setStatus(OutboxStatus.FAILED);
+        failed.setAttempts(10);
+        failed.setLastError("TimeoutException: expired");
+        var statusRow = mock(OutboxEventRepository.StatusCount.class);
+        when(statusRow.getStatus()).thenReturn(OutboxStatus.FAILED);
+        when(statusRow.getTotal()).thenReturn(1L);
+        when(outbox.countByStatus()).thenReturn(List.of(statusRow));
+        when(outbox.countPendingByTopic()).thenReturn(List.of());
+        when(outbox.findOldestPendingCreatedAt()).thenReturn(null);
+        when(outbox.findStuck(any(), any(Pageable.class))).thenReturn(List.of(failed));
+
+        var report = controller.report(5000, null);
+
+        assertThat(report.rows()).containsEntry(OutboxStatus.FAILED, 1L);
+        assertThat(report.oldestPendingAgeSeconds()).isNull();
+        assertThat(report.stuck()).singleElement().satisfies(s -> {
+            assertThat(s.id()).isEqualTo("e1");
+            assertThat(s.lastError()).contains("TimeoutException");
+        });
+        verify(outbox).findStuck(any(Instant.class), argThat(p -> p.getPageSize() == 500));
+    }
+
+    @Test
+    void requeue_wakes_dispatcher_when_rows_were_moved() {
+        when(outbox.requeueFailed(eq("quests"), any())).thenReturn(3);
+
+        assertThat(controller.requeue("quests").requeued()).isEqualTo(3);
+
+        verify(dispatcher).wakeUp();
+    }
+
+    @Test
+    void requeue_blank_topic_means_all_topics() {
+        when(outbox.requeueFailed(isNull(), any())).thenReturn(0);
+
+        assertThat(controller.requeue(" ").requeued()).isZero();
+
+        verify(dispatcher, never()).wakeUp();
+    }
+}
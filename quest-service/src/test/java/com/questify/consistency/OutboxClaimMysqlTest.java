@@ -0,0 +1,145 @@
+package com.questify.consistency;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.jpa.repository.Query;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs {@link OutboxEventRepository#lockClaimable}'s SQL against a real MySQL/MariaDB, whose
+ * {@code skip locked} semantics H2 does not reproduce: the claim must be served from
+ * {@code idx_outbox_status_next_created} without a filesort, so a dispatcher locks only the rows it
+ * returns and a second dispatcher claims the next ones instead of skipping the whole backlog.
+ * <p>
+ * Run with {@code ./gradlew outboxClaimMysqlTest -Doutbox.claim.mysql.url=jdbc:mysql://localhost:3306/questify_test
+ * [-Doutbox.claim.mysql.user=...] [-Doutbox.claim.mysql.password=...]}; the test owns the
+ * {@code outbox_event} table in that schema.
+ */
+@Tag("outbox-claim-mysql")
+@EnabledIfSystemProperty(named = "outbox.claim.mysql.url", matches = ".+")
+class OutboxClaimMysqlTest {
+
+    private static final int BACKLOG = 2000;
+    private static final int LIMIT = 50;
+
+    private Connection first;
+    private Connection second;
+
+    @BeforeEach
+    void setup() throws Exception {
+        first = connect();
+        second = connect();
+        try (Statement st = first.createStatement()) {
+            st.execute("drop table if exists outbox_event");
+            st.execute("""
+                    create table outbox_event (
+                      id varchar(36) not null primary key,
+                      topic varchar(200) not null,
+                      event_key varchar(512),
+                      envelope_json longtext not null,
+                      status varchar(16) not null,
+                      attempts int not null,
+                      created_at datetime(6) not null,
+                      next_attempt_at datetime(6) not null,
+                      sent_at datetime(6),
+                      last_error varchar(2000),
+                      claimed_by varchar(100),
+                      lease_until datetime(6),
+                      index idx_outbox_status_next_created (status, next_attempt_at, created_at),
+                      index idx_outbox_status_sent (status, sent_at)
+                    )""");
+        }
+        Instant base = Instant.now().minusSeconds(3600);
+        try (PreparedStatement ps = first.prepareStatement(
+                "insert into outbox_event values (?, 'quests', 'k', '{}', 'NEW', 0, ?, ?, null, null, null, null)")) {
+            for (int i = 0; i < BACKLOG; i++) {
+                ps.setString(1, "e%05d".formatted(i));
+                ps.setTimestamp(2, Timestamp.from(base.plusMillis(i)));
+                ps.setTimestamp(3, Timestamp.from(base.plusMillis(i)));
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+        try (Statement st = first.createStatement()) {
+            st.execute("analyze table outbox_event");
+        }
+        first.setAutoCommit(false);
+        second.setAutoCommit(false);
+    }
+
+    @AfterEach
+    void cleanup() throws Exception {
+        first.rollback();
+        second.rollback();
+        first.close();
+        second.close();
+    }
+
+    @Test
+    void claim_is_served_from_the_index_without_a_filesort() throws Exception {
+        try (PreparedStatement ps = first.prepareStatement("explain " + claimSql())) {
+            bind(ps);
+            try (ResultSet rs = ps.executeQuery()) {
+                assertThat(rs.next()).isTrue();
+                assertThat(rs.getString("key")).isEqualTo("idx_outbox_status_next_created");
+                assertThat(String.valueOf(rs.getString("Extra"))).doesNotContain("filesort");
+            }
+        }
+    }
+
+    @Test
+    void concurrent_claimers_lock_disjoint_batches() throws Exception {
+        var firstIds = claim(first);
+        var secondIds = claim(second);
+
+        assertThat(firstIds).hasSize(LIMIT).first().isEqualTo("e00000");
+        assertThat(secondIds).hasSize(LIMIT).doesNotContainAnyElementsOf(firstIds);
+        assertThat(secondIds).first().isEqualTo("e%05d".formatted(LIMIT));
+    }
+
+    private List<String> claim(Connection db) throws Exception {
+        var ids = new ArrayList<String>(LIMIT);
+        try (PreparedStatement ps = db.prepareStatement(claimSql())) {
+            bind(ps);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) ids.add(rs.getString(1));
+            }
+        }
+        return ids;
+    }
+
+    private static String claimSql() throws Exception {
+        return OutboxEventRepository.class.getMethod("lockClaimable", Instant.class, int.class)
+                .getAnnotation(Query.class).value()
+                .replace(":now", "?")
+                .replace(":limit", "?");
+    }
+
+    private static void bind(PreparedStatement ps) throws Exception {
+        var now = Timestamp.from(Instant.now());
+        ps.setTimestamp(1, now);
+        ps.setTimestamp(2, now);
+        ps.setInt(3, LIMIT);
+    }
+
+    private static Connection connect() throws Exception {
+        return DriverManager.getConnection(
+                System.getProperty("outbox.claim.mysql.url"),
+                System.getProperty("outbox.claim.mysql.user", "root"),
+                System.getProperty("outbox.claim.mysql.password", ""));
+    }
+}
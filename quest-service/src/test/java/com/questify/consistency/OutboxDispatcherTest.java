@@ -0,0 +1,178 @@
+package com.questify.consistency;
+
+import com.questify.kafka.EnvelopeDeserializer;
+import com.questify.kafka.EnvelopeFormat;
+import com.questify.kafka.EventEnvelope;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxDispatcherTest {
+
+    private static final String ENVELOPE = """
+            {"eventId":"%s","eventType":"QuestCompleted","eventVersion":1,"occurredAt":"2025-01-01T00:00:00Z",\
+            "source":"quest-service","partitionKey":"%s","payload":{"questId":1}}""";
+
+    @Mock OutboxEventRepository outbox;
+    @Mock OutboxLeases leases;
+    @Mock KafkaTemplate<String, byte[]> kafka;
+
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    OutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setup() {
+        dispatcher = new OutboxDispatcher(outbox, leases, kafka, true, registry);
+        ReflectionTestUtils.setField(dispatcher, "enabled", true);
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 50);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 3);
+        ReflectionTestUtils.setField(dispatcher, "baseRetrySeconds", 5);
+        ReflectionTestUtils.setField(dispatcher, "sendTimeoutSeconds", 1);
+        ReflectionTestUtils.setField(dispatcher, "leaseSeconds", 60);
+        ReflectionTestUtils.setField(dispatcher, "instanceId", "pod-1");
+    }
+
+    @Test
+    void sends_whole_batch_then_marks_acknowledged_rows_in_one_update() {
+        var a = event("e1", "k1", 0);
+        var b = event("e2", "k2", 0);
+        var c = event("e3", "k3", 2);
+        when(leases.claim(eq("pod-1"), eq(50), any())).thenReturn(List.of(a, b, c));
+        stubSends(Map.of(
+                "k1", CompletableFuture.completedFuture(null),
+                "k2", CompletableFuture.completedFuture(null),
+                "k3", CompletableFuture.failedFuture(new IllegalStateException("broker down"))));
+
+        dispatcher.dispatch();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<String>> sent = ArgumentCaptor.forClass(Collection.class);
+        verify(outbox).markSent(sent.capture(), any());
+        assertThat(sent.getValue()).containsExactly("e1", "e2");
+
+        verify(outbox).saveAll(List.of(c));
+        assertThat(c.getAttempts()).isEqualTo(3);
+        assertThat(c.getStatus()).isEqualTo(OutboxStatus.FAILED);
+        assertThat(c.getClaimedBy()).isNull();
+        assertThat(c.getLastError()).contains("broker down");
+        verify(outbox, never()).save(any());
+        assertThat(registry.get("outbox_publish_latency").tag("topic", "quests").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void ships_stored_json_unchanged_with_envelope_type_header() {
+        var a = event("e1", "k1", 0);
+        when(leases.claim(eq("pod-1"), eq(50), any())).thenReturn(List.of(a));
+        stubSends(Map.of("k1", CompletableFuture.completedFuture(null)));
+
+        dispatcher.dispatch();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<ProducerRecord<String, byte[]>> record = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafka).send(record.capture());
+        assertThat(record.getValue().topic()).isEqualTo("quests");
+        assertThat(record.getValue().key()).isEqualTo("k1");
+        assertThat(record.getValue().value()).isEqualTo(a.getEnvelopeJson().getBytes(StandardCharsets.UTF_8));
+        assertThat(record.getValue().headers().lastHeader(EnvelopeFormat.HEADER)).isNull();
+        assertThat(new String(record.getValue().headers().lastHeader("__TypeId__").value(), StandardCharsets.UTF_8))
+                .isEqualTo("com.questify.kafka.EventEnvelope");
+    }
+
+    @Test
+    void cbor_format_transcodes_stored_json_and_marks_the_record() {
+        ReflectionTestUtils.setField(dispatcher, "envelopeFormat", "cbor");
+        var a = event("e1", "k1", 0);
+        when(leases.claim(eq("pod-1"), eq(50), any())).thenReturn(List.of(a));
+        stubSends(Map.of("k1", CompletableFuture.completedFuture(null)));
+
+        dispatcher.dispatch();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<ProducerRecord<String, byte[]>> record = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafka).send(record.capture());
+        var headers = record.getValue().headers();
+        assertThat(EnvelopeFormat.of(headers)).isEqualTo(EnvelopeFormat.CBOR);
+        assertThat(record.getValue().value().length).isLessThan(a.getEnvelopeJson().length());
+
+        var deserializer = new EnvelopeDeserializer();
+        deserializer.configure(Map.of(JsonDeserializer.VALUE_DEFAULT_TYPE, EventEnvelope.class.getName()), false);
+        var env = (EventEnvelope<?>) deserializer.deserialize("quests", headers, record.getValue().value());
+        assertThat(env.eventId()).isEqualTo("e1");
+        assertThat(env.partitionKey()).isEqualTo("k1");
+        assertThat(env.occurredAt()).isEqualTo(Instant.parse("2025-01-01T00:00:00Z"));
+        assertThat(env.payload()).isEqualTo(Map.of("questId", 1));
+        verify(outbox).markSent(eq(List.of("e1")), any());
+    }
+
+    @Test
+    void send_rejected_by_producer_is_retried_without_blocking_the_batch() {
+        var bad = event("e1", "k1", 0);
+        var good = event("e2", "k2", 0);
+        when(leases.claim(eq("pod-1"), eq(50), any())).thenReturn(List.of(bad, good));
+        when(kafka.send(any(ProducerRecord.class))).thenAnswer(inv -> {
+            ProducerRecord<String, byte[]> r = inv.getArgument(0);
+            if ("k1".equals(r.key())) throw new IllegalStateException("record too large");
+            return CompletableFuture.completedFuture(null);
+        });
+
+        dispatcher.dispatch();
+
+        verify(outbox).markSent(eq(List.of("e2")), any());
+        verify(outbox).saveAll(List.of(bad));
+        assertThat(bad.getStatus()).isEqualTo(OutboxStatus.NEW);
+        assertThat(bad.getAttempts()).isEqualTo(1);
+        assertThat(bad.getNextAttemptAt()).isAfter(bad.getCreatedAt());
+    }
+
+    @Test
+    void wake_up_dispatches_without_waiting_for_the_idle_poll() throws Exception {
+        ReflectionTestUtils.setField(dispatcher, "idlePollMinMs", 60_000L);
+        ReflectionTestUtils.setField(dispatcher, "idlePollMaxMs", 60_000L);
+        when(leases.claim(anyString(), anyInt(), any())).thenReturn(List.of());
+
+        dispatcher.start();
+        try {
+            verify(leases, timeout(1000).times(1)).claim(anyString(), anyInt(), any());
+            dispatcher.wakeUp();
+            verify(leases, timeout(1000).times(2)).claim(anyString(), anyInt(), any());
+        } finally {
+            dispatcher.close();
+        }
+        assertThat(registry.get("outbox_dispatcher_wakeups").tag("reason", "signal").counter().count()).isEqualTo(1);
+    }
+
+    private void stubSends(Map<String, CompletableFuture<SendResult<String, byte[]>>> byKey) {
+        when(kafka.send(any(ProducerRecord.class))).thenAnswer(inv -> {
+            ProducerRecord<String, byte[]> r = inv.getArgument(0);
+            return byKey.get(r.key());
+        });
+    }
+
+    private static OutboxEvent event(String id, String key, int attempts) {
+        var ev = OutboxEvent.newEvent(id, "quests", key, ENVELOPE.formatted(id, key));
+        ev.setAttempts(attempts);
+        return ev;
+    }
+}
@@ -0,0 +1,55 @@
+package com.questify.consistency;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** H2 cannot show concurrent {@code skip locked} claims; {@link OutboxClaimMysqlTest} covers those. */
+@DataJpaTest
+@Import(OutboxLeases.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxLeasesQueryTest {
+
+    @Autowired OutboxLeases leases;
+    @Autowired OutboxEventRepository outbox;
+
+    @AfterEach
+    void cleanup() {
+        outbox.deleteAll();
+    }
+
+    private void seed(int events) {
+        Instant base = Instant.now().minusSeconds(60);
+        for (int i = 0; i < events; i++) {
+            var ev = OutboxEvent.newEvent("e" + i, "quests", "k", "{}");
+            ev.setCreatedAt(base.plusMillis(i));
+            ev.setNextAttemptAt(base.plusMillis(i));
+            outbox.saveAndFlush(ev);
+        }
+    }
+
+    private static List<String> ids(List<OutboxEvent> events) {
+        return events.stream().map(OutboxEvent::getId).toList();
+    }
+
+    @Test
+    void leased_rows_are_not_claimed_again_after_commit() {
+        seed(4);
+
+        var first = leases.claim("pod-a", 2, Duration.ofSeconds(60));
+        var second = leases.claim("pod-b", 10, Duration.ofSeconds(60));
+
+        assertThat(ids(first)).containsExactly("e0", "e1");
+        assertThat(ids(second)).containsExactly("e2", "e3");
+    }
+}
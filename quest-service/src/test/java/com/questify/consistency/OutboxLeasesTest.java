@@ -0,0 +1,49 @@
+package com.questify.consistency;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxLeasesTest {
+
+    @Mock OutboxEventRepository outbox;
+
+    @InjectMocks OutboxLeases leases;
+
+    @Test
+    void claim_leases_locked_rows_and_returns_them_oldest_first() {
+        var older = OutboxEvent.newEvent("e1", "quests", "1", "{}");
+        var newer = OutboxEvent.newEvent("e2", "quests", "1", "{}");
+        newer.setCreatedAt(older.getCreatedAt().plusMillis(5));
+        when(outbox.lockClaimable(any(), eq(2))).thenReturn(List.of("e2", "e1"));
+        when(outbox.findAllById(List.of("e2", "e1"))).thenReturn(List.of(newer, older));
+
+        var before = Instant.now();
+        var claimed = leases.claim("pod-1", 2, Duration.ofSeconds(60));
+
+        assertThat(claimed).containsExactly(older, newer);
+        verify(outbox).lease(eq(List.of("e2", "e1")), eq("pod-1"),
+                argThat(until -> !until.isBefore(before.plusSeconds(60))));
+    }
+
+    @Test
+    void claim_with_nothing_due_issues_no_update() {
+        when(outbox.lockClaimable(any(), anyInt())).thenReturn(List.of());
+
+        assertThat(leases.claim("pod-1", 50, Duration.ofSeconds(60))).isEmpty();
+
+        verify(outbox, never()).lease(any(), any(), any());
+        verify(outbox, never()).findAllById(any());
+    }
+}
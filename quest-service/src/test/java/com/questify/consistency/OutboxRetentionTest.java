@@ -0,0 +1,66 @@
+package com.questify.consistency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRetentionTest {
+
+    @Mock OutboxEventRepository outbox;
+    @Mock ObjectProvider<OutboxArchiver> archiverProvider;
+    @Mock OutboxArchiver archiver;
+
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void deletes_locked_chunk_without_archiving_by_default() throws Exception {
+        var retention = new OutboxRetention(outbox, archiverProvider, registry, false);
+        var cutoff = Instant.now();
+        when(outbox.lockSentBefore(cutoff, 2)).thenReturn(List.of("e1", "e2"));
+        when(outbox.deleteByIds(List.of("e1", "e2"))).thenReturn(2);
+
+        assertThat(retention.purgeChunk(cutoff, 2)).isEqualTo(2);
+
+        verifyNoInteractions(archiverProvider);
+        assertThat(registry.get("outbox_retention_rows").tag("action", "deleted").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void keeps_rows_when_archiving_fails() throws Exception {
+        var retention = new OutboxRetention(outbox, archiverProvider, registry, true);
+        var sent = OutboxEvent.newEvent("e1", "quests", "1", "{}");
+        sent.setSentAt(Instant.now());
+        when(outbox.lockSentBefore(any(), anyInt())).thenReturn(List.of("e1"));
+        when(outbox.findAllById(List.of("e1"))).thenReturn(List.of(sent));
+        when(archiverProvider.getIfAvailable()).thenReturn(archiver);
+        doThrow(new IOException("bucket unavailable")).when(archiver).archive(List.of(sent));
+
+        assertThatThrownBy(() -> retention.purgeChunk(Instant.now(), 100)).isInstanceOf(IOException.class);
+
+        verify(outbox, never()).deleteByIds(any());
+    }
+
+    @Test
+    void nothing_expired_is_a_no_op() throws Exception {
+        var retention = new OutboxRetention(outbox, archiverProvider, registry, true);
+        when(outbox.lockSentBefore(any(), anyInt())).thenReturn(List.of());
+
+        assertThat(retention.purgeChunk(Instant.now(), 100)).isZero();
+
+        verify(outbox, never()).deleteByIds(any());
+        verifyNoInteractions(archiverProvider);
+    }
+}
@@ -0,0 +1,99 @@
+package com.questify.consistency;
+
+import com.questify.kafka.EventEnvelope;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class ProcessedEventServiceTest {
+
+    JdbcTemplate jdbc;
+    ProcessedEventService service;
+
+    @BeforeEach
+    void setup() {
+        var ds = new DriverManagerDataSource(
+                "jdbc:h2:mem:processed-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbc = new JdbcTemplate(ds);
+        jdbc.execute("""
+                create table processed_event (
+                  consumer_group varchar(200) not null,
+                  event_id varchar(36) not null,
+                  processed_at timestamp not null,
+                  primary key (consumer_group, event_id)
+                )""");
+        service = new ProcessedEventService(mock(ProcessedEventRepository.class), jdbc, new RecentEventFilter(true, 1_000, 0.01));
+    }
+
+    @Test
+    void batch_returns_only_unseen_events_in_order_and_records_them() {
+        jdbc.update("insert into processed_event values ('cg', 'e2', current_timestamp)");
+        var e1 = env("e1");
+        var e2 = env("e2");
+        var e3 = env("e3");
+        var noId = env(null);
+
+        var fresh = service.filterUnprocessed("cg", List.of(e3, e1, e2, noId, e1));
+
+        assertThat(fresh).containsExactly(e3, e1, noId);
+        assertThat(jdbc.queryForList("select event_id from processed_event where consumer_group = 'cg' order by event_id", String.class))
+                .containsExactly("e1", "e2", "e3");
+    }
+
+    @Test
+    void redelivered_poll_is_fully_filtered_and_groups_are_independent() {
+        var poll = new ArrayList<EventEnvelope>();
+        for (int i = 0; i < 20; i++) poll.add(env("e" + i));
+
+        assertThat(service.filterUnprocessed("cg", poll)).hasSize(20);
+        assertThat(service.filterUnprocessed("cg", poll)).isEmpty();
+        assertThat(service.filterUnprocessed("other", poll)).hasSize(20);
+    }
+
+    @Test
+    void duplicate_unknown_to_the_filter_is_still_caught_by_the_table() {
+        jdbc.update("insert into processed_event values ('cg', 'e1', timestamp '2025-01-01 00:00:00')");
+        var e1 = env("e1");
+        var e2 = env("e2");
+
+        assertThat(service.filterUnprocessed("cg", List.of(e1, e2))).containsExactly(e2);
+        assertThat(jdbc.queryForObject("select count(*) from processed_event", Integer.class)).isEqualTo(2);
+    }
+
+    @Test
+    void filter_reports_only_the_ids_it_may_have_recorded() {
+        var filter = new RecentEventFilter(true, 100, 0.01);
+        assertThat(filter.possiblySeen("cg", List.of("a"))).isEmpty();
+
+        filter.addAll("cg", List.of("a"));
+
+        assertThat(filter.possiblySeen("cg", List.of("b", "a", "c"))).containsExactly("a");
+        assertThat(filter.possiblySeen("other", List.of("a"))).isEmpty();
+        assertThat(new RecentEventFilter(false, 100, 0.01).possiblySeen("cg", List.of("b", "a"))).containsExactly("b", "a");
+    }
+
+    @Test
+    void poll_mixing_a_recent_duplicate_with_new_ids_keeps_only_the_new_ones() {
+        var e1 = env("e1");
+        assertThat(service.filterUnprocessed("cg", List.of(e1))).containsExactly(e1);
+
+        var e2 = env("e2");
+        var e3 = env("e3");
+        assertThat(service.filterUnprocessed("cg", List.of(e2, e1, e3))).containsExactly(e2, e3);
+        assertThat(jdbc.queryForObject("select count(*) from processed_event", Integer.class)).isEqualTo(3);
+    }
+
+    private static EventEnvelope<Map<String, Object>> env(String id) {
+        return new EventEnvelope<>(id, "SubmissionReviewed", 1, Instant.now(), "submission-service", null, "1", Map.of());
+    }
+}
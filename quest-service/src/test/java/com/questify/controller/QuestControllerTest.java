@@ -1,12 +1,18 @@
 package com.questify.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.questify.cache.QuestSnapshot;
 import com.questify.config.JwtAuth;
 import com.questify.domain.*;
+import com.questify.dto.ParticipantResponse;
+import com.questify.dto.QuestCursor;
 import com.questify.dto.QuestDtos;
+import com.questify.dto.QuestSummaryRes;
 import com.questify.repository.QuestParticipantRepository;
+import com.questify.search.QuestSearchService;
 import com.questify.service.CompletionService;
 import com.questify.service.QuestService;
+import com.questify.service.QuestSummaryService;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -68,6 +74,8 @@ class QuestControllerTest {
     @MockitoBean QuestService service;
     @MockitoBean QuestParticipantRepository participantRepo;
     @MockitoBean CompletionService completionService;
+    @MockitoBean QuestSearchService searchService;
+    @MockitoBean QuestSummaryService summaryService;
     @MockitoBean JwtAuth jwt;
 
     // keep this if your app has oauth2-resource-server on the classpath
@@ -135,7 +143,7 @@ class QuestControllerTest {
         // avoid null Page returns => controller mapping NPE
         when(service.discoverActive(any(Pageable.class))).thenReturn(new PageImpl<>(List.of()));
         when(service.listByStatus(any(), any(Pageable.class))).thenReturn(new PageImpl<>(List.of()));
-        when(service.searchPublic(anyString(), any(Pageable.class))).thenReturn(new PageImpl<>(List.of()));
+        when(searchService.search(anyString(), any(Pageable.class))).thenReturn(new PageImpl<>(List.of()));
         when(service.mine(anyString(), any(Pageable.class))).thenReturn(new PageImpl<>(List.of()));
         when(service.mineByStatus(anyString(), any(), any(Pageable.class))).thenReturn(new PageImpl<>(List.of()));
         when(service.mineOrParticipating(anyString(), any(Pageable.class))).thenReturn(new PageImpl<>(List.of()));
@@ -215,8 +223,7 @@ class QuestControllerTest {
     @WithCud(id = 10)
     void mineOrParticipatingSummary_200() throws Exception {
         when(jwt.userId(any())).thenReturn("u10");
-        when(service.countMineOrParticipatingFiltered("u10", null)).thenReturn(5L);
-        when(completionService.countCompletedInMineOrParticipatingFiltered("u10", null)).thenReturn(2L);
+        when(summaryService.summary("u10", null)).thenReturn(new QuestSummaryRes(5L, 2L));
 
         mvc.perform(get("/quests/mine-or-participating/summary")
                         .accept(MediaType.APPLICATION_JSON))
@@ -351,7 +358,8 @@ class QuestControllerTest {
 
     @Test
     void participants_empty_page_200() throws Exception {
-        when(participantRepo.findByQuest_Id(7L)).thenReturn(List.of());
+        when(participantRepo.findPageByQuestId(eq(7L), any(Pageable.class)))
+                .thenAnswer(inv -> new PageImpl<>(List.of(), inv.<Pageable>getArgument(1), 0));
 
         mvc.perform(get("/quests/7/participants").accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
@@ -362,6 +370,22 @@ class QuestControllerTest {
                 .andExpect(jsonPath("$.page.number").value(0));
     }
 
+    @Test
+    void participants_scroll_returns_next_cursor() throws Exception {
+        var rows = List.of(
+                new ParticipantResponse(11L, "u1", Instant.parse("2025-01-01T00:00:00Z")),
+                new ParticipantResponse(12L, "u2", Instant.parse("2025-01-02T00:00:00Z")));
+        when(participantRepo.findByQuestIdAfter(eq(7L), eq(10L), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(rows, PageRequest.of(0, 2), true));
+
+        mvc.perform(get("/quests/7/participants/scroll").param("after", "10").param("size", "2")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.nextAfter").value(12));
+    }
+
     @Test
     void list_noStatus_calls_discoverActive() throws Exception {
         var q = quest(1L, "owner", QuestStatus.ACTIVE);
@@ -395,7 +419,7 @@ class QuestControllerTest {
     @WithCud(id = 10)
     void get_by_id_200_authenticated_path_calls_completed() throws Exception {
         when(jwt.userId(any())).thenReturn("u10");
-        when(service.get(3L)).thenReturn(quest(3L, "x", QuestStatus.ACTIVE));
+        when(service.getCached(3L)).thenReturn(QuestSnapshot.of(quest(3L, "x", QuestStatus.ACTIVE)));
         when(completionService.isCompleted(3L, "u10")).thenReturn(true);
 
         mvc.perform(get("/quests/3").accept(MediaType.APPLICATION_JSON))
@@ -418,7 +442,7 @@ class QuestControllerTest {
     @Test
     void search_returns_page() throws Exception {
         var q = quest(12L, "o", QuestStatus.ACTIVE);
-        when(service.searchPublic(eq("Quest"), any(Pageable.class))).thenReturn(new PageImpl<>(List.of(q)));
+        when(searchService.search(eq("Quest"), any(Pageable.class))).thenReturn(new PageImpl<>(List.of(q)));
 
         mvc.perform(get("/quests/search").param("q", "Quest").accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
@@ -441,6 +465,70 @@ class QuestControllerTest {
         verify(service, never()).mineOrParticipatingWithStatus(anyString(), any(), any(Pageable.class));
     }
 
+    @Test
+    @WithCud(id = 10)
+    void mine_uses_stored_counts_and_bulk_completion_lookup() throws Exception {
+        when(jwt.userId(any())).thenReturn("u10");
+        var q1 = quest(40L, "u10", QuestStatus.ACTIVE);
+        q1.setParticipantCount(4);
+        var q2 = quest(41L, "u10", QuestStatus.ACTIVE);
+        when(service.mine(eq("u10"), any(Pageable.class))).thenReturn(new PageImpl<>(List.of(q1, q2)));
+        when(completionService.completedQuestIds(List.of(40L, 41L), "u10")).thenReturn(java.util.Set.of(41L));
+
+        mvc.perform(get("/quests/mine").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].participantsCount").value(4))
+                .andExpect(jsonPath("$.content[0].completedByCurrentUser").value(false))
+                .andExpect(jsonPath("$.content[0].verificationPolicy").doesNotExist())
+                .andExpect(jsonPath("$.content[1].participantsCount").value(0))
+                .andExpect(jsonPath("$.content[1].completedByCurrentUser").value(true));
+
+        verify(service, never()).participantsCount(anyLong());
+        verify(completionService, never()).isCompleted(anyLong(), anyString());
+    }
+
+    @Test
+    void discoverScroll_returns_next_cursor_from_last_item() throws Exception {
+        var q1 = quest(21L, "o", QuestStatus.ACTIVE);
+        q1.setCreatedAt(Instant.parse("2025-02-02T00:00:00Z"));
+        var q2 = quest(20L, "o", QuestStatus.ACTIVE);
+        q2.setCreatedAt(Instant.parse("2025-02-01T00:00:00Z"));
+        when(service.discoverActiveAfter(eq(QuestCursor.start()), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(q1, q2), PageRequest.of(0, 2), true));
+
+        mvc.perform(get("/quests/discover/scroll").param("size", "2").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.nextCursor").value(QuestCursor.after(q2).encode()));
+
+        verify(service, never()).discoverActive(any(Pageable.class));
+    }
+
+    @Test
+    void discoverScroll_400_on_invalid_cursor() throws Exception {
+        mvc.perform(get("/quests/discover/scroll").param("cursor", "%%%").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithCud(id = 10)
+    void mineOrParticipatingScroll_last_slice_has_no_cursor() throws Exception {
+        when(jwt.userId(any())).thenReturn("u10");
+        var cursor = new QuestCursor(Instant.parse("2025-02-01T00:00:00Z"), 20L);
+        when(service.mineOrParticipatingAfter(eq("u10"), eq(true), eq(cursor), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(quest(5L, "u10", QuestStatus.ARCHIVED)), PageRequest.of(0, 10), false));
+
+        mvc.perform(get("/quests/mine-or-participating/scroll")
+                        .param("cursor", cursor.encode())
+                        .param("archived", "true")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(5))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
     /* =========================================================================================
      * UNHAPPY / AUTHZ
      * ========================================================================================= */
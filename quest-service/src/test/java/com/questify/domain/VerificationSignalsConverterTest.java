@@ -0,0 +1,48 @@
+package com.questify.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerificationSignalsConverterTest {
+
+    private final VerificationSignalsConverter converter = new VerificationSignalsConverter();
+
+    @Test
+    void round_trips_all_three_lists() {
+        var signals = new VerificationSignals(
+                List.of("worksheet", "worked solution"),
+                List.of("date visible"),
+                List.of("game hud", "unrelated product"));
+
+        var json = converter.convertToDatabaseColumn(signals);
+
+        assertThat(converter.convertToEntityAttribute(json)).isEqualTo(signals);
+    }
+
+    @Test
+    void null_column_reads_as_empty_policy() {
+        var signals = converter.convertToEntityAttribute(null);
+
+        assertThat(signals).isEqualTo(VerificationSignals.empty());
+        assertThat(signals.required()).isEmpty();
+    }
+
+    @Test
+    void empty_policy_is_stored_as_null_so_unmigrated_rows_stay_unmigrated() {
+        assertThat(converter.convertToDatabaseColumn(VerificationSignals.empty())).isNull();
+        assertThat(converter.convertToDatabaseColumn(converter.convertToEntityAttribute(null))).isNull();
+        assertThat(VerificationSignalsConverter.toJson(VerificationSignals.empty())).isNotNull();
+    }
+
+    @Test
+    void missing_keys_read_as_empty_lists() {
+        var signals = converter.convertToEntityAttribute("{\"required\":[\"a1\",\"b2\"]}");
+
+        assertThat(signals.required()).containsExactly("a1", "b2");
+        assertThat(signals.optional()).isEmpty();
+        assertThat(signals.disqualifiers()).isEmpty();
+    }
+}
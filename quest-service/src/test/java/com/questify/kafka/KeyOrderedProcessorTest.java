@@ -0,0 +1,73 @@
+package com.questify.kafka;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeyOrderedProcessorTest {
+
+    record Item(String key, int seq) {}
+
+    @Test
+    void sequential_by_default_hands_over_the_whole_poll() {
+        var items = List.of(new Item("a", 1), new Item("b", 2));
+        var calls = new ArrayList<List<Item>>();
+
+        new KeyOrderedProcessor(1).process(items, Item::key, calls::add);
+
+        assertThat(calls).containsExactly(items);
+    }
+
+    @Test
+    void keeps_order_within_a_key_and_runs_keys_concurrently() throws Exception {
+        var items = new ArrayList<Item>();
+        for (int i = 0; i < 30; i++) items.add(new Item("k" + (i % 3), i));
+        var seen = new ConcurrentHashMap<String, List<Integer>>();
+        var allStarted = new CountDownLatch(3);
+        var active = new AtomicInteger();
+        var maxActive = new AtomicInteger();
+
+        new KeyOrderedProcessor(3).process(items, Item::key, group -> {
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            allStarted.countDown();
+            try {
+                assertThat(allStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            for (var item : group) {
+                seen.computeIfAbsent(item.key(), k -> Collections.synchronizedList(new ArrayList<>())).add(item.seq());
+            }
+            active.decrementAndGet();
+        });
+
+        assertThat(maxActive.get()).isEqualTo(3);
+        assertThat(seen).hasSize(3);
+        for (Map.Entry<String, List<Integer>> e : seen.entrySet()) {
+            assertThat(e.getValue()).hasSize(10).isSorted();
+        }
+    }
+
+    @Test
+    void failure_in_one_group_is_rethrown_after_the_others_finish() {
+        var items = List.of(new Item("a", 1), new Item("b", 2), new Item("c", 3));
+        var done = Collections.synchronizedList(new ArrayList<String>());
+
+        assertThatThrownBy(() -> new KeyOrderedProcessor(4).process(items, Item::key, group -> {
+            if (group.getFirst().key().equals("b")) throw new IllegalArgumentException("bad b");
+            done.add(group.getFirst().key());
+        })).isInstanceOf(IllegalArgumentException.class).hasMessage("bad b");
+
+        assertThat(done).containsExactlyInAnyOrder("a", "c");
+    }
+}
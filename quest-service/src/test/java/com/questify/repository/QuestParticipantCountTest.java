@@ -0,0 +1,42 @@
+package com.questify.repository;
+
+import com.questify.domain.Quest;
+import com.questify.domain.QuestStatus;
+import com.questify.domain.QuestVisibility;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class QuestParticipantCountTest {
+
+    @Autowired QuestRepository quests;
+    @Autowired EntityManager em;
+
+    @Test
+    void saving_a_stale_entity_keeps_the_counter_written_by_increment() {
+        var id = quests.saveAndFlush(Quest.builder()
+                .title("Morning run")
+                .description("Run five kilometres before breakfast")
+                .createdByUserId("owner")
+                .status(QuestStatus.ACTIVE)
+                .visibility(QuestVisibility.PUBLIC)
+                .build()).getId();
+        em.clear();
+
+        var stale = quests.findById(id).orElseThrow();
+        assertThat(stale.getParticipantCount()).isZero();
+
+        quests.incrementParticipantCount(id);
+        stale.setTitle("Evening run");
+        quests.saveAndFlush(stale);
+        em.clear();
+
+        var reloaded = quests.findById(id).orElseThrow();
+        assertThat(reloaded.getTitle()).isEqualTo("Evening run");
+        assertThat(reloaded.getParticipantCount()).isEqualTo(1);
+    }
+}
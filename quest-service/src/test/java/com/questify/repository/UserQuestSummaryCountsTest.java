@@ -0,0 +1,48 @@
+package com.questify.repository;
+
+import com.questify.domain.MembershipRole;
+import com.questify.domain.Quest;
+import com.questify.domain.QuestStatus;
+import com.questify.domain.QuestVisibility;
+import com.questify.domain.UserQuestMembership;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class UserQuestSummaryCountsTest {
+
+    @Autowired QuestRepository quests;
+    @Autowired UserQuestMembershipRepository memberships;
+    @Autowired UserQuestSummaryRepository summaries;
+
+    private void member(String userId, QuestStatus status) {
+        var quest = quests.saveAndFlush(Quest.builder()
+                .title("Quest")
+                .description("A quest to count")
+                .createdByUserId("owner")
+                .status(status)
+                .visibility(QuestVisibility.PUBLIC)
+                .build());
+        memberships.saveAndFlush(UserQuestMembership.of(quest, userId, MembershipRole.PARTICIPANT));
+    }
+
+    @Test
+    void counts_a_user_without_a_row_from_the_projection() {
+        member("u1", QuestStatus.ACTIVE);
+        member("u1", QuestStatus.ACTIVE);
+        member("u1", QuestStatus.ARCHIVED);
+        member("u2", QuestStatus.ACTIVE);
+
+        var counts = summaries.countFromMembership("u1");
+
+        assertThat(counts.getTotal()).isEqualTo(3);
+        assertThat(counts.getActive()).isEqualTo(2);
+        assertThat(counts.getArchived()).isEqualTo(1);
+        assertThat(counts.getCompleted()).isZero();
+        assertThat(counts.getCompletedArchived()).isZero();
+        assertThat(summaries.findById("u1")).isEmpty();
+    }
+}
@@ -0,0 +1,110 @@
+package com.questify.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QuestSearchIndexTest {
+
+    private static final Instant T0 = Instant.parse("2025-01-01T00:00:00Z");
+
+    private QuestSearchIndex index() {
+        var index = new QuestSearchIndex(64);
+        index.upsert(1L, "Morning run", "Run 5km before breakfast", T0);
+        index.upsert(2L, "Read daily", "Read twenty pages and go for a run", T0.plusSeconds(60));
+        index.upsert(3L, "Running club", "Join the weekend running group", T0.plusSeconds(120));
+        return index;
+    }
+
+    @Test
+    void title_hits_rank_above_description_hits() {
+        var hits = index().search("run", 0, 10);
+
+        assertThat(hits.total()).isEqualTo(3);
+        assertThat(hits.questIds()).containsExactly(1L, 3L, 2L);
+    }
+
+    @Test
+    void prefix_matches_partial_last_word() {
+        var hits = index().search("runn", 0, 10);
+
+        assertThat(hits.questIds()).containsExactly(3L);
+    }
+
+    @Test
+    void quest_matching_several_expansions_counts_once_with_its_best_score() {
+        var index = index();
+        index.upsert(4L, "Runner", "running runs", T0.plusSeconds(180));
+
+        var hits = index.search("run", 0, 10);
+
+        assertThat(hits.total()).isEqualTo(4);
+        assertThat(hits.questIds()).containsExactly(1L, 4L, 3L, 2L);
+    }
+
+    @Test
+    void all_terms_must_match() {
+        assertThat(index().search("run breakfast", 0, 10).questIds()).containsExactly(1L);
+        assertThat(index().search("run swimming", 0, 10).total()).isZero();
+    }
+
+    @Test
+    void pages_by_offset_and_reports_total() {
+        var hits = index().search("run", 1, 1);
+
+        assertThat(hits.total()).isEqualTo(3);
+        assertThat(hits.questIds()).containsExactly(3L);
+    }
+
+    @Test
+    void upsert_replaces_previous_terms_and_remove_drops_quest() {
+        var index = index();
+        index.upsert(1L, "Evening swim", "Pool laps", T0);
+
+        assertThat(index.search("morning", 0, 10).total()).isZero();
+        assertThat(index.search("swim", 0, 10).questIds()).containsExactly(1L);
+
+        index.remove(1L);
+        assertThat(index.search("swim", 0, 10).total()).isZero();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void compaction_renumbers_ordinals_so_repeated_edits_do_not_grow_the_index() {
+        var index = index();
+        for (int i = 0; i < 5000; i++) {
+            index.upsert(2L, "Read daily " + i, "Read twenty pages and go for a run", T0.plusSeconds(60));
+        }
+
+        assertThat(index.ordinalCapacity()).isLessThan(1030);
+        assertThat(index.search("run", 0, 10).questIds()).containsExactly(1L, 3L, 2L);
+        assertThat(index.search("daily 4999", 0, 10).questIds()).containsExactly(2L);
+        assertThat(index.search("daily 17", 0, 10).total()).isZero();
+
+        index.upsert(4L, "Run streak", "", T0.plusSeconds(180));
+        assertThat(index.search("run", 0, 10).questIds()).containsExactly(4L, 1L, 3L, 2L);
+    }
+
+    @Test
+    void prefix_with_too_many_expansions_is_flagged_instead_of_cut_short() {
+        var index = index();
+        for (int i = 0; i <= QuestSearchIndex.MAX_PREFIX_EXPANSIONS; i++) {
+            index.upsert(100L + i, "Runner" + i, "", T0);
+        }
+
+        var hits = index.search("ru", 0, 10);
+        assertThat(hits.truncated()).isTrue();
+        assertThat(hits.questIds()).isEmpty();
+
+        assertThat(index.search("runner1", 0, 10).truncated()).isFalse();
+    }
+
+    @Test
+    void short_or_empty_queries_are_not_searchable() {
+        assertThat(QuestSearchIndex.searchable("a")).isFalse();
+        assertThat(QuestSearchIndex.searchable("  ")).isFalse();
+        assertThat(QuestSearchIndex.searchable("go")).isTrue();
+    }
+}
@@ -0,0 +1,114 @@
+package com.questify.search;
+
+import com.questify.domain.Quest;
+import com.questify.domain.QuestStatus;
+import com.questify.domain.QuestVisibility;
+import com.questify.repository.QuestRepository;
+import com.questify.repository.QuestRepository.SearchDocumentProjection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QuestSearchServiceTest {
+
+    private static final Instant T0 = Instant.parse("2025-01-01T00:00:00Z");
+
+    @Mock QuestRepository quests;
+
+    QuestSearchService service;
+    List<SearchDocumentProjection> docs = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        service = new QuestSearchService(quests, 64);
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "warmupChunkSize", 1000);
+        docs.add(doc(1L, "Morning run", T0));
+        docs.add(doc(2L, "Evening run", T0.plusSeconds(60)));
+    }
+
+    private void warmUp() {
+        when(quests.findSearchDocuments(eq(0L), any(Pageable.class))).thenReturn(docs);
+        when(quests.findSearchDocuments(eq(docs.get(docs.size() - 1).getId()), any(Pageable.class))).thenReturn(List.of());
+        service.rebuild();
+    }
+
+    private static SearchDocumentProjection doc(long id, String title, Instant createdAt) {
+        var d = mock(SearchDocumentProjection.class);
+        lenient().when(d.getId()).thenReturn(id);
+        lenient().when(d.getTitle()).thenReturn(title);
+        lenient().when(d.getDescription()).thenReturn("");
+        lenient().when(d.getCreatedAt()).thenReturn(createdAt);
+        return d;
+    }
+
+    private static Quest quest(long id, QuestStatus status, QuestVisibility visibility) {
+        return Quest.builder().id(id).title("Q" + id).description("D" + id)
+                .status(status).visibility(visibility).createdAt(T0).build();
+    }
+
+    @Test
+    void hydration_drops_quests_that_are_no_longer_public_and_active() {
+        warmUp();
+        when(quests.findAllById(List.of(2L, 1L))).thenReturn(List.of(
+                quest(1L, QuestStatus.ACTIVE, QuestVisibility.PUBLIC),
+                quest(2L, QuestStatus.ACTIVE, QuestVisibility.PRIVATE)));
+
+        var page = service.search("run", PageRequest.of(0, 10));
+
+        assertThat(page.getContent()).extracting(Quest::getId).containsExactly(1L);
+        assertThat(page.getTotalElements()).isEqualTo(1);
+
+        when(quests.findAllById(List.of(1L))).thenReturn(List.of(quest(1L, QuestStatus.ACTIVE, QuestVisibility.PUBLIC)));
+        assertThat(service.search("run", PageRequest.of(0, 10)).getContent()).extracting(Quest::getId).containsExactly(1L);
+    }
+
+    @Test
+    void truncated_prefix_expansion_falls_back_to_sql() {
+        for (int i = 0; i <= QuestSearchIndex.MAX_PREFIX_EXPANSIONS; i++) {
+            docs.add(doc(10L + i, "Runner" + i, T0));
+        }
+        warmUp();
+        var pageable = PageRequest.of(0, 10);
+        var sql = new PageImpl<>(List.of(quest(1L, QuestStatus.ACTIVE, QuestVisibility.PUBLIC)));
+        when(quests.searchPublic("ru", pageable)).thenReturn(sql);
+
+        assertThat(service.search("ru", pageable)).isSameAs(sql);
+        verify(quests, never()).findAllById(any());
+    }
+
+    @Test
+    void refresh_during_rebuild_is_replayed_after_the_stale_chunk() {
+        var renamed = Quest.builder().id(1L).title("Evening swim").description("")
+                .status(QuestStatus.ACTIVE).visibility(QuestVisibility.PUBLIC).createdAt(T0).build();
+        when(quests.findById(1L)).thenReturn(Optional.of(renamed));
+        when(quests.findSearchDocuments(eq(0L), any(Pageable.class))).thenAnswer(inv -> {
+            service.refresh(1L);
+            return docs;
+        });
+        when(quests.findSearchDocuments(eq(2L), any(Pageable.class))).thenReturn(List.of());
+
+        service.rebuild();
+
+        when(quests.findAllById(List.of(1L))).thenReturn(List.of(renamed));
+        assertThat(service.search("swim", PageRequest.of(0, 10)).getContent()).extracting(Quest::getId).containsExactly(1L);
+        assertThat(service.search("morning", PageRequest.of(0, 10)).getTotalElements()).isZero();
+        verify(quests, times(1)).findById(1L);
+    }
+}
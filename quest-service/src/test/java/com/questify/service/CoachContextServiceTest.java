@@ -5,6 +5,7 @@ import com.questify.domain.QuestStatus;
 import com.questify.domain.QuestVisibility;
 import com.questify.repository.QuestCompletionRepository;
 import com.questify.repository.QuestRepository;
+import com.questify.repository.UserQuestMembershipRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -20,6 +21,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,6 +29,8 @@ class CoachContextServiceTest {
 
     @Mock QuestRepository quests;
     @Mock QuestCompletionRepository completions;
+    @Mock UserQuestMembershipRepository memberships;
+    @Mock MembershipBackfill membershipBackfill;
 
     @InjectMocks CoachContextService service;
 
@@ -34,9 +38,11 @@ class CoachContextServiceTest {
     void getCoachContext_limits_to_minimal_fields_and_includes_recent_history() {
         var q1 = quest(1L, "Evening walk");
         var q2 = quest(2L, "Stretch for 10 minutes");
-        when(quests.findMyOrParticipatingWithStatus(eq("u1"), eq(QuestStatus.ACTIVE), any()))
-                .thenReturn(new PageImpl<>(List.of(q1, q2)));
-        when(quests.countMyOrParticipatingWithStatus("u1", QuestStatus.ACTIVE)).thenReturn(2L);
+        when(membershipBackfill.isComplete()).thenReturn(true);
+        when(memberships.findQuestIdsWithStatus(eq("u1"), eq(QuestStatus.ACTIVE), any()))
+                .thenReturn(new PageImpl<>(List.of(1L, 2L)));
+        when(quests.findAllById(List.of(1L, 2L))).thenReturn(List.of(q2, q1));
+        when(memberships.countByUserIdAndStatus("u1", QuestStatus.ACTIVE)).thenReturn(2L);
         when(completions.countMyCompletedFiltered("u1", null)).thenReturn(7L);
         when(completions.findRecentCoachCompletions(eq("u1"), any()))
                 .thenReturn(List.of(
@@ -55,9 +61,10 @@ class CoachContextServiceTest {
 
     @Test
     void getCoachContext_omits_recent_history_when_disabled() {
-        when(quests.findMyOrParticipatingWithStatus(eq("u1"), eq(QuestStatus.ACTIVE), any()))
-                .thenReturn(new PageImpl<>(List.of()));
-        when(quests.countMyOrParticipatingWithStatus("u1", QuestStatus.ACTIVE)).thenReturn(0L);
+        when(membershipBackfill.isComplete()).thenReturn(true);
+        when(memberships.findQuestIdsWithStatus(eq("u1"), eq(QuestStatus.ACTIVE), any()))
+                .thenReturn(new PageImpl<>(List.<Long>of()));
+        when(memberships.countByUserIdAndStatus("u1", QuestStatus.ACTIVE)).thenReturn(0L);
         when(completions.countMyCompletedFiltered("u1", null)).thenReturn(0L);
 
         var res = service.getCoachContext("u1", false);
@@ -66,6 +73,22 @@ class CoachContextServiceTest {
         verify(completions, never()).findRecentCoachCompletions(eq("u1"), any());
     }
 
+    @Test
+    void getCoachContext_reads_participants_until_the_membership_backfill_has_run() {
+        when(membershipBackfill.isComplete()).thenReturn(false);
+        when(quests.findMyOrParticipatingWithStatus(eq("u1"), eq(QuestStatus.ACTIVE), any()))
+                .thenReturn(List.of(quest(1L, "Evening walk")));
+        when(quests.countMyOrParticipatingWithStatus("u1", QuestStatus.ACTIVE)).thenReturn(1L);
+        when(completions.countMyCompletedViaParticipants("u1", null)).thenReturn(3L);
+
+        var res = service.getCoachContext("u1", false);
+
+        assertThat(res.activeQuestTitles()).containsExactly("Evening walk");
+        assertThat(res.activeQuestCount()).isEqualTo(1L);
+        assertThat(res.totalCompletedCount()).isEqualTo(3L);
+        verifyNoInteractions(memberships);
+    }
+
     private static Quest quest(Long id, String title) {
         return Quest.builder()
                 .id(id)
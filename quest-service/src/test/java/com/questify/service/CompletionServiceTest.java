@@ -12,6 +12,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -26,6 +27,7 @@ class CompletionServiceTest {
 
     @Mock QuestCompletionRepository completions;
     @Mock EventPublisher events;
+    @Mock QuestSummaryService summaries;
 
     @InjectMocks CompletionService service;
 
@@ -67,6 +69,7 @@ class CompletionServiceTest {
         assertThat(m.get("submissionId")).isEqualTo(99L);
         assertThat(m.get("submittedAt")).isEqualTo(submittedAt);
         assertThat(m.get("completedAt")).isInstanceOf(Instant.class);
+        verify(summaries).onCompletionAdded("u1", 5L);
     }
 
     @Test
@@ -108,6 +111,7 @@ class CompletionServiceTest {
         assertThat(out.getCompletedAt()).isAfterOrEqualTo(before).isBeforeOrEqualTo(after);
 
         verify(events).publish(eq(TOPIC), eq("5"), eq("QuestCompleted"), eq(1), eq("quest-service"), anyMap());
+        verify(summaries, never()).onCompletionAdded(anyString(), anyLong());
     }
 
     @Test
@@ -184,6 +188,21 @@ class CompletionServiceTest {
         assertFalse(service.isCompleted(2L, "u1"));
     }
 
+    @Test
+    void completedQuestIds_single_query_for_page() {
+        when(completions.findCompletedQuestIds("u1", List.of(1L, 2L, 3L))).thenReturn(List.of(2L));
+
+        assertThat(service.completedQuestIds(List.of(1L, 2L, 3L), "u1")).containsExactly(2L);
+        verify(completions, never()).existsByQuestIdAndUserId(anyLong(), anyString());
+    }
+
+    @Test
+    void completedQuestIds_empty_when_no_user_or_ids() {
+        assertThat(service.completedQuestIds(List.of(1L), null)).isEmpty();
+        assertThat(service.completedQuestIds(List.of(), "u1")).isEmpty();
+        verifyNoInteractions(completions);
+    }
+
     @Test
     void countForQuest_passthrough() {
         when(completions.countByQuestId(99L)).thenReturn(5L);
@@ -0,0 +1,68 @@
+package com.questify.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MembershipBackfillTest {
+
+    @Mock JdbcTemplate jdbc;
+    @Mock ApplicationEventPublisher publisher;
+    @Mock BackfillMarkers markers;
+
+    @InjectMocks MembershipBackfill backfill;
+
+    @BeforeEach
+    void setup() {
+        ReflectionTestUtils.setField(backfill, "enabled", true);
+        ReflectionTestUtils.setField(backfill, "chunkSize", 5000);
+    }
+
+    @Test
+    void later_starts_skip_the_fill_and_read_the_projection_at_once() {
+        when(markers.isDone(MembershipBackfill.MARKER)).thenReturn(true);
+
+        backfill.backfillAsync();
+
+        assertThat(backfill.isComplete()).isTrue();
+        verifyNoInteractions(jdbc, publisher);
+    }
+
+    @Test
+    void marker_is_recorded_after_dependents_have_rebuilt() {
+        when(jdbc.queryForObject("select max(id) from quests", Long.class)).thenReturn(12_000L);
+        when(jdbc.update(anyString(), anyLong(), anyLong())).thenReturn(1);
+
+        backfill.backfill();
+
+        assertThat(backfill.isComplete()).isTrue();
+        verify(jdbc, times(12)).update(anyString(), anyLong(), anyLong());
+        InOrder order = inOrder(publisher, markers);
+        order.verify(publisher).publishEvent(new MembershipBackfill.Completed(6, 3));
+        order.verify(markers).markDone(MembershipBackfill.MARKER);
+    }
+
+    @Test
+    void failed_fill_keeps_the_fallback_and_leaves_the_marker_unset() {
+        when(jdbc.queryForObject("select max(id) from quests", Long.class))
+                .thenThrow(new DataAccessResourceFailureException("connection reset"));
+
+        backfill.backfill();
+
+        assertThat(backfill.isComplete()).isFalse();
+        verifyNoInteractions(publisher, markers);
+    }
+}
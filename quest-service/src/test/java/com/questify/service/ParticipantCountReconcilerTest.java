@@ -0,0 +1,103 @@
+package com.questify.service;
+
+import com.questify.repository.QuestParticipantRepository;
+import com.questify.repository.QuestParticipantRepository.QuestParticipantCountProjection;
+import com.questify.repository.QuestRepository;
+import com.questify.repository.QuestRepository.ParticipantCounterProjection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ParticipantCountReconcilerTest {
+
+    @Mock QuestRepository quests;
+    @Mock QuestParticipantRepository participants;
+    @Mock BackfillMarkers markers;
+    @Spy TransactionOperations tx = TransactionOperations.withoutTransaction();
+
+    @InjectMocks ParticipantCountReconciler reconciler;
+
+    @BeforeEach
+    void setup() {
+        ReflectionTestUtils.setField(reconciler, "chunkSize", 2);
+        ReflectionTestUtils.setField(reconciler, "repairEnabled", true);
+
+        var firstChunk = List.of(counter(1L, 2), counter(2L, 0));
+        var secondChunk = List.of(counter(3L, 5));
+        var firstActual = List.of(actual(1L, 2L), actual(2L, 1L));
+
+        when(quests.findParticipantCounters(eq(0L), any(Pageable.class))).thenReturn(firstChunk);
+        when(quests.findParticipantCounters(eq(2L), any(Pageable.class))).thenReturn(secondChunk);
+        when(quests.findParticipantCounters(eq(3L), any(Pageable.class))).thenReturn(List.of());
+
+        when(participants.countByQuestIds(List.of(1L, 2L))).thenReturn(firstActual);
+        when(participants.countByQuestIds(List.of(3L)))
+                .thenReturn(List.of());
+    }
+
+    private static ParticipantCounterProjection counter(long id, int stored) {
+        var row = mock(ParticipantCounterProjection.class);
+        lenient().when(row.getId()).thenReturn(id);
+        lenient().when(row.getParticipantCount()).thenReturn(stored);
+        return row;
+    }
+
+    private static QuestParticipantCountProjection actual(long questId, long count) {
+        var row = mock(QuestParticipantCountProjection.class);
+        lenient().when(row.getQuestId()).thenReturn(questId);
+        lenient().when(row.getParticipants()).thenReturn(count);
+        return row;
+    }
+
+    @Test
+    void report_lists_quests_whose_counter_differs_from_rows() {
+        var report = reconciler.report(100);
+
+        assertThat(report.questsScanned()).isEqualTo(3);
+        assertThat(report.driftedQuests()).isEqualTo(2);
+        assertThat(report.drift()).extracting("questId").containsExactly(2L, 3L);
+        assertThat(report.drift().get(1).storedCount()).isEqualTo(5);
+        assertThat(report.drift().get(1).actualCount()).isEqualTo(0L);
+        verify(quests, never()).recomputeParticipantCounts(anyCollection());
+    }
+
+    @Test
+    void repair_recomputes_only_drifted_quests() {
+        when(quests.recomputeParticipantCounts(List.of(2L))).thenReturn(1);
+        when(quests.recomputeParticipantCounts(List.of(3L))).thenReturn(1);
+
+        var res = reconciler.repair();
+
+        assertThat(res.questsScanned()).isEqualTo(3);
+        assertThat(res.questsRepaired()).isEqualTo(2);
+        verify(quests).recomputeParticipantCounts(List.of(2L));
+        verify(quests).recomputeParticipantCounts(List.of(3L));
+        verify(tx, times(2)).execute(any());
+    }
+
+    @Test
+    void initial_fill_repairs_once_and_records_the_marker() {
+        when(markers.isDone(ParticipantCountReconciler.INITIAL_FILL)).thenReturn(false, true);
+        when(quests.recomputeParticipantCounts(anyCollection())).thenReturn(1);
+
+        reconciler.initialFill();
+        reconciler.initialFill();
+
+        verify(quests, times(2)).recomputeParticipantCounts(anyCollection());
+        verify(markers).markDone(ParticipantCountReconciler.INITIAL_FILL);
+    }
+}
@@ -1,6 +1,11 @@
 package com.questify.service;
 
+import com.questify.cache.QuestCache;
+import com.questify.cache.QuestSnapshot;
 import com.questify.domain.*;
+import com.questify.dto.QuestAccessDtos.AccessCheck;
+import com.questify.dto.QuestAccessDtos.AccessResult;
+import com.questify.dto.QuestCursor;
 import com.questify.dto.QuestDtos.CreateQuestReq;
 import com.questify.dto.QuestDtos.UpdateQuestReq;
 import com.questify.dto.QuestDtos.UpdateQuestStatusReq;
@@ -8,6 +13,7 @@ import com.questify.dto.QuestDtos.VerificationPolicyDto;
 import com.questify.kafka.EventPublisher;
 import com.questify.repository.QuestParticipantRepository;
 import com.questify.repository.QuestRepository;
+import com.questify.repository.UserQuestMembershipRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -21,6 +27,9 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.test.util.ReflectionTestUtils;
 
@@ -39,7 +48,11 @@ class QuestServiceTest {
 
     @Mock QuestRepository quests;
     @Mock QuestParticipantRepository participants;
+    @Mock UserQuestMembershipRepository memberships;
+    @Mock QuestSummaryService summaries;
+    @Mock MembershipBackfill membershipBackfill;
     @Mock EventPublisher events;
+    @Mock QuestCache cache;
 
     @InjectMocks QuestService service;
 
@@ -50,6 +63,7 @@ class QuestServiceTest {
     @BeforeEach
     void setup() {
         ReflectionTestUtils.setField(service, "questsTopic", TOPIC);
+        lenient().when(membershipBackfill.isComplete()).thenReturn(true);
 
         lenient().when(quests.save(any(Quest.class))).thenAnswer(inv -> {
             Quest q = inv.getArgument(0);
@@ -106,6 +120,9 @@ class QuestServiceTest {
         assertThat(out.getId()).isNotNull();
         assertThat(out.getStatus()).isEqualTo(QuestStatus.ACTIVE);
         assertThat(out.getCreatedByUserId()).isEqualTo("u7");
+        assertThat(out.getVerificationSignals().required()).containsExactly("worksheet", "worked solution");
+        assertThat(out.getVerificationSignals().optional()).containsExactly("date visible");
+        assertThat(out.getVerificationSignals().disqualifiers()).containsExactly("game hud", "unrelated product");
 
         verify(quests).save(argThat(q ->
                 q.getStatus() == QuestStatus.ACTIVE &&
@@ -113,6 +130,13 @@ class QuestServiceTest {
                         "u7".equals(q.getCreatedByUserId()) &&
                         "Read 20 pages".equals(q.getTitle())
         ));
+        verify(memberships).save(argThat(m ->
+                "u7".equals(m.getUserId()) &&
+                        Objects.equals(m.getQuestId(), out.getId()) &&
+                        m.getRole() == MembershipRole.OWNER &&
+                        m.getStatus() == QuestStatus.ACTIVE
+        ));
+        verify(summaries).onMembershipAdded("u7", out.getId(), QuestStatus.ACTIVE);
 
         verify(events).publish(
                 eq(TOPIC),
@@ -169,6 +193,15 @@ class QuestServiceTest {
         assertThat(q.getId()).isEqualTo(9L);
     }
 
+    @Test
+    void getCached_reads_through_cache() {
+        var snapshot = QuestSnapshot.of(quest(9L, "u1", QuestStatus.ACTIVE, QuestVisibility.PUBLIC));
+        when(cache.get(9L)).thenReturn(snapshot);
+
+        assertThat(service.getCached(9L)).isSameAs(snapshot);
+        verifyNoInteractions(quests);
+    }
+
     @Test
     void get_404() {
         when(quests.findById(71L)).thenReturn(Optional.empty());
@@ -251,6 +284,8 @@ class QuestServiceTest {
         Quest out = service.updateStatus(4L, req, "u1");
 
         assertThat(out.getStatus()).isEqualTo(QuestStatus.COMPLETED);
+        verify(memberships).updateStatus(4L, QuestStatus.COMPLETED);
+        verify(summaries).onQuestStatusChanged(4L, QuestStatus.ACTIVE, QuestStatus.COMPLETED);
 
         verify(events).publish(
                 eq(TOPIC), eq("4"),
@@ -289,6 +324,9 @@ class QuestServiceTest {
         assertThat(out.getStatus()).isEqualTo(QuestStatus.ARCHIVED);
 
         verify(quests).save(argThat(q -> q.getId() == 8L && q.getStatus() == QuestStatus.ARCHIVED));
+        verify(cache).evictAfterCommit(8L);
+        verify(memberships).updateStatus(8L, QuestStatus.ARCHIVED);
+        verify(summaries).onQuestStatusChanged(8L, QuestStatus.ACTIVE, QuestStatus.ARCHIVED);
         verify(events).publish(
                 eq(TOPIC), eq("8"),
                 eq("QuestArchived"), eq(1), eq("quest-service"),
@@ -336,13 +374,19 @@ class QuestServiceTest {
     }
 
     @Test
-    void mineOrParticipating_passthrough() {
-        Page<Quest> page = new PageImpl<>(List.of());
-        Pageable pageable = PageRequest.of(0, 10);
+    void mineOrParticipating_pages_membership_ids_and_loads_quests_in_order() {
+        Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id")));
+        var q5 = quest(5L, "u1", QuestStatus.ACTIVE, QuestVisibility.PUBLIC);
+        var q9 = quest(9L, "u2", QuestStatus.ACTIVE, QuestVisibility.PUBLIC);
+
+        when(memberships.findQuestIds("u1", PageRequest.of(0, 10)))
+                .thenReturn(new PageImpl<>(List.of(9L, 5L), PageRequest.of(0, 10), 12));
+        when(quests.findAllById(List.of(9L, 5L))).thenReturn(List.of(q5, q9));
 
-        when(quests.findMyOrParticipating(eq("u1"), eq(pageable))).thenReturn(page);
+        var out = service.mineOrParticipating("u1", pageable);
 
-        assertThat(service.mineOrParticipating("u1", pageable)).isSameAs(page);
+        assertThat(out.getContent()).extracting(Quest::getId).containsExactly(9L, 5L);
+        assertThat(out.getTotalElements()).isEqualTo(12);
     }
 
     @Test
@@ -377,23 +421,74 @@ class QuestServiceTest {
     }
 
     @Test
-    void mineOrParticipatingWithStatus_passthrough() {
-        Page<Quest> page = new PageImpl<>(List.of());
+    void mineOrParticipatingWithStatus_reads_membership_ids() {
         Pageable pageable = PageRequest.of(0, 10);
 
-        when(quests.findMyOrParticipatingWithStatus(eq("u1"), eq(QuestStatus.ARCHIVED), eq(pageable))).thenReturn(page);
+        when(memberships.findQuestIdsWithStatus("u1", QuestStatus.ARCHIVED, pageable)).thenReturn(Page.empty(pageable));
 
-        assertThat(service.mineOrParticipatingWithStatus("u1", QuestStatus.ARCHIVED, pageable)).isSameAs(page);
+        assertThat(service.mineOrParticipatingWithStatus("u1", QuestStatus.ARCHIVED, pageable)).isEmpty();
+        verify(quests, never()).findAllById(any());
     }
 
     @Test
-    void mineOrParticipatingNotStatus_passthrough() {
-        Page<Quest> page = new PageImpl<>(List.of());
+    void mineOrParticipatingNotStatus_reads_membership_ids() {
+        Pageable pageable = PageRequest.of(0, 10);
+
+        when(memberships.findQuestIdsNotStatus("u1", QuestStatus.ARCHIVED, pageable)).thenReturn(Page.empty(pageable));
+
+        assertThat(service.mineOrParticipatingNotStatus("u1", QuestStatus.ARCHIVED, pageable)).isEmpty();
+    }
+
+    @Test
+    void discoverActiveAfter_passes_cursor_position() {
+        Slice<Quest> slice = new SliceImpl<>(List.of());
         Pageable pageable = PageRequest.of(0, 10);
+        var cursor = new QuestCursor(Instant.parse("2025-03-01T00:00:00Z"), 42L);
 
-        when(quests.findMyOrParticipatingNotStatus(eq("u1"), eq(QuestStatus.ARCHIVED), eq(pageable))).thenReturn(page);
+        when(quests.findByVisibilityAndStatusBefore(QuestVisibility.PUBLIC, QuestStatus.ACTIVE,
+                cursor.createdAt(), 42L, pageable)).thenReturn(slice);
 
-        assertThat(service.mineOrParticipatingNotStatus("u1", QuestStatus.ARCHIVED, pageable)).isSameAs(page);
+        assertThat(service.discoverActiveAfter(cursor, pageable)).isSameAs(slice);
+    }
+
+    @Test
+    void mineOrParticipatingAfter_passes_filter_and_cursor() {
+        Pageable pageable = PageRequest.of(0, 10);
+        var cursor = QuestCursor.start();
+        var q3 = quest(3L, "u1", QuestStatus.ACTIVE, QuestVisibility.PUBLIC);
+
+        when(memberships.findQuestIdsBefore("u1", false, cursor.createdAt(), cursor.id(), pageable))
+                .thenReturn(new SliceImpl<>(List.of(3L), pageable, true));
+        when(quests.findAllById(List.of(3L))).thenReturn(List.of(q3));
+
+        var out = service.mineOrParticipatingAfter("u1", false, cursor, pageable);
+
+        assertThat(out.getContent()).containsExactly(q3);
+        assertThat(out.hasNext()).isTrue();
+    }
+
+    @Test
+    void mineOrParticipatingAfter_reads_owner_or_participant_quests_until_backfill_completes() {
+        Pageable pageable = PageRequest.of(0, 10);
+        var cursor = QuestCursor.start();
+        Slice<Quest> slice = new SliceImpl<>(List.of(quest(3L, "u1", QuestStatus.ARCHIVED, QuestVisibility.PUBLIC)));
+
+        when(membershipBackfill.isComplete()).thenReturn(false);
+        when(quests.findMyOrParticipatingBefore("u1", QuestStatus.ARCHIVED, null,
+                cursor.createdAt(), cursor.id(), pageable)).thenReturn(slice);
+
+        assertThat(service.mineOrParticipatingAfter("u1", true, cursor, pageable)).isSameAs(slice);
+        verifyNoInteractions(memberships);
+    }
+
+    @Test
+    void questCursor_roundtrip_and_rejects_garbage() {
+        var cursor = new QuestCursor(Instant.parse("2025-03-01T10:11:12.123456Z"), 7L);
+
+        assertThat(QuestCursor.decode(cursor.encode())).isEqualTo(cursor);
+        assertThat(QuestCursor.decode(null)).isEqualTo(QuestCursor.start());
+        assertThatThrownBy(() -> QuestCursor.decode("not-a-cursor"))
+                .isInstanceOf(IllegalArgumentException.class);
     }
 
     /* =========================================================================================
@@ -403,69 +498,95 @@ class QuestServiceTest {
     @Test
     void mineOrParticipatingFiltered_null_archived_calls_unfiltered() {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Quest> page = new PageImpl<>(List.of());
-        when(quests.findMyOrParticipating("u1", pageable)).thenReturn(page);
+        when(memberships.findQuestIds("u1", pageable)).thenReturn(Page.empty(pageable));
 
-        assertThat(service.mineOrParticipatingFiltered("u1", null, pageable)).isSameAs(page);
+        assertThat(service.mineOrParticipatingFiltered("u1", null, pageable)).isEmpty();
 
-        verify(quests).findMyOrParticipating("u1", pageable);
-        verify(quests, never()).findMyOrParticipatingWithStatus(anyString(), any(), any());
-        verify(quests, never()).findMyOrParticipatingNotStatus(anyString(), any(), any());
+        verify(memberships).findQuestIds("u1", pageable);
+        verify(memberships, never()).findQuestIdsWithStatus(anyString(), any(), any());
+        verify(memberships, never()).findQuestIdsNotStatus(anyString(), any(), any());
     }
 
     @Test
     void mineOrParticipatingFiltered_archived_true_calls_with_status_archived() {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Quest> page = new PageImpl<>(List.of());
-        when(quests.findMyOrParticipatingWithStatus("u1", QuestStatus.ARCHIVED, pageable)).thenReturn(page);
+        when(memberships.findQuestIdsWithStatus("u1", QuestStatus.ARCHIVED, pageable)).thenReturn(Page.empty(pageable));
 
-        assertThat(service.mineOrParticipatingFiltered("u1", true, pageable)).isSameAs(page);
+        assertThat(service.mineOrParticipatingFiltered("u1", true, pageable)).isEmpty();
 
-        verify(quests).findMyOrParticipatingWithStatus("u1", QuestStatus.ARCHIVED, pageable);
-        verify(quests, never()).findMyOrParticipatingNotStatus(anyString(), any(), any());
+        verify(memberships).findQuestIdsWithStatus("u1", QuestStatus.ARCHIVED, pageable);
+        verify(memberships, never()).findQuestIdsNotStatus(anyString(), any(), any());
     }
 
     @Test
     void mineOrParticipatingFiltered_archived_false_calls_not_status_archived() {
         Pageable pageable = PageRequest.of(0, 10);
+        when(memberships.findQuestIdsNotStatus("u1", QuestStatus.ARCHIVED, pageable)).thenReturn(Page.empty(pageable));
+
+        assertThat(service.mineOrParticipatingFiltered("u1", false, pageable)).isEmpty();
+
+        verify(memberships).findQuestIdsNotStatus("u1", QuestStatus.ARCHIVED, pageable);
+        verify(memberships, never()).findQuestIdsWithStatus(anyString(), any(), any());
+    }
+
+    @Test
+    void mineOrParticipatingFiltered_reads_owner_or_participant_quests_until_backfill_completes() {
+        Pageable sorted = PageRequest.of(1, 10, Sort.by("title"));
         Page<Quest> page = new PageImpl<>(List.of());
-        when(quests.findMyOrParticipatingNotStatus("u1", QuestStatus.ARCHIVED, pageable)).thenReturn(page);
 
-        assertThat(service.mineOrParticipatingFiltered("u1", false, pageable)).isSameAs(page);
+        when(membershipBackfill.isComplete()).thenReturn(false);
+        when(quests.findMyOrParticipatingFiltered("u1", null, null, PageRequest.of(1, 10))).thenReturn(page);
+        when(quests.findMyOrParticipatingFiltered("u1", null, QuestStatus.ARCHIVED, PageRequest.of(1, 10))).thenReturn(page);
+        when(quests.findMyOrParticipatingFiltered("u1", QuestStatus.ARCHIVED, null, PageRequest.of(1, 10))).thenReturn(page);
 
-        verify(quests).findMyOrParticipatingNotStatus("u1", QuestStatus.ARCHIVED, pageable);
-        verify(quests, never()).findMyOrParticipatingWithStatus(anyString(), any(), any());
+        assertThat(service.mineOrParticipatingFiltered("u1", null, sorted)).isSameAs(page);
+        assertThat(service.mineOrParticipatingFiltered("u1", false, sorted)).isSameAs(page);
+        assertThat(service.mineOrParticipatingFiltered("u1", true, sorted)).isSameAs(page);
+        verifyNoInteractions(memberships);
+    }
+
+    @Test
+    void countMineOrParticipatingFiltered_counts_owner_or_participant_quests_until_backfill_completes() {
+        when(membershipBackfill.isComplete()).thenReturn(false);
+        when(quests.countMyOrParticipatingFiltered("u1", null, null)).thenReturn(4L);
+        when(quests.countMyOrParticipatingFiltered("u1", null, QuestStatus.ARCHIVED)).thenReturn(3L);
+        when(quests.countMyOrParticipatingFiltered("u1", QuestStatus.ARCHIVED, null)).thenReturn(1L);
+
+        assertThat(service.countMineOrParticipatingFiltered("u1", null)).isEqualTo(4L);
+        assertThat(service.countMineOrParticipatingFiltered("u1", false)).isEqualTo(3L);
+        assertThat(service.countMineOrParticipatingFiltered("u1", true)).isEqualTo(1L);
+        verifyNoInteractions(memberships);
     }
 
     @Test
     void countMineOrParticipatingFiltered_null_calls_unfiltered_count() {
-        when(quests.countMyOrParticipating("u1")).thenReturn(123L);
+        when(memberships.countByUserId("u1")).thenReturn(123L);
 
         assertThat(service.countMineOrParticipatingFiltered("u1", null)).isEqualTo(123L);
 
-        verify(quests).countMyOrParticipating("u1");
-        verify(quests, never()).countMyOrParticipatingWithStatus(anyString(), any());
-        verify(quests, never()).countMyOrParticipatingNotStatus(anyString(), any());
+        verify(memberships).countByUserId("u1");
+        verify(memberships, never()).countByUserIdAndStatus(anyString(), any());
+        verify(memberships, never()).countByUserIdAndStatusNot(anyString(), any());
     }
 
     @Test
     void countMineOrParticipatingFiltered_archived_true_calls_with_status() {
-        when(quests.countMyOrParticipatingWithStatus("u1", QuestStatus.ARCHIVED)).thenReturn(9L);
+        when(memberships.countByUserIdAndStatus("u1", QuestStatus.ARCHIVED)).thenReturn(9L);
 
         assertThat(service.countMineOrParticipatingFiltered("u1", true)).isEqualTo(9L);
 
-        verify(quests).countMyOrParticipatingWithStatus("u1", QuestStatus.ARCHIVED);
-        verify(quests, never()).countMyOrParticipatingNotStatus(anyString(), any());
+        verify(memberships).countByUserIdAndStatus("u1", QuestStatus.ARCHIVED);
+        verify(memberships, never()).countByUserIdAndStatusNot(anyString(), any());
     }
 
     @Test
     void countMineOrParticipatingFiltered_archived_false_calls_not_status() {
-        when(quests.countMyOrParticipatingNotStatus("u1", QuestStatus.ARCHIVED)).thenReturn(7L);
+        when(memberships.countByUserIdAndStatusNot("u1", QuestStatus.ARCHIVED)).thenReturn(7L);
 
         assertThat(service.countMineOrParticipatingFiltered("u1", false)).isEqualTo(7L);
 
-        verify(quests).countMyOrParticipatingNotStatus("u1", QuestStatus.ARCHIVED);
-        verify(quests, never()).countMyOrParticipatingWithStatus(anyString(), any());
+        verify(memberships).countByUserIdAndStatusNot("u1", QuestStatus.ARCHIVED);
+        verify(memberships, never()).countByUserIdAndStatus(anyString(), any());
     }
 
     /* =========================================================================================
@@ -510,6 +631,12 @@ class QuestServiceTest {
                         Objects.equals(p.getQuest().getId(), 1L) &&
                         Objects.equals(p.getUserId(), "u5")
         ));
+        verify(quests).incrementParticipantCount(1L);
+        verify(cache).evictAfterCommit(1L);
+        verify(memberships).save(argThat(m ->
+                "u5".equals(m.getUserId()) && m.getQuestId() == 1L && m.getRole() == MembershipRole.PARTICIPANT
+        ));
+        verify(summaries).onMembershipAdded("u5", 1L, QuestStatus.ACTIVE);
 
         verify(events).publish(
                 eq(TOPIC), eq("1"),
@@ -521,6 +648,20 @@ class QuestServiceTest {
         );
     }
 
+    @Test
+    void join_by_owner_keeps_single_owner_membership() {
+        Quest q = quest(1L, "owner", QuestStatus.ACTIVE, QuestVisibility.PUBLIC);
+        when(quests.findById(1L)).thenReturn(Optional.of(q));
+        when(participants.findByQuest_IdAndUserId(1L, "owner")).thenReturn(Optional.empty());
+        when(memberships.existsByUserIdAndQuestId("owner", 1L)).thenReturn(true);
+
+        service.join(1L, "owner");
+
+        verify(participants).save(any());
+        verify(memberships, never()).save(any());
+        verify(summaries, never()).onMembershipAdded(anyString(), anyLong(), any());
+    }
+
     @Test
     void join_duplicate_violation_swallowed_no_event() {
         Quest q = quest(1L, "owner", QuestStatus.ACTIVE, QuestVisibility.PUBLIC);
@@ -530,6 +671,7 @@ class QuestServiceTest {
 
         assertDoesNotThrow(() -> service.join(1L, "u5"));
 
+        verify(quests, never()).incrementParticipantCount(anyLong());
         verify(events, never()).publish(anyString(), anyString(), eq("ParticipantJoined"), anyInt(), anyString(), anyMap());
     }
 
@@ -544,6 +686,7 @@ class QuestServiceTest {
         service.leave(1L, "u5");
 
         verify(participants, never()).delete(any());
+        verify(quests, never()).decrementParticipantCount(anyLong());
         verifyNoInteractions(events);
     }
 
@@ -552,10 +695,14 @@ class QuestServiceTest {
         Quest q = quest(1L, "owner", QuestStatus.ACTIVE, QuestVisibility.PUBLIC);
         QuestParticipant qp = new QuestParticipant(q, "u5");
         when(participants.findByQuest_IdAndUserId(1L, "u5")).thenReturn(Optional.of(qp));
+        when(memberships.deleteMembership("u5", 1L, MembershipRole.PARTICIPANT)).thenReturn(1);
 
         service.leave(1L, "u5");
 
         verify(participants).delete(eq(qp));
+        verify(quests).decrementParticipantCount(1L);
+        verify(memberships).deleteMembership("u5", 1L, MembershipRole.PARTICIPANT);
+        verify(summaries).onMembershipRemoved("u5", 1L, QuestStatus.ACTIVE);
 
         verify(events).publish(
                 eq(TOPIC), eq("1"),
@@ -616,4 +763,40 @@ class QuestServiceTest {
 
         assertFalse(service.isOwnerOrParticipant(1L, "u9"));
     }
+
+    @Test
+    void accessBatch_answers_pairs_in_request_order_with_two_queries() {
+        QuestRepository.QuestOwnerProjection owner1 = new QuestRepository.QuestOwnerProjection() {
+            public Long getId() { return 1L; }
+            public String getCreatedByUserId() { return "owner"; }
+        };
+        QuestRepository.QuestOwnerProjection owner2 = new QuestRepository.QuestOwnerProjection() {
+            public Long getId() { return 2L; }
+            public String getCreatedByUserId() { return "other"; }
+        };
+        QuestParticipantRepository.ParticipantKeyProjection member = new QuestParticipantRepository.ParticipantKeyProjection() {
+            public Long getQuestId() { return 2L; }
+            public String getUserId() { return "u5"; }
+        };
+        when(quests.findOwnersByIds(anyCollection())).thenReturn(List.of(owner1, owner2));
+        when(participants.findKeys(anyCollection(), anyCollection())).thenReturn(List.of(member));
+
+        var out = service.accessBatch(List.of(
+                new AccessCheck(1L, "owner"),
+                new AccessCheck(2L, "u5"),
+                new AccessCheck(1L, "u5"),
+                new AccessCheck(404L, "owner")
+        ));
+
+        assertThat(out).extracting(AccessResult::allowed).containsExactly(true, true, false, false);
+        assertThat(out).extracting(AccessResult::questId).containsExactly(1L, 2L, 1L, 404L);
+        verify(quests, never()).findById(anyLong());
+        verify(participants, never()).findByQuest_IdAndUserId(anyLong(), anyString());
+    }
+
+    @Test
+    void accessBatch_empty_does_not_query() {
+        assertThat(service.accessBatch(List.of())).isEmpty();
+        verifyNoInteractions(quests, participants);
+    }
 }
@@ -0,0 +1,187 @@
+package com.questify.service;
+
+import com.questify.domain.QuestStatus;
+import com.questify.domain.UserQuestSummary;
+import com.questify.repository.QuestCompletionRepository;
+import com.questify.repository.QuestRepository;
+import com.questify.repository.UserQuestMembershipRepository;
+import com.questify.repository.UserQuestSummaryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QuestSummaryServiceTest {
+
+    @Mock UserQuestSummaryRepository summaries;
+    @Mock UserQuestMembershipRepository memberships;
+    @Mock QuestCompletionRepository completions;
+    @Mock QuestRepository quests;
+    @Mock MembershipBackfill membershipBackfill;
+    @Spy TransactionOperations tx = TransactionOperations.withoutTransaction();
+
+    @InjectMocks QuestSummaryService service;
+
+    @BeforeEach
+    void setup() {
+        lenient().when(membershipBackfill.isComplete()).thenReturn(true);
+    }
+
+    private static UserQuestSummary row(long total, long active, long archived, long completed, long completedArchived) {
+        return UserQuestSummary.builder()
+                .userId("u1")
+                .total(total).active(active).archived(archived)
+                .completed(completed).completedArchived(completedArchived)
+                .build();
+    }
+
+    @Test
+    void summary_is_a_single_row_read_for_each_filter() {
+        when(summaries.findById("u1")).thenReturn(Optional.of(row(10, 6, 3, 5, 2)));
+
+        assertThat(service.summary("u1", null).questsTotal()).isEqualTo(10);
+        assertThat(service.summary("u1", null).questsCompleted()).isEqualTo(5);
+        assertThat(service.summary("u1", true).questsTotal()).isEqualTo(3);
+        assertThat(service.summary("u1", true).questsCompleted()).isEqualTo(2);
+        assertThat(service.summary("u1", false).questsTotal()).isEqualTo(7);
+        assertThat(service.summary("u1", false).questsCompleted()).isEqualTo(3);
+
+        verifyNoInteractions(memberships, completions);
+    }
+
+    @Test
+    void summary_counts_a_missing_row_without_writing_one() {
+        var counts = mock(UserQuestSummaryRepository.SummaryCounts.class);
+        when(counts.getTotal()).thenReturn(4L);
+        when(counts.getActive()).thenReturn(3L);
+        when(counts.getArchived()).thenReturn(1L);
+        when(counts.getCompleted()).thenReturn(2L);
+        when(counts.getCompletedArchived()).thenReturn(1L);
+        when(summaries.findById("u1")).thenReturn(Optional.empty());
+        when(summaries.countFromMembership("u1")).thenReturn(counts);
+
+        var res = service.summary("u1", false);
+
+        assertThat(res.questsTotal()).isEqualTo(3);
+        assertThat(res.questsCompleted()).isEqualTo(1);
+        verify(summaries, never()).upsertFromMembership(any(), any());
+        verify(summaries, never()).save(any());
+        verifyNoInteractions(memberships, completions);
+    }
+
+    @Test
+    void summary_counts_from_participants_without_touching_rows_until_backfill_completes() {
+        when(membershipBackfill.isComplete()).thenReturn(false);
+        when(quests.countMyOrParticipatingFiltered("u1", null, QuestStatus.ARCHIVED)).thenReturn(6L);
+        when(completions.countMyCompletedViaParticipants("u1", false)).thenReturn(2L);
+
+        var res = service.summary("u1", false);
+
+        assertThat(res.questsTotal()).isEqualTo(6);
+        assertThat(res.questsCompleted()).isEqualTo(2);
+        verifyNoInteractions(summaries, memberships);
+    }
+
+    @Test
+    void backfill_completion_rebuilds_every_member_row() {
+        ReflectionTestUtils.setField(service, "chunkSize", 2);
+        when(memberships.findUserIdsAfter(eq(""), any(Pageable.class))).thenReturn(List.of("u1", "u2"));
+        when(memberships.findUserIdsAfter(eq("u2"), any(Pageable.class))).thenReturn(List.of());
+
+        service.onMembershipBackfillCompleted(new MembershipBackfill.Completed(5, 1));
+
+        verify(summaries).upsertFromMembership(eq("u1"), any());
+        verify(summaries).upsertFromMembership(eq("u2"), any());
+        verify(tx, times(2)).executeWithoutResult(any());
+    }
+
+    @Test
+    void membership_added_counts_existing_completion() {
+        when(completions.existsByQuestIdAndUserId(7L, "u1")).thenReturn(true);
+
+        service.onMembershipAdded("u1", 7L, QuestStatus.ARCHIVED);
+
+        verify(summaries).addDeltas("u1", 1, 0, 1, 1, 1);
+    }
+
+    @Test
+    void membership_change_without_a_row_builds_it_from_the_projection() {
+        when(completions.existsByQuestIdAndUserId(7L, "u1")).thenReturn(false);
+        when(summaries.addDeltas("u1", 1, 1, 0, 0, 0)).thenReturn(0);
+
+        service.onMembershipAdded("u1", 7L, QuestStatus.ACTIVE);
+
+        verify(summaries).upsertFromMembership(eq("u1"), any());
+    }
+
+    @Test
+    void membership_change_with_a_row_only_adds_deltas() {
+        when(completions.existsByQuestIdAndUserId(7L, "u1")).thenReturn(false);
+        when(summaries.addDeltas("u1", 1, 1, 0, 0, 0)).thenReturn(1);
+
+        service.onMembershipAdded("u1", 7L, QuestStatus.ACTIVE);
+
+        verify(summaries, never()).upsertFromMembership(any(), any());
+    }
+
+    @Test
+    void no_row_is_built_while_the_backfill_is_running() {
+        when(membershipBackfill.isComplete()).thenReturn(false);
+        when(completions.existsByQuestIdAndUserId(7L, "u1")).thenReturn(false);
+
+        service.onMembershipAdded("u1", 7L, QuestStatus.ACTIVE);
+
+        verify(summaries, never()).upsertFromMembership(any(), any());
+    }
+
+    @Test
+    void membership_removed_subtracts() {
+        when(completions.existsByQuestIdAndUserId(7L, "u1")).thenReturn(false);
+
+        service.onMembershipRemoved("u1", 7L, QuestStatus.ACTIVE);
+
+        verify(summaries).addDeltas("u1", -1, -1, 0, 0, 0);
+    }
+
+    @Test
+    void archiving_moves_members_from_active_to_archived() {
+        service.onQuestStatusChanged(7L, QuestStatus.ACTIVE, QuestStatus.ARCHIVED);
+
+        verify(summaries).addStatusDeltasForMembers(7L, -1, 1);
+        verify(summaries).addCompletedArchivedForMembers(7L, 1);
+    }
+
+    @Test
+    void status_change_without_active_or_archived_is_noop() {
+        service.onQuestStatusChanged(7L, QuestStatus.DRAFT, QuestStatus.COMPLETED);
+        service.onQuestStatusChanged(7L, QuestStatus.ACTIVE, QuestStatus.ACTIVE);
+
+        verifyNoInteractions(summaries);
+    }
+
+    @Test
+    void completion_counts_only_for_members() {
+        when(memberships.findStatus("u1", 7L)).thenReturn(Optional.of(QuestStatus.ARCHIVED));
+        when(memberships.findStatus("u1", 8L)).thenReturn(Optional.empty());
+
+        service.onCompletionAdded("u1", 7L);
+        service.onCompletionAdded("u1", 8L);
+
+        verify(summaries).addDeltas("u1", 0, 0, 0, 1, 1);
+        verify(summaries, times(1)).addDeltas(anyString(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong());
+    }
+}
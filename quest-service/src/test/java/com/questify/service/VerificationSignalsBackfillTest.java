@@ -0,0 +1,101 @@
+package com.questify.service;
+
+import com.questify.cache.QuestCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VerificationSignalsBackfillTest {
+
+    @Mock JdbcTemplate jdbc;
+    @Mock QuestCache cache;
+    @Mock BackfillMarkers markers;
+
+    @InjectMocks VerificationSignalsBackfill backfill;
+
+    @BeforeEach
+    void setup() {
+        ReflectionTestUtils.setField(backfill, "enabled", true);
+        ReflectionTestUtils.setField(backfill, "chunkSize", 500);
+        ReflectionTestUtils.setField(backfill, "settle", Duration.ofHours(24));
+    }
+
+    private void nothingLeftToCopy() {
+        when(jdbc.queryForObject(startsWith("select count(*) from quest_verification_required"), eq(Long.class)))
+                .thenReturn(0L);
+        when(jdbc.queryForList(startsWith("select id from quests"), eq(Long.class), any(), any()))
+                .thenReturn(List.of());
+    }
+
+    private void recentLegacyQuests(long count) {
+        when(jdbc.queryForObject(startsWith("select count(*) from quests q"), eq(Long.class), any()))
+                .thenReturn(count);
+    }
+
+    @Test
+    void skips_the_legacy_tables_once_the_marker_is_recorded() {
+        when(markers.isDone(VerificationSignalsBackfill.MARKER)).thenReturn(true);
+
+        backfill.backfillOnStart();
+
+        verifyNoInteractions(jdbc, cache);
+    }
+
+    @Test
+    void records_the_marker_once_the_previous_release_stopped_writing_legacy_rows() {
+        nothingLeftToCopy();
+        recentLegacyQuests(0);
+
+        backfill.backfillOnStart();
+
+        verify(markers).markDone(VerificationSignalsBackfill.MARKER);
+    }
+
+    @Test
+    void reruns_on_the_next_start_while_recent_quests_still_have_legacy_rows() {
+        nothingLeftToCopy();
+        recentLegacyQuests(3);
+
+        backfill.backfillOnStart();
+
+        verify(markers, never()).markDone(any());
+    }
+
+    @Test
+    void failed_run_is_retried_on_the_next_start() {
+        when(jdbc.queryForObject(startsWith("select count(*) from quest_verification_required"), eq(Long.class)))
+                .thenReturn(0L);
+        when(jdbc.queryForList(startsWith("select id from quests"), eq(Long.class), any(), any()))
+                .thenThrow(new DataAccessResourceFailureException("connection reset"));
+
+        backfill.backfillOnStart();
+
+        verify(markers, never()).markDone(any());
+    }
+
+    @Test
+    void without_legacy_tables_there_is_nothing_to_migrate() {
+        when(jdbc.queryForObject(startsWith("select count(*) from quest_verification_required"), eq(Long.class)))
+                .thenThrow(new BadSqlGrammarException("probe", "select", new SQLException("no such table")));
+
+        backfill.backfillOnStart();
+
+        verify(markers).markDone(VerificationSignalsBackfill.MARKER);
+        verify(jdbc, never()).queryForList(anyString(), eq(Long.class), any(), any());
+    }
+}
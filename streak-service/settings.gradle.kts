@@ -1 +1,3 @@
 rootProject.name = "streak-service"
+
+includeBuild("../libs/kafka-envelope")
@@ -22,6 +22,9 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
     implementation("org.springframework.boot:spring-boot-starter-oauth2-resource-server")
     implementation("org.springframework.kafka:spring-kafka")
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-cbor")
+    implementation("com.questify:kafka-envelope")
+    implementation("com.github.ben-manes.caffeine:caffeine")
     implementation("io.micrometer:micrometer-registry-prometheus")
     implementation("io.micrometer:micrometer-tracing-bridge-otel")
     implementation("io.opentelemetry:opentelemetry-exporter-otlp")
@@ -35,10 +38,31 @@ dependencies {
 }
 
 tasks.test {
-    useJUnitPlatform()
+    useJUnitPlatform {
+        excludeTags("proof-upload-benchmark")
+    }
     finalizedBy(tasks.jacocoTestReport)
 }
 
+// Opt-in benchmark tasks run the same compiled tests as `test`, filtered by tag.
+tasks.withType<Test>().matching { it.name != "test" }.configureEach {
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+}
+
+tasks.register<Test>("proofUploadBenchmark") {
+    group = "verification"
+    description = "Compares sequential and concurrent proof upload latency for multi-file submissions"
+    useJUnitPlatform {
+        includeTags("proof-upload-benchmark")
+    }
+    systemProperty("proof.benchmark.enabled", "true")
+    listOf("files", "iterations", "fileKb", "presignMs", "putMs", "mbps").forEach { name ->
+        System.getProperty("proof.benchmark.$name")?.let { systemProperty("proof.benchmark.$name", it) }
+    }
+    shouldRunAfter(tasks.test)
+}
+
 jacoco { toolVersion = "0.8.12" }
 
 tasks.jacocoTestReport {
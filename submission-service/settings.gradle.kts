@@ -1 +1,3 @@
-rootProject.name = "submission-service"
\ No newline at end of file
+rootProject.name = "submission-service"
+
+includeBuild("../libs/kafka-envelope")
@@ -2,7 +2,6 @@ package com.questify.client;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
@@ -19,7 +18,16 @@ import java.net.URI;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 
 @Slf4j
 @Component
@@ -30,14 +38,24 @@ public class ProofClient {
     private final String publicBase;
     private final String internalToken;
     private final String publicS3Base;
+    private final int uploadConcurrency;
+    private final ProofUrlCache urlCache;
 
     public record UploadRes(String key, String putUrl) {}
 
+    private record PresignBatchRes(List<UploadRes> items) {}
+
+    private record SignedUrl(String key, String url) {}
+
+    private record SignedBatchRes(List<SignedUrl> items, Long expiresInSeconds) {}
+
     public ProofClient(
             @Value("${PROOF_SERVICE_BASE:http://proof-service:8080/api}") String base,
             @Value("${PROOF_PUBLIC_BASE_URL:") String publicBase,
             @Value("${SECURITY_INTERNAL_TOKEN:dev-internal-token}") String internalToken,
-            @Value("${PUBLIC_S3_BASE:}") String publicS3Base
+            @Value("${PUBLIC_S3_BASE:}") String publicS3Base,
+            @Value("${app.proofs.upload-concurrency:4}") int uploadConcurrency,
+            ProofUrlCache urlCache
     ) {
         HttpClient hc = HttpClient.create()
                 .responseTimeout(Duration.ofSeconds(90))
@@ -55,10 +73,46 @@ public class ProofClient {
         this.publicBase = trimTrailingSlash(publicBase);
         this.internalToken = internalToken;
         this.publicS3Base = trimTrailingSlash(publicS3Base);
+        this.uploadConcurrency = Math.max(1, uploadConcurrency);
+        this.urlCache = urlCache;
     }
 
+    /** Presigned GET url for {@code key}, reused from {@link ProofUrlCache} while it has enough lifetime left. */
     public String signGet(String key) {
+        String cached = urlCache.get(key);
+        if (cached != null) {
+            urlCache.recordSavedRequest();
+            return cached;
+        }
+        return fetchSignedGet(key);
+    }
+
+    /**
+     * Presigned GET urls for all keys, in key order. Cached urls are reused and all misses are signed
+     * with one call to {@code /internal/presign/get/batch}. Errors map to {@link ResponseStatusException}
+     * like {@link #signGet}.
+     */
+    public List<String> signGetMany(List<String> keys) {
+        if (keys.isEmpty()) return List.of();
+
+        Map<String, String> urls = new HashMap<>();
+        List<String> misses = new ArrayList<>();
+        for (String key : new LinkedHashSet<>(keys)) {
+            String cached = urlCache.get(key);
+            if (cached != null) urls.put(key, cached);
+            else misses.add(key);
+        }
+
+        if (misses.isEmpty()) urlCache.recordSavedRequest();
+        else if (misses.size() == 1) urls.put(misses.getFirst(), fetchSignedGet(misses.getFirst()));
+        else urls.putAll(fetchSignedGets(misses));
+
+        return keys.stream().map(urls::get).toList();
+    }
+
+    private String fetchSignedGet(String key) {
         try {
+            Instant issuedAt = Instant.now();
             Map<?, ?> res = proofApi.get()
                     .uri(uri -> uri.path("/internal/presign/get").queryParam("key", key).build())
                     .header("X-Internal-Token", internalToken)
@@ -74,8 +128,13 @@ public class ProofClient {
             }
 
             String raw = String.valueOf(res.get("url"));
+            if (res.get("expiresInSeconds") instanceof Number ttl) {
+                urlCache.put(key, raw, issuedAt.plusSeconds(ttl.longValue()));
+            }
             return raw;
 
+        } catch (ResponseStatusException e) {
+            throw e;
         } catch (WebClientResponseException e) {
             throw new ResponseStatusException(
                     e.getStatusCode(),
@@ -91,19 +150,63 @@ public class ProofClient {
         }
     }
 
+    private Map<String, String> fetchSignedGets(List<String> keys) {
+        try {
+            Instant issuedAt = Instant.now();
+            var res = proofApi.post()
+                    .uri("/internal/presign/get/batch")
+                    .header("X-Internal-Token", internalToken)
+                    .bodyValue(Map.of("keys", keys))
+                    .retrieve()
+                    .bodyToMono(SignedBatchRes.class)
+                    .block(Duration.ofSeconds(10));
+
+            if (res == null || res.items() == null || res.items().size() != keys.size()
+                    || res.items().stream().anyMatch(i -> i == null || i.key() == null || i.url() == null)) {
+                throw new ResponseStatusException(
+                        org.springframework.http.HttpStatus.BAD_GATEWAY,
+                        "sign-get batch returned incomplete urls"
+                );
+            }
+
+            Map<String, String> urls = new HashMap<>();
+            for (SignedUrl item : res.items()) {
+                urls.put(item.key(), item.url());
+                if (res.expiresInSeconds() != null) {
+                    urlCache.put(item.key(), item.url(), issuedAt.plusSeconds(res.expiresInSeconds()));
+                }
+            }
+            return urls;
+
+        } catch (ResponseStatusException e) {
+            throw e;
+        } catch (WebClientResponseException e) {
+            throw new ResponseStatusException(
+                    e.getStatusCode(),
+                    "proof-service sign-get batch failed: " + e.getResponseBodyAsString(),
+                    e
+            );
+        } catch (Exception e) {
+            throw new ResponseStatusException(
+                    org.springframework.http.HttpStatus.BAD_GATEWAY,
+                    "proof-service sign-get batch unreachable",
+                    e
+            );
+        }
+    }
+
     public UploadRes upload(MultipartFile file, String bearer) {
         final String ct = safeContentType(file);
 
         UploadRes presigned;
         try {
             presigned = proofApi.post()
-                    .uri("/uploads") // external presign (JWT)
+                    .uri(uri -> uri.path("/uploads").queryParam("contentType", ct).build()) // external presign (JWT)
                     .headers(h -> {
                         if (bearer != null && !bearer.isBlank()) {
                             h.set(HttpHeaders.AUTHORIZATION, "Bearer " + bearer);
                         }
                     })
-                    .body(BodyInserters.fromValue(Map.of("contentType", ct)))
                     .retrieve()
                     .bodyToMono(UploadRes.class)
                     .switchIfEmpty(Mono.error(new IllegalStateException("Empty presign response")))
@@ -116,17 +219,110 @@ public class ProofClient {
             return directFallback(file, bearer);
         }
 
+        return putPresigned(file, presigned, bearer);
+    }
+
+    /**
+     * Uploads all files, at most {@code app.proofs.upload-concurrency} at a time on virtual threads, and
+     * returns the results in file order. All PUT urls come from one {@code /uploads/batch} call; if that
+     * fails each file goes through {@link #upload} on its own. When any file fails, the files that did
+     * upload are deleted again and the first failure is rethrown.
+     */
+    public List<UploadRes> uploadAll(List<MultipartFile> files, String bearer) {
+        if (files.size() == 1) return List.of(upload(files.getFirst(), bearer));
+
+        var presigned = presignPuts(files, bearer);
+        var results = new UploadRes[files.size()];
+        var permits = new Semaphore(uploadConcurrency);
+        var futures = new ArrayList<Future<?>>(files.size());
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < files.size(); i++) {
+                int idx = i;
+                futures.add(executor.submit(() -> {
+                    permits.acquireUninterruptibly();
+                    try {
+                        var file = files.get(idx);
+                        results[idx] = presigned == null ? upload(file, bearer) : putPresigned(file, presigned.get(idx), bearer);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        }
+
+        RuntimeException failure = null;
+        for (var f : futures) {
+            try {
+                f.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (failure == null) failure = new IllegalStateException("Interrupted during proof upload", e);
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException re ? re : new IllegalStateException(e.getCause());
+                }
+            }
+        }
+        if (failure != null) {
+            for (var r : results) {
+                if (r == null) continue;
+                try {
+                    deleteInternalObject(r.key());
+                } catch (Exception ex) {
+                    log.warn("Failed to cleanup uploaded proof key={} err={}", r.key(), ex.toString());
+                }
+            }
+            throw failure;
+        }
+        return List.of(results);
+    }
+
+    /** One presign round-trip for all files, or {@code null} when the batch endpoint is unavailable. */
+    private List<UploadRes> presignPuts(List<MultipartFile> files, String bearer) {
+        try {
+            var res = proofApi.post()
+                    .uri("/uploads/batch")
+                    .headers(h -> {
+                        if (bearer != null && !bearer.isBlank()) {
+                            h.set(HttpHeaders.AUTHORIZATION, "Bearer " + bearer);
+                        }
+                    })
+                    .bodyValue(Map.of("contentTypes", files.stream().map(ProofClient::safeContentType).toList()))
+                    .retrieve()
+                    .bodyToMono(PresignBatchRes.class)
+                    .block(Duration.ofSeconds(20));
+            if (res == null || res.items() == null || res.items().size() != files.size()
+                    || res.items().stream().anyMatch(u -> u == null || u.key() == null || u.putUrl() == null)) {
+                log.warn("invalid batch presign response, presigning files one by one");
+                return null;
+            }
+            return res.items();
+        } catch (WebClientResponseException e) {
+            log.warn("batch presign failed: {} {}", e.getStatusCode().value(), e.getResponseBodyAsString());
+            return null;
+        } catch (Exception e) {
+            log.warn("batch presign unreachable: {}", e.toString());
+            return null;
+        }
+    }
+
+    /**
+     * Streams the file straight from the multipart part to storage. The length is sent up front
+     * (presigned S3 PUTs reject chunked bodies) and the body is read in buffer-sized chunks, never
+     * held in memory as a whole.
+     */
+    private UploadRes putPresigned(MultipartFile file, UploadRes presigned, String bearer) {
         if (presigned == null || presigned.putUrl() == null || presigned.key() == null) {
             log.warn("invalid presign response, falling back to direct upload");
             return directFallback(file, bearer);
         }
 
         try {
-            var in = new InputStreamResource(file.getInputStream());
             http.put()
-                    .uri(presigned.putUrl())
-                    .header(HttpHeaders.CONTENT_TYPE, ct)
-                    .body(BodyInserters.fromResource(in))
+                    .uri(URI.create(presigned.putUrl()))
+                    .header(HttpHeaders.CONTENT_TYPE, safeContentType(file))
+                    .contentLength(file.getSize())
+                    .body(BodyInserters.fromResource(file.getResource()))
                     .retrieve()
                     .toBodilessEntity()
                     .block(Duration.ofSeconds(120));
@@ -215,6 +411,7 @@ public class ProofClient {
     }
 
     public void deleteInternalObject(String key) {
+        urlCache.evict(key);
         proofApi.delete()
                 .uri(uri -> uri.path("/internal/objects").queryParam("key", key).build())
                 .header("X-Internal-Token", internalToken)
@@ -0,0 +1,89 @@
+package com.questify.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Per-instance cache of presigned GET urls from proof-service, keyed by proof key. A url is handed
+ * out again only while it has more than {@code min-remaining} of its lifetime left, so a reviewer
+ * never receives a link that dies while the image is still loading; entries are dropped at that
+ * point rather than at the url's real expiry.
+ */
+@Component
+public class ProofUrlCache {
+
+    private record Entry(String url, Instant usableUntil) {}
+
+    private final Cache<String, Entry> cache;
+    private final boolean enabled;
+    private final Duration minRemaining;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter savedRequests;
+
+    public ProofUrlCache(MeterRegistry registry,
+                         @Value("${app.proofs.url-cache.enabled:true}") boolean enabled,
+                         @Value("${app.proofs.url-cache.max-size:20000}") long maxSize,
+                         @Value("${app.proofs.url-cache.min-remaining:PT2M}") Duration minRemaining) {
+        this.enabled = enabled;
+        this.minRemaining = minRemaining;
+        this.hits = registry.counter("proof_url_cache_gets", "result", "hit");
+        this.misses = registry.counter("proof_url_cache_gets", "result", "miss");
+        this.savedRequests = registry.counter("proof_url_cache_saved_requests");
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Entry>() {
+                    @Override
+                    public long expireAfterCreate(String key, Entry entry, long currentTime) {
+                        return Math.max(0, Duration.between(Instant.now(), entry.usableUntil()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, entry, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /** Cached url with enough lifetime left, or {@code null} on a miss. */
+    public String get(String proofKey) {
+        if (!enabled) return null;
+        Entry e = cache.getIfPresent(proofKey);
+        if (e != null && e.usableUntil().isAfter(Instant.now())) {
+            hits.increment();
+            return e.url();
+        }
+        misses.increment();
+        return null;
+    }
+
+    /** Caches {@code url} until {@code min-remaining} before {@code expiresAt}; short-lived urls are skipped. */
+    public void put(String proofKey, String url, Instant expiresAt) {
+        if (!enabled) return;
+        Instant usableUntil = expiresAt.minus(minRemaining);
+        if (usableUntil.isAfter(Instant.now())) cache.put(proofKey, new Entry(url, usableUntil));
+    }
+
+    /** Counts a call to proof-service that was answered entirely from the cache. */
+    public void recordSavedRequest() {
+        if (enabled) savedRequests.increment();
+    }
+
+    public void evict(String proofKey) {
+        cache.invalidate(proofKey);
+    }
+}
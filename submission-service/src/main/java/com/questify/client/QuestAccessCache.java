@@ -0,0 +1,76 @@
+package com.questify.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Per-instance cache of quest access decisions from quest-service. Grants live for {@code ttl};
+ * denials only for the shorter {@code negative-ttl}, so a user who has just joined is not locked
+ * out if the join event is still in flight. Membership events evict entries (see
+ * {@code QuestAccessInvalidationListener}).
+ */
+@Component
+public class QuestAccessCache {
+
+    public record Key(Long questId, String userId) {}
+
+    private final Cache<Key, Boolean> cache;
+    private final MeterRegistry registry;
+    private final boolean enabled;
+
+    public QuestAccessCache(MeterRegistry registry,
+                            @Value("${app.quest-access.cache.enabled:true}") boolean enabled,
+                            @Value("${app.quest-access.cache.max-size:50000}") long maxSize,
+                            @Value("${app.quest-access.cache.ttl:PT5M}") Duration ttl,
+                            @Value("${app.quest-access.cache.negative-ttl:PT5S}") Duration negativeTtl) {
+        this.registry = registry;
+        this.enabled = enabled;
+        long ttlNanos = ttl.toNanos();
+        long negativeTtlNanos = negativeTtl.toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<Key, Boolean>() {
+                    @Override
+                    public long expireAfterCreate(Key key, Boolean allowed, long currentTime) {
+                        return allowed ? ttlNanos : negativeTtlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Key key, Boolean allowed, long currentTime, long currentDuration) {
+                        return allowed ? ttlNanos : negativeTtlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterRead(Key key, Boolean allowed, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /** Cached decision, or {@code null} on a miss. */
+    public Boolean get(Long questId, String userId) {
+        if (!enabled) return null;
+        Boolean hit = cache.getIfPresent(new Key(questId, userId));
+        registry.counter("quest_access_cache_gets", "result", hit != null ? "hit" : "miss").increment();
+        return hit;
+    }
+
+    public void put(Long questId, String userId, boolean allowed) {
+        if (enabled) cache.put(new Key(questId, userId), allowed);
+    }
+
+    public void evict(Long questId, String userId) {
+        cache.invalidate(new Key(questId, userId));
+    }
+
+    public void evictQuest(Long questId) {
+        cache.asMap().keySet().removeIf(k -> k.questId().equals(questId));
+    }
+}
@@ -1,46 +1,88 @@
 package com.questify.client;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
-import reactor.core.publisher.Mono;
 
 import java.time.Duration;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 
 @Component
 public class QuestAccessClient {
+    /** Matches the {@code @Size(max = 500)} on quest-service's batch request. */
+    static final int MAX_CHECKS_PER_CALL = 500;
+
     private final WebClient webClient;
     private final String token;
+    private final QuestAccessCache cache;
+
+    record AccessCheck(Long questId, String userId) {}
+    record AccessBatchReq(List<AccessCheck> checks) {}
+    record AccessResult(Long questId, String userId, boolean allowed) {}
+    record AccessBatchRes(List<AccessResult> results) {}
 
     public QuestAccessClient(
             // accept either env var style or old dotted key, default to cluster service DNS
             @Value("${QUEST_SERVICE_BASE:${quest.service.base:http://quest-service:8080}}") String base,
             // unify on INTERNAL_TOKEN; also accept SECURITY_INTERNAL_TOKEN or old internal.token if present
             @Value("${SECURITY_INTERNAL_TOKEN:${INTERNAL_TOKEN:${internal.token:dev-internal-token}}}") String token,
-            WebClient.Builder builder
+            WebClient.Builder builder,
+            QuestAccessCache cache
     ) {
         this.webClient = builder.baseUrl(base).build();
         this.token = token;
+        this.cache = cache;
     }
 
     public boolean allowed(String userId, Long questId) {
-        Mono<Boolean> call = webClient.get()
-                .uri("/internal/quests/{id}/participants/{userId}/allowed", questId, userId)
+        return allowedQuestIds(userId, List.of(questId)).contains(questId);
+    }
+
+    /**
+     * Returns the subset of {@code questIds} the user may access. Cached decisions are reused and
+     * misses are resolved through quest-service's batch endpoint, {@value #MAX_CHECKS_PER_CALL} per
+     * call; a failed call denies its misses and caches nothing.
+     */
+    public Set<Long> allowedQuestIds(String userId, Collection<Long> questIds) {
+        Set<Long> allowed = new HashSet<>();
+        List<AccessCheck> misses = new ArrayList<>();
+        for (Long questId : new LinkedHashSet<>(questIds)) {
+            Boolean cached = cache.get(questId, userId);
+            if (cached == null) misses.add(new AccessCheck(questId, userId));
+            else if (cached) allowed.add(questId);
+        }
+        if (misses.isEmpty()) return allowed;
+
+        for (AccessResult r : fetch(misses)) {
+            cache.put(r.questId(), r.userId(), r.allowed());
+            if (r.allowed()) allowed.add(r.questId());
+        }
+        return allowed;
+    }
+
+    private List<AccessResult> fetch(List<AccessCheck> checks) {
+        if (checks.size() <= MAX_CHECKS_PER_CALL) return fetchBatch(checks);
+        List<AccessResult> results = new ArrayList<>(checks.size());
+        for (int from = 0; from < checks.size(); from += MAX_CHECKS_PER_CALL) {
+            results.addAll(fetchBatch(checks.subList(from, Math.min(checks.size(), from + MAX_CHECKS_PER_CALL))));
+        }
+        return results;
+    }
+
+    private List<AccessResult> fetchBatch(List<AccessCheck> checks) {
+        AccessBatchRes res = webClient.post()
+                .uri("/internal/quests/access/batch")
                 .header("X-Internal-Token", token)
+                .bodyValue(new AccessBatchReq(checks))
                 .retrieve()
-                .bodyToMono(Boolean.class)
-                .onErrorResume(e ->
-                        webClient.get()
-                                .uri("/internal/quests/{id}/participants/{userId}/allowed", questId, userId)
-                                .header("X-Internal-Token", token)
-                                .retrieve()
-                                .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {})
-                                .map(m -> Boolean.TRUE.equals(m.get("allowed")))
-                )
-                .onErrorReturn(false);
-
-        return call.block(Duration.ofSeconds(5));
+                .bodyToMono(AccessBatchRes.class)
+                .onErrorReturn(new AccessBatchRes(List.of()))
+                .block(Duration.ofSeconds(5));
+        return res == null || res.results() == null ? List.of() : res.results();
     }
 }
@@ -0,0 +1,10 @@
+package com.questify.consistency;
+
+import java.util.List;
+
+/** Stores outbox rows outside the database before {@link OutboxRetention} deletes them. */
+public interface OutboxArchiver {
+
+    /** Must either persist every row or throw; the rows are deleted only after it returns. */
+    void archive(List<OutboxEvent> events) throws Exception;
+}
@@ -3,13 +3,122 @@ package com.questify.consistency;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 
 public interface OutboxEventRepository extends JpaRepository<OutboxEvent, String> {
+    interface StatusCount {
+        OutboxStatus getStatus();
+        long getTotal();
+    }
+
+    interface TopicCount {
+        String getTopic();
+        long getTotal();
+    }
+
     Page<OutboxEvent> findByStatusAndNextAttemptAtLessThanEqualOrderByCreatedAtAsc(
             OutboxStatus status,
             Instant now,
             Pageable pageable
     );
+
+    /**
+     * Locks up to {@code limit} due, unleased rows; rows locked by another dispatcher are skipped.
+     * Ordered by {@code idx_outbox_status_next_created} itself, so the range scan stops at
+     * {@code limit} instead of filesorting (and locking) every due row.
+     */
+    @Query(value = """
+           select id
+           from outbox_event
+           where status = 'NEW'
+             and next_attempt_at <= :now
+             and (lease_until is null or lease_until < :now)
+           order by next_attempt_at asc, created_at asc
+           limit :limit
+           for update skip locked
+           """, nativeQuery = true)
+    List<String> lockClaimable(@Param("now") Instant now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("""
+           update OutboxEvent e
+              set e.claimedBy = :owner,
+                  e.leaseUntil = :leaseUntil
+            where e.id in :ids
+           """)
+    int lease(@Param("ids") Collection<String> ids, @Param("owner") String owner, @Param("leaseUntil") Instant leaseUntil);
+
+    @Transactional
+    @Modifying
+    @Query("""
+           update OutboxEvent e
+              set e.status = com.questify.consistency.OutboxStatus.SENT,
+                  e.sentAt = :sentAt,
+                  e.lastError = null,
+                  e.claimedBy = null,
+                  e.leaseUntil = null
+            where e.id in :ids
+           """)
+    int markSent(@Param("ids") Collection<String> ids, @Param("sentAt") Instant sentAt);
+
+    /** Locks up to {@code limit} rows sent before {@code cutoff}, oldest first, skipping rows another pod is purging. */
+    @Query(value = """
+           select id
+           from outbox_event
+           where status = 'SENT'
+             and sent_at < :cutoff
+           order by sent_at asc
+           limit :limit
+           for update skip locked
+           """, nativeQuery = true)
+    List<String> lockSentBefore(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
+
+    @Modifying
+    @Query("delete from OutboxEvent e where e.id in :ids")
+    int deleteByIds(@Param("ids") Collection<String> ids);
+
+    @Query("select e.status as status, count(e) as total from OutboxEvent e group by e.status")
+    List<StatusCount> countByStatus();
+
+    @Query("select min(e.createdAt) from OutboxEvent e where e.status = com.questify.consistency.OutboxStatus.NEW")
+    Instant findOldestPendingCreatedAt();
+
+    @Query("""
+           select e.topic as topic, count(e) as total
+           from OutboxEvent e
+           where e.status = com.questify.consistency.OutboxStatus.NEW
+           group by e.topic
+           """)
+    List<TopicCount> countPendingByTopic();
+
+    /** FAILED rows plus NEW rows created before {@code olderThan}, oldest first. */
+    @Query("""
+           select e
+           from OutboxEvent e
+           where e.status = com.questify.consistency.OutboxStatus.FAILED
+              or (e.status = com.questify.consistency.OutboxStatus.NEW and e.createdAt < :olderThan)
+           order by e.createdAt asc
+           """)
+    List<OutboxEvent> findStuck(@Param("olderThan") Instant olderThan, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("""
+           update OutboxEvent e
+              set e.status = com.questify.consistency.OutboxStatus.NEW,
+                  e.attempts = 0,
+                  e.nextAttemptAt = :now,
+                  e.claimedBy = null,
+                  e.leaseUntil = null
+            where e.status = com.questify.consistency.OutboxStatus.FAILED
+              and (:topic is null or e.topic = :topic)
+           """)
+    int requeueFailed(@Param("topic") String topic, @Param("now") Instant now);
 }
@@ -0,0 +1,60 @@
+package com.questify.consistency;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Comparator;
+
+/**
+ * Removes {@code SENT} outbox rows once they are older than the retention window, one bounded
+ * chunk per transaction. Rows are locked with {@code skip locked}, so replicas running the job at
+ * the same time purge disjoint chunks. When an {@link OutboxArchiver} is present the chunk is
+ * archived first and only deleted if archiving succeeded. {@code FAILED} rows are kept for requeueing.
+ */
+@Slf4j
+@Component
+public class OutboxRetention {
+
+    private final OutboxEventRepository outbox;
+    private final ObjectProvider<OutboxArchiver> archiver;
+    private final MeterRegistry registry;
+    private final boolean archive;
+
+    public OutboxRetention(OutboxEventRepository outbox,
+                           ObjectProvider<OutboxArchiver> archiver,
+                           MeterRegistry registry,
+                           @Value("${app.outbox.retention.archive.enabled:false}") boolean archive) {
+        this.outbox = outbox;
+        this.archiver = archiver;
+        this.registry = registry;
+        this.archive = archive;
+    }
+
+    /** Purges up to {@code limit} rows sent before {@code cutoff} and returns how many were deleted. */
+    @Transactional(rollbackFor = Exception.class)
+    public int purgeChunk(Instant cutoff, int limit) throws Exception {
+        var ids = outbox.lockSentBefore(cutoff, limit);
+        if (ids.isEmpty()) return 0;
+
+        if (archive) {
+            var target = archiver.getIfAvailable();
+            if (target == null) {
+                throw new IllegalStateException("Outbox archival is enabled but no OutboxArchiver is configured");
+            }
+            var rows = outbox.findAllById(ids).stream()
+                    .sorted(Comparator.comparing(OutboxEvent::getSentAt))
+                    .toList();
+            target.archive(rows);
+            registry.counter("outbox_retention_rows", "action", "archived").increment(rows.size());
+        }
+
+        int deleted = outbox.deleteByIds(ids);
+        registry.counter("outbox_retention_rows", "action", "deleted").increment(deleted);
+        return deleted;
+    }
+}
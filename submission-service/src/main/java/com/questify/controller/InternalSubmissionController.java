@@ -1,10 +1,17 @@
 package com.questify.controller;
 
+import com.questify.dto.SubmissionDtos.AiReviewSignalReq;
+import com.questify.service.ReviewQueueService;
 import com.questify.service.SubmissionService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.time.Instant;
@@ -15,6 +22,14 @@ import java.util.List;
 @RequiredArgsConstructor
 public class InternalSubmissionController {
     private final SubmissionService submissions;
+    private final ReviewQueueService reviewQueue;
+
+    /** Called by ai-review-service when a review finishes; re-positions the submission in the reviewer queue. */
+    @PutMapping("/{id}/ai-review")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void aiReview(@PathVariable Long id, @Valid @RequestBody AiReviewSignalReq req) {
+        reviewQueue.recordAiReview(id, req.recommendation(), req.confidence());
+    }
 
     @GetMapping("/{id}/ai-review-context")
     public AiReviewSubmissionContextRes aiReviewContext(@PathVariable Long id) {
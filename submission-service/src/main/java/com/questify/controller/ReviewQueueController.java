@@ -0,0 +1,43 @@
+package com.questify.controller;
+
+import com.questify.config.JwtAuth;
+import com.questify.dto.SubmissionDtos.ReviewClaimRes;
+import com.questify.mapper.SubmissionMapper;
+import com.questify.service.ReviewQueueService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Reviewer work queue. Unlike {@code /submissions/pending}, which is a read-only listing, claimed
+ * submissions are leased to the caller and not handed to other reviewers until reviewed, released,
+ * or the lease runs out.
+ */
+@RestController
+@RequestMapping("/submissions/queue")
+@RequiredArgsConstructor
+public class ReviewQueueController {
+
+    private final ReviewQueueService queue;
+    private final JwtAuth jwt;
+
+    @PostMapping("/claim")
+    @PreAuthorize("hasAnyRole('REVIEWER','ADMIN')")
+    public ReviewClaimRes claim(@RequestParam(defaultValue = "5") int limit, Authentication auth) {
+        var claim = queue.claim(jwt.userId(auth), limit);
+        return new ReviewClaimRes(
+                claim.items().stream().map(SubmissionMapper::toRes).toList(),
+                claim.leaseUntil()
+        );
+    }
+
+    @DeleteMapping("/{id}/claim")
+    @PreAuthorize("hasAnyRole('REVIEWER','ADMIN')")
+    public ResponseEntity<Void> release(@PathVariable Long id, Authentication auth) {
+        return queue.release(id, jwt.userId(auth))
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+}
@@ -14,7 +14,8 @@ import java.time.Instant;
         indexes = {
                 @Index(name="idx_sub_user", columnList="user_id"),
                 @Index(name="idx_sub_quest", columnList="quest_id"),
-                @Index(name="idx_sub_status", columnList="status")
+                @Index(name="idx_sub_status", columnList="status"),
+                @Index(name="idx_sub_review_queue", columnList="status,review_priority_at,id")
         }
 )
 @Getter @Setter
@@ -68,6 +69,26 @@ public class Submission {
     @Column(name = "proof_scanned_at")
     private Instant proofScannedAt;
 
-    @PrePersist void onCreate(){ var now = Instant.now(); createdAt = now; updatedAt = now; }
+    /** AI recommendation reported by ai-review-service, e.g. {@code LIKELY_VALID}. */
+    @Column(name = "ai_recommendation", length = 32)
+    private String aiRecommendation;
+
+    @Column(name = "ai_confidence")
+    private Double aiConfidence;
+
+    /** Position in the reviewer queue: creation time, moved earlier for confident AI recommendations. */
+    @Column(name = "review_priority_at")
+    private Instant reviewPriorityAt;
+
+    @Column(name = "review_claimed_by", length = 128)
+    private String reviewClaimedBy;
+
+    @Column(name = "review_lease_until")
+    private Instant reviewLeaseUntil;
+
+    @PrePersist void onCreate(){
+        var now = Instant.now(); createdAt = now; updatedAt = now;
+        if (reviewPriorityAt == null) reviewPriorityAt = now;
+    }
     @PreUpdate  void onUpdate(){ updatedAt = Instant.now(); }
 }
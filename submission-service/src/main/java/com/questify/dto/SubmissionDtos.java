@@ -4,6 +4,7 @@ import com.questify.domain.ReviewStatus;
 import jakarta.validation.constraints.*;
 
 import java.time.Instant;
+import java.util.List;
 
 public class SubmissionDtos {
     public record CreateSubmissionReq(
@@ -29,4 +30,14 @@ public class SubmissionDtos {
             Instant createdAt,
             Instant updatedAt
     ) {}
+
+    public record ReviewClaimRes(
+            List<SubmissionRes> items,
+            Instant leaseUntil
+    ) {}
+
+    public record AiReviewSignalReq(
+            @NotBlank @Size(max=32) String recommendation,
+            @DecimalMin("0.0") @DecimalMax("1.0") Double confidence
+    ) {}
 }
@@ -0,0 +1,85 @@
+package com.questify.kafka;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Processes a poll grouped by key: items sharing a key go to the handler together and in poll order,
+ * while different keys run concurrently on virtual threads, at most {@code app.kafka.listener.key-parallelism}
+ * at a time. Items without a key share one group. With a parallelism of 1 (the default) the whole poll is
+ * handed over as a single group on the calling thread.
+ * <p>
+ * Returns once every group has finished; if any group failed, the first failure is rethrown with the
+ * others suppressed. Groups that succeeded are not undone, so handlers must be idempotent.
+ */
+@Component
+public class KeyOrderedProcessor {
+
+    private final int parallelism;
+
+    public KeyOrderedProcessor(@Value("${app.kafka.listener.key-parallelism:1}") int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public boolean isParallel() {
+        return parallelism > 1;
+    }
+
+    public <T> void process(List<T> items, Function<T, String> key, Consumer<List<T>> handler) {
+        if (!isParallel() || items.size() <= 1) {
+            handler.accept(items);
+            return;
+        }
+
+        var groups = new LinkedHashMap<String, List<T>>();
+        for (var item : items) {
+            String k = key.apply(item);
+            groups.computeIfAbsent(k == null ? "" : k, x -> new ArrayList<>()).add(item);
+        }
+        if (groups.size() == 1) {
+            handler.accept(items);
+            return;
+        }
+
+        var permits = new Semaphore(parallelism);
+        var futures = new ArrayList<Future<?>>(groups.size());
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (var group : groups.values()) {
+                futures.add(executor.submit(() -> {
+                    permits.acquireUninterruptibly();
+                    try {
+                        handler.accept(group);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        }
+
+        RuntimeException failure = null;
+        for (var f : futures) {
+            try {
+                f.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while processing keyed groups", e);
+            } catch (ExecutionException e) {
+                var cause = e.getCause();
+                var ex = cause instanceof RuntimeException re ? re : new IllegalStateException(cause);
+                if (failure == null) failure = ex;
+                else failure.addSuppressed(ex);
+            }
+        }
+        if (failure != null) throw failure;
+    }
+}
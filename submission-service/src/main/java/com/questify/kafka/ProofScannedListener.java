@@ -3,12 +3,17 @@ package com.questify.kafka;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.questify.service.SubmissionService;
+import com.questify.service.SubmissionService.ProofScanResult;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 @Slf4j
@@ -29,70 +34,92 @@ public class ProofScannedListener {
     @KafkaListener(
             topics = "${app.kafka.topics.proofScanned:proof-scanned}",
             groupId = "${app.kafka.groups.proofScanned:submission-service-proof-scanned}",
-            containerFactory = "kafkaListenerContainerFactory"
+            containerFactory = "batchKafkaListenerContainerFactory"
     )
-    public void onProofScanned(Object msg, Acknowledgment ack) {
-        try {
-            String eventId = null;
-            String proofKey = null;
-            String scanStatus = null;
-
-            if (msg instanceof EventEnvelope<?> env) {
-                eventId = env.eventId();
-                Object payloadObj = env.payload();
-                if (payloadObj instanceof Map<?, ?> p) {
-                    proofKey = str(firstNonBlank(p.get("proofKey"), p.get("key")));
-                    scanStatus = str(p.get("scanStatus"));
-                }
-            }
-
-            if (msg instanceof Map<?, ?> m) {
-                eventId = str(m.get("eventId"));
-                Object payloadObj = m.get("payload");
-                if (payloadObj instanceof Map<?, ?> p) {
-                    proofKey = str(firstNonBlank(p.get("proofKey"), p.get("key")));
-                    scanStatus = str(p.get("scanStatus"));
-                } else {
-                    proofKey = str(firstNonBlank(m.get("proofKey"), m.get("key")));
-                    scanStatus = str(m.get("scanStatus"));
+    public void onProofScanned(List<ConsumerRecord<String, Object>> records, Acknowledgment ack) {
+        var results = new ArrayList<ProofScanResult>(records.size());
+        var indexes = new ArrayList<Integer>(records.size());
+        int firstUnreadable = -1;
+        Exception unreadable = null;
+        for (int i = 0; i < records.size(); i++) {
+            ProofScanResult r;
+            try {
+                r = parse(records.get(i).value());
+            } catch (Exception e) {
+                log.warn("Unreadable proof-scanned message partition={} offset={} error={}",
+                        records.get(i).partition(), records.get(i).offset(), e.toString());
+                if (unreadable == null) {
+                    firstUnreadable = i;
+                    unreadable = e;
                 }
+                continue;
             }
-            else if (msg instanceof String s) {
-                Map<String, Object> m = mapper.readValue(s, new TypeReference<>() {});
-                eventId = str(m.get("eventId"));
-                Object payloadObj = m.get("payload");
-                if (payloadObj instanceof Map<?, ?> p) {
-                    proofKey = str(firstNonBlank(p.get("proofKey"), p.get("key")));
-                    scanStatus = str(p.get("scanStatus"));
-                } else {
-                    proofKey = str(firstNonBlank(m.get("proofKey"), m.get("key")));
-                    scanStatus = str(m.get("scanStatus"));
-                }
+            if (r == null) {
+                log.warn("Ignoring proof-scanned message (missing proofKey/scanStatus): {}", records.get(i).value());
+            } else {
+                results.add(r);
+                indexes.add(i);
             }
-            else {
-                Map<String, Object> m = mapper.convertValue(msg, new TypeReference<>() {});
-                eventId = str(m.get("eventId"));
-                Object payloadObj = m.get("payload");
-                if (payloadObj instanceof Map<?, ?> p) {
-                    proofKey = str(firstNonBlank(p.get("proofKey"), p.get("key")));
-                    scanStatus = str(p.get("scanStatus"));
-                } else {
-                    proofKey = str(firstNonBlank(m.get("proofKey"), m.get("key")));
-                    scanStatus = str(m.get("scanStatus"));
+        }
+
+        // Apply every readable result before reporting an unreadable one: the error handler commits
+        // the offsets before the reported index, and the records after it are deduplicated on redelivery.
+        try {
+            submissionService.applyProofScanResultsIdempotent(proofScannedGroup, results);
+        } catch (Exception batchError) {
+            log.warn("Proof-scanned batch of {} failed, retrying record by record error={}",
+                    records.size(), batchError.toString());
+            for (int i = 0; i < results.size(); i++) {
+                var r = results.get(i);
+                try {
+                    submissionService.applyProofScanResultIdempotent(proofScannedGroup, r.eventId(), r.proofKey(), r.scanStatus());
+                } catch (Exception e) {
+                    int index = indexes.get(i);
+                    if (unreadable != null && firstUnreadable < index) break;
+                    throw new BatchListenerFailedException("Proof-scanned handling failed", e, index);
                 }
             }
+        }
+
+        if (unreadable != null) {
+            throw new BatchListenerFailedException("Unreadable proof-scanned message", unreadable, firstUnreadable);
+        }
+        ack.acknowledge();
+    }
 
-            if (isBlank(proofKey) || isBlank(scanStatus)) {
-                log.warn("Ignoring proof-scanned message (missing proofKey/scanStatus): {}", msg);
-                ack.acknowledge();
-                return;
+    /** Reads envelope, map or raw JSON messages; {@code null} when proofKey or scanStatus is missing. */
+    private ProofScanResult parse(Object msg) throws Exception {
+        String eventId = null;
+        String proofKey = null;
+        String scanStatus = null;
+
+        if (msg instanceof EventEnvelope<?> env) {
+            eventId = env.eventId();
+            Object payloadObj = env.payload();
+            if (payloadObj instanceof Map<?, ?> p) {
+                proofKey = str(firstNonBlank(p.get("proofKey"), p.get("key")));
+                scanStatus = str(p.get("scanStatus"));
             }
+        }
+        else {
+            Map<?, ?> m;
+            if (msg instanceof Map<?, ?> map) m = map;
+            else if (msg instanceof String s) m = mapper.readValue(s, new TypeReference<Map<String, Object>>() {});
+            else m = mapper.convertValue(msg, new TypeReference<Map<String, Object>>() {});
 
-            submissionService.applyProofScanResultIdempotent(proofScannedGroup, eventId, proofKey, scanStatus);
-            ack.acknowledge();
-        } catch (Exception e) {
-            throw new RuntimeException(e);
+            eventId = str(m.get("eventId"));
+            Object payloadObj = m.get("payload");
+            if (payloadObj instanceof Map<?, ?> p) {
+                proofKey = str(firstNonBlank(p.get("proofKey"), p.get("key")));
+                scanStatus = str(p.get("scanStatus"));
+            } else {
+                proofKey = str(firstNonBlank(m.get("proofKey"), m.get("key")));
+                scanStatus = str(m.get("scanStatus"));
+            }
         }
+
+        if (isBlank(proofKey) || isBlank(scanStatus)) return null;
+        return new ProofScanResult(eventId, proofKey, scanStatus);
     }
 
     private static Object firstNonBlank(Object a, Object b) {
@@ -0,0 +1,53 @@
+package com.questify.kafka;
+
+import com.questify.client.QuestAccessCache;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Evicts this instance's {@link QuestAccessCache} on membership changes. Every replica holds its
+ * own cache, so the group id is unique per instance and only new events are read.
+ */
+@Component
+@RequiredArgsConstructor
+public class QuestAccessInvalidationListener {
+
+    private final QuestAccessCache cache;
+
+    @KafkaListener(
+            topics = "${app.kafka.topics.quests}",
+            groupId = "${spring.application.name}-access-${random.uuid}",
+            properties = "auto.offset.reset=latest"
+    )
+    public void onQuestEvent(ConsumerRecord<String, EventEnvelope> rec, Acknowledgment ack) {
+        var env = rec.value();
+        if (env == null || env.eventType() == null || !(env.payload() instanceof Map<?, ?> p)) {
+            ack.acknowledge();
+            return;
+        }
+
+        Long questId = toLong(p.get("questId"));
+        switch (env.eventType()) {
+            case "ParticipantJoined", "ParticipantLeft" -> {
+                Object userId = p.get("userId");
+                if (questId != null && userId != null) cache.evict(questId, String.valueOf(userId));
+            }
+            case "QuestArchived" -> {
+                if (questId != null) cache.evictQuest(questId);
+            }
+            default -> { }
+        }
+        ack.acknowledge();
+    }
+
+    private static Long toLong(Object o) {
+        if (o == null) return null;
+        if (o instanceof Number n) return n.longValue();
+        try { return Long.parseLong(String.valueOf(o)); } catch (Exception e) { return null; }
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Map;
 
 @Slf4j
@@ -31,6 +32,20 @@ public class QuestEventsHandler {
             return;
         }
 
+        apply(env);
+    }
+
+    /** Handles one poll, or one key group of it, in a single transaction; already-processed events are filtered with one query. */
+    @Transactional
+    public void handleBatch(List<EventEnvelope> envelopes) {
+        var fresh = processedEvents.filterUnprocessed(consumerGroup, envelopes);
+        int skipped = envelopes.size() - fresh.size();
+        if (skipped > 0) log.info("Duplicate quest events skipped count={}", skipped);
+
+        for (var env : fresh) apply(env);
+    }
+
+    private void apply(EventEnvelope env) {
         if ("QuestArchived".equals(env.eventType())) {
             @SuppressWarnings("unchecked")
             var p = (Map<String, Object>) env.payload();
@@ -0,0 +1,4 @@
+package com.questify.repository;
+
+/** Per-submission proof scan tally from {@link SubmissionProofRepository#scanCountsBySubmissionIdIn}. */
+public record ProofScanCounts(Long submissionId, Long total, Long clean, Long bad) {}
@@ -3,7 +3,10 @@ package com.questify.repository;
 import com.questify.domain.ProofScanStatus;
 import com.questify.domain.SubmissionProof;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,13 +14,24 @@ public interface SubmissionProofRepository extends JpaRepository<SubmissionProof
 
     Optional<SubmissionProof> findByProofKey(String proofKey);
 
+    List<SubmissionProof> findByProofKeyIn(Collection<String> proofKeys);
+
     List<SubmissionProof> findBySubmissionIdOrderByCreatedAtAsc(Long submissionId);
 
     List<SubmissionProof> findBySubmissionIdOrderByIdAsc(Long submissionId);
 
-    long countBySubmissionId(Long submissionId);
-
-    long countBySubmissionIdAndScanStatus(Long submissionId, ProofScanStatus status);
-
-    long countBySubmissionIdAndScanStatusIn(Long submissionId, List<ProofScanStatus> statuses);
+    /** Total, clean and bad proof counts for each submission in one grouped query. */
+    @Query("""
+           select new com.questify.repository.ProofScanCounts(
+                      p.submissionId,
+                      count(p),
+                      sum(case when p.scanStatus = :clean then 1 else 0 end),
+                      sum(case when p.scanStatus in :bad then 1 else 0 end))
+             from SubmissionProof p
+            where p.submissionId in :submissionIds
+            group by p.submissionId
+           """)
+    List<ProofScanCounts> scanCountsBySubmissionIdIn(@Param("submissionIds") Collection<Long> submissionIds,
+                                                     @Param("clean") ProofScanStatus clean,
+                                                     @Param("bad") Collection<ProofScanStatus> bad);
 }
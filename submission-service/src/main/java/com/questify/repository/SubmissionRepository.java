@@ -10,6 +10,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -45,4 +46,57 @@ public interface SubmissionRepository extends JpaRepository<Submission, Long> {
             Instant reviewedBefore
     );
 
+    /**
+     * Locks up to {@code limit} pending submissions in queue order that are unclaimed, whose lease ran
+     * out, or that are already leased to {@code reviewer}; rows locked by another reviewer's claim are skipped.
+     */
+    @Query(value = """
+           select id
+           from submissions
+           where status = 'PENDING'
+             and (review_lease_until is null or review_lease_until < :now or review_claimed_by = :reviewer)
+           order by review_priority_at asc, id asc
+           limit :limit
+           for update skip locked
+           """, nativeQuery = true)
+    List<Long> lockClaimableForReview(@Param("reviewer") String reviewer, @Param("now") Instant now, @Param("limit") int limit);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+           update Submission s
+              set s.reviewClaimedBy = :reviewer,
+                  s.reviewLeaseUntil = :leaseUntil
+            where s.id in :ids
+           """)
+    int leaseForReview(@Param("ids") Collection<Long> ids,
+                       @Param("reviewer") String reviewer,
+                       @Param("leaseUntil") Instant leaseUntil);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+           update Submission s
+              set s.reviewClaimedBy = null,
+                  s.reviewLeaseUntil = null
+            where s.id = :id
+              and s.reviewClaimedBy = :reviewer
+           """)
+    int releaseReviewLease(@Param("id") Long id, @Param("reviewer") String reviewer);
+
+    /**
+     * Clears the lease ahead of a review unless another reviewer still holds it. The update locks the
+     * row until the review commits, so a concurrent claim skips it and a concurrent review re-checks
+     * the lease after this one.
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+           update Submission s
+              set s.reviewClaimedBy = null,
+                  s.reviewLeaseUntil = null
+            where s.id = :id
+              and (s.reviewClaimedBy is null
+                   or s.reviewClaimedBy = :reviewer
+                   or s.reviewLeaseUntil is null
+                   or s.reviewLeaseUntil <= :now)
+           """)
+    int takeLeaseForReview(@Param("id") Long id, @Param("reviewer") String reviewer, @Param("now") Instant now);
 }
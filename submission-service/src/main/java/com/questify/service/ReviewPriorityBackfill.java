@@ -0,0 +1,61 @@
+package com.questify.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sets {@code review_priority_at = created_at} on submissions that predate the reviewer queue. The
+ * column is added as {@code null} and MySQL orders nulls first, so without this every legacy pending
+ * row would sort ahead of any AI-boosted one. Runs synchronously at startup, before the service
+ * reports ready, in id ranges; only touches rows that are still {@code null}, so it also catches
+ * submissions written by replicas of the previous release during a rollout.
+ */
+@Slf4j
+@Component
+public class ReviewPriorityBackfill {
+
+    private static final String FILL = """
+            update submissions
+            set review_priority_at = created_at
+            where id > ? and id <= ?
+              and review_priority_at is null
+            """;
+
+    private final JdbcTemplate jdbc;
+
+    @Value("${app.review-queue.priority-backfill.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.review-queue.priority-backfill.chunk-size:5000}")
+    private int chunkSize;
+
+    public ReviewPriorityBackfill(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void backfillOnStart() {
+        if (enabled) backfill();
+    }
+
+    public long backfill() {
+        long filled = 0;
+        try {
+            Long maxId = jdbc.queryForObject("select max(id) from submissions", Long.class);
+            long last = maxId == null ? 0 : maxId;
+
+            for (long from = 0; from < last; from += chunkSize) {
+                filled += jdbc.update(FILL, from, Math.min(last, from + chunkSize));
+            }
+            if (filled > 0) log.info("Review priority backfilled for {} submissions", filled);
+        } catch (DataAccessException e) {
+            log.error("Review priority backfill stopped after {} submissions: {}", filled, e.toString());
+        }
+        return filled;
+    }
+}
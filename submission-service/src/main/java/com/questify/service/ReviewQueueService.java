@@ -0,0 +1,90 @@
+package com.questify.service;
+
+import com.questify.domain.Submission;
+import com.questify.repository.SubmissionRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reviewer work queue over pending submissions. Claims pick rows with {@code for update skip locked}
+ * and lease them to the reviewer, so concurrent reviewers get disjoint work instead of paging through
+ * the same rows; a lease that runs out (the reviewer walked away) makes the submission claimable again.
+ * <p>
+ * Queue order is {@code review_priority_at}: the creation time, moved earlier by up to
+ * {@code confidence-boost} for confident AI recommendations, so clear-cut cases go first without
+ * starving older, unclear ones for longer than the boost.
+ */
+@Slf4j
+@Service
+public class ReviewQueueService {
+
+    private static final Set<String> BOOSTED_RECOMMENDATIONS = Set.of("LIKELY_VALID", "LIKELY_INVALID");
+
+    private final SubmissionRepository submissions;
+    private final Duration lease;
+    private final int maxClaim;
+    private final Duration confidenceBoost;
+
+    public record Claim(List<Submission> items, Instant leaseUntil) {}
+
+    public ReviewQueueService(SubmissionRepository submissions,
+                              @Value("${app.review-queue.lease:PT10M}") Duration lease,
+                              @Value("${app.review-queue.max-claim:20}") int maxClaim,
+                              @Value("${app.review-queue.confidence-boost:PT1H}") Duration confidenceBoost) {
+        this.submissions = submissions;
+        this.lease = lease;
+        this.maxClaim = maxClaim;
+        this.confidenceBoost = confidenceBoost;
+    }
+
+    /** Leases up to {@code limit} pending submissions to the reviewer, in queue order; held leases are renewed. */
+    @Transactional
+    public Claim claim(String reviewerUserId, int limit) {
+        var now = Instant.now();
+        var leaseUntil = now.plus(lease);
+        var ids = submissions.lockClaimableForReview(reviewerUserId, now, Math.clamp(limit, 1, maxClaim));
+        if (ids.isEmpty()) return new Claim(List.of(), leaseUntil);
+
+        submissions.leaseForReview(ids, reviewerUserId, leaseUntil);
+        var items = submissions.findAllById(ids).stream()
+                .sorted(Comparator.comparing(Submission::getReviewPriorityAt, Comparator.nullsFirst(Comparator.naturalOrder()))
+                        .thenComparing(Submission::getId))
+                .toList();
+        return new Claim(items, leaseUntil);
+    }
+
+    /** Hands a claimed submission back to the queue; a no-op unless the reviewer holds it. */
+    @Transactional
+    public boolean release(Long submissionId, String reviewerUserId) {
+        return submissions.releaseReviewLease(submissionId, reviewerUserId) == 1;
+    }
+
+    /** Stores the AI result and re-positions the submission in the queue. */
+    @Transactional
+    public void recordAiReview(Long submissionId, String recommendation, Double confidence) {
+        var s = submissions.findById(submissionId)
+                .orElseThrow(() -> new EntityNotFoundException("Submission %d not found".formatted(submissionId)));
+
+        s.setAiRecommendation(recommendation);
+        s.setAiConfidence(confidence);
+        s.setReviewPriorityAt(priorityAt(s.getCreatedAt(), recommendation, confidence));
+        submissions.save(s);
+        log.info("Submission id={} re-queued by AI review recommendation={} confidence={}",
+                s.getId(), recommendation, confidence);
+    }
+
+    Instant priorityAt(Instant createdAt, String recommendation, Double confidence) {
+        if (confidence == null || !BOOSTED_RECOMMENDATIONS.contains(recommendation)) return createdAt;
+        double weight = Math.clamp(confidence, 0.0, 1.0);
+        return createdAt.minusMillis(Math.round(confidenceBoost.toMillis() * weight));
+    }
+}
@@ -12,6 +12,7 @@ import com.questify.domain.SubmissionProof;
 import com.questify.dto.SubmissionDtos.CreateSubmissionReq;
 import com.questify.dto.SubmissionDtos.ReviewReq;
 import com.questify.kafka.EventPublisher;
+import com.questify.repository.ProofScanCounts;
 import com.questify.repository.SubmissionProofRepository;
 import com.questify.repository.SubmissionRepository;
 import jakarta.persistence.EntityNotFoundException;
@@ -19,9 +20,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -40,6 +43,7 @@ public class SubmissionService {
     private final QuestProgressClient questProgress;
     private final EventPublisher events;
     private final ProcessedEventService processedEvents;
+    private final TransactionOperations tx;
 
     @Value("${app.kafka.topics.submissions:submissions}")
     private String submissionsTopic;
@@ -54,7 +58,8 @@ public class SubmissionService {
                              AiReviewClient aiReviewClient,
                              QuestProgressClient questProgress,
                              EventPublisher events,
-                             ProcessedEventService processedEvents) {
+                             ProcessedEventService processedEvents,
+                             TransactionOperations tx) {
         this.submissions = submissions;
         this.submissionProofs = submissionProofs;
         this.questAccess = questAccess;
@@ -63,6 +68,7 @@ public class SubmissionService {
         this.questProgress = questProgress;
         this.events = events;
         this.processedEvents = processedEvents;
+        this.tx = tx;
     }
 
     @Transactional
@@ -94,12 +100,16 @@ public class SubmissionService {
         return saved;
     }
 
-    @Transactional
     public Submission createFromMultipart(Long questId, String note, MultipartFile file, String userId, String bearer) {
         return createFromMultipartMany(questId, note, List.of(file), userId, bearer);
     }
 
-    @Transactional
+    /**
+     * Uploads all proofs concurrently through {@link ProofClient#uploadAll} before any database work,
+     * then persists the submission, its proofs and the outbox events in one short transaction. If that
+     * transaction fails the uploaded objects are deleted again. The AI review fallback is triggered only
+     * after commit, so the reviewer never looks up a submission that is not visible yet.
+     */
     public Submission createFromMultipartMany(Long questId, String note, List<MultipartFile> files, String userId, String bearer) {
         if (!questAccess.allowed(userId, questId)) {
             throw new AccessDeniedException("You are not a participant/owner of this quest.");
@@ -119,40 +129,12 @@ public class SubmissionService {
 
         List<String> uploadedKeys = new ArrayList<>();
         try {
-            var firstUp = proofClient.upload(safeFiles.get(0), bearer);
-            uploadedKeys.add(firstUp.key());
-
-            var s = Submission.builder()
-                    .questId(questId)
-                    .userId(userId)
-                    .proofKey(firstUp.key())
-                    .note(note)
-                    .status(ReviewStatus.PENDING)
-                    .build();
-
-            var saved = submissions.save(s);
-
-            submissionProofs.save(SubmissionProof.builder()
-                    .submissionId(saved.getId())
-                    .proofKey(firstUp.key())
-                    .scanStatus(ProofScanStatus.PENDING)
-                    .build());
-            publishProofUploaded(saved, firstUp.key());
-
-            for (int i = 1; i < safeFiles.size(); i++) {
-                var up = proofClient.upload(safeFiles.get(i), bearer);
+            for (var up : proofClient.uploadAll(safeFiles, bearer)) {
                 uploadedKeys.add(up.key());
-
-                submissionProofs.save(SubmissionProof.builder()
-                        .submissionId(saved.getId())
-                        .proofKey(up.key())
-                        .scanStatus(ProofScanStatus.PENDING)
-                        .build());
-
-                publishProofUploaded(saved, up.key());
             }
 
-            publishSubmissionCreated(saved, uploadedKeys);
+            var saved = tx.execute(status -> persistWithProofs(questId, userId, note, uploadedKeys));
+
             triggerAiReviewFallback(saved.getId());
             return saved;
 
@@ -170,6 +152,28 @@ public class SubmissionService {
         }
     }
 
+    private Submission persistWithProofs(Long questId, String userId, String note, List<String> proofKeys) {
+        var saved = submissions.save(Submission.builder()
+                .questId(questId)
+                .userId(userId)
+                .proofKey(proofKeys.getFirst())
+                .note(note)
+                .status(ReviewStatus.PENDING)
+                .build());
+
+        for (String key : proofKeys) {
+            submissionProofs.save(SubmissionProof.builder()
+                    .submissionId(saved.getId())
+                    .proofKey(key)
+                    .scanStatus(ProofScanStatus.PENDING)
+                    .build());
+            publishProofUploaded(saved, key);
+        }
+
+        publishSubmissionCreated(saved, proofKeys);
+        return saved;
+    }
+
     private void cleanupUploaded(List<String> keys) {
         for (String k : keys) {
             try {
@@ -242,7 +246,8 @@ public class SubmissionService {
     }
 
     public Page<Submission> pending(int page, int size) {
-        return submissions.findByStatus(ReviewStatus.PENDING, PageRequest.of(page, size));
+        return submissions.findByStatus(ReviewStatus.PENDING,
+                PageRequest.of(page, size, Sort.by("reviewPriorityAt", "id")));
     }
 
     public Page<Submission> byStatus(ReviewStatus status, int page, int size) {
@@ -255,6 +260,10 @@ public class SubmissionService {
 
     @Transactional
     public Submission review(Long id, ReviewReq req, String reviewerUserId) {
+        if (submissions.takeLeaseForReview(id, reviewerUserId, Instant.now()) == 0) {
+            get(id);
+            throw new ResponseStatusException(org.springframework.http.HttpStatus.CONFLICT, "Submission is claimed by another reviewer");
+        }
         var s = get(id);
 
         s.setStatus(req.status());
@@ -287,6 +296,11 @@ public class SubmissionService {
         return saved;
     }
 
+    /** One {@code ProofScanned} result as read from the topic; {@code eventId} may be null for legacy messages. */
+    public record ProofScanResult(String eventId, String proofKey, String scanStatus) {}
+
+    private static final List<ProofScanStatus> BAD_SCAN_STATUSES = List.of(ProofScanStatus.INFECTED, ProofScanStatus.ERROR);
+
     @Transactional
     public void applyProofScanResultIdempotent(String consumerGroup, String eventId, String proofKey, String scanStatus) {
         if (!processedEvents.markProcessedIfNew(consumerGroup, eventId)) {
@@ -296,6 +310,50 @@ public class SubmissionService {
         applyProofScanResult(proofKey, scanStatus);
     }
 
+    /**
+     * Applies a whole poll of scan results in one transaction: already-processed events are filtered
+     * with one query, proofs are loaded and saved together, and each affected submission is
+     * re-aggregated once from a single grouped count query, whatever the number of its proofs in the poll.
+     */
+    @Transactional
+    public void applyProofScanResultsIdempotent(String consumerGroup, List<ProofScanResult> results) {
+        var fresh = processedEvents.filterUnprocessed(consumerGroup, results, ProofScanResult::eventId);
+        int skipped = results.size() - fresh.size();
+        if (skipped > 0) log.info("Duplicate ProofScanned skipped count={}", skipped);
+        if (fresh.isEmpty()) return;
+
+        // Later results for the same proof win, as they would when applied one by one.
+        Map<String, ProofScanStatus> byKey = new LinkedHashMap<>();
+        for (var r : fresh) byKey.put(r.proofKey(), toScanStatus(r.scanStatus()));
+
+        var proofs = submissionProofs.findByProofKeyIn(byKey.keySet());
+        Map<Long, ProofScanStatus> triggers = new LinkedHashMap<>();
+        Instant now = Instant.now();
+        for (var proof : proofs) {
+            ProofScanStatus mapped = byKey.remove(proof.getProofKey());
+            proof.setScanStatus(mapped);
+            proof.setScannedAt(now);
+            // A bad result decides the rejection reason, as the first bad event would have one by one.
+            triggers.merge(proof.getSubmissionId(), mapped, (prev, next) -> isBad(prev) ? prev : next);
+        }
+        submissionProofs.saveAll(proofs);
+
+        byKey.forEach((proofKey, mapped) -> {
+            var legacy = submissions.findByProofKey(proofKey);
+            if (legacy.isEmpty()) {
+                log.warn("proof-scanned for unknown proofKey={}, scanStatus={}", proofKey, mapped);
+            } else {
+                applyAggregateScanResultLegacy(legacy.get(), mapped);
+            }
+        });
+
+        if (triggers.isEmpty()) return;
+        var counts = scanCounts(triggers.keySet());
+        for (var s : submissions.findAllById(triggers.keySet())) {
+            applyAggregateScanResult(s, counts.get(s.getId()), triggers.get(s.getId()));
+        }
+    }
+
     @Transactional
     public void applyProofScanResult(String proofKey, String scanStatus) {
         ProofScanStatus mapped = toScanStatus(scanStatus);
@@ -318,17 +376,20 @@ public class SubmissionService {
         submissionProofs.save(proof);
 
         var s = get(proof.getSubmissionId());
+        applyAggregateScanResult(s, null, mapped);
+    }
 
+    /** Re-aggregates the submission's scan state; {@code counts} are loaded when not already at hand. */
+    private void applyAggregateScanResult(Submission s, ProofScanCounts counts, ProofScanStatus mapped) {
         if (s.getStatus() == ReviewStatus.APPROVED || s.getStatus() == ReviewStatus.REJECTED) {
             log.info("Ignoring proof-scanned for already-final submission id={} status={}", s.getId(), s.getStatus());
             return;
         }
 
-        long total = submissionProofs.countBySubmissionId(s.getId());
-        long bad = submissionProofs.countBySubmissionIdAndScanStatusIn(
-                s.getId(), List.of(ProofScanStatus.INFECTED, ProofScanStatus.ERROR)
-        );
-        long clean = submissionProofs.countBySubmissionIdAndScanStatus(s.getId(), ProofScanStatus.CLEAN);
+        if (counts == null) counts = scanCounts(List.of(s.getId())).get(s.getId());
+        long total = counts == null ? 0 : counts.total();
+        long bad = counts == null ? 0 : counts.bad();
+        long clean = counts == null ? 0 : counts.clean();
 
         if (bad > 0) {
             s.setStatus(ReviewStatus.REJECTED);
@@ -358,6 +419,18 @@ public class SubmissionService {
         }
     }
 
+    private Map<Long, ProofScanCounts> scanCounts(Collection<Long> submissionIds) {
+        var out = new HashMap<Long, ProofScanCounts>();
+        for (var c : submissionProofs.scanCountsBySubmissionIdIn(submissionIds, ProofScanStatus.CLEAN, BAD_SCAN_STATUSES)) {
+            out.put(c.submissionId(), c);
+        }
+        return out;
+    }
+
+    private static boolean isBad(ProofScanStatus status) {
+        return BAD_SCAN_STATUSES.contains(status);
+    }
+
     private void applyAggregateScanResultLegacy(Submission s, ProofScanStatus mapped) {
         if (s.getStatus() == ReviewStatus.APPROVED || s.getStatus() == ReviewStatus.REJECTED) return;
 
@@ -408,10 +481,9 @@ public class SubmissionService {
         return List.of();
     }
 
+    /** All proof urls of a submission, signed with one batch call instead of one request per proof. */
     public List<String> signedGetUrlsForSubmission(Long submissionId) {
-        return proofKeysForSubmission(submissionId).stream()
-                .map(this::signedGetUrl)
-                .toList();
+        return proofClient.signGetMany(proofKeysForSubmission(submissionId));
     }
 
     public String publicUrl(String proofKey) { return proofClient.publicUrl(proofKey); }
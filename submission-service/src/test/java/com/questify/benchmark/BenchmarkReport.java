@@ -0,0 +1,35 @@
+package com.questify.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Markdown report shared by the opt-in benchmarks, written under {@code build/reports/<name>/<utc timestamp>/}. */
+final class BenchmarkReport {
+
+    private static final DateTimeFormatter TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+
+    private BenchmarkReport() {}
+
+    static Path write(String name, String title, String description, List<String> columns, List<String> rows)
+            throws IOException {
+        Path out = Path.of("build", "reports", name, TIMESTAMP.format(Instant.now()));
+        Files.createDirectories(out);
+
+        List<String> lines = new ArrayList<>();
+        lines.add("# " + title);
+        lines.add("");
+        lines.add(description);
+        lines.add("");
+        lines.add("| " + String.join(" | ", columns) + " |");
+        lines.add("|" + "---|".repeat(columns.size()));
+        lines.addAll(rows);
+        return Files.write(out.resolve("report.md"), lines);
+    }
+}
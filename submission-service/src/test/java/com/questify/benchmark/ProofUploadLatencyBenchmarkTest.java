@@ -0,0 +1,154 @@
+package com.questify.benchmark;
+
+import com.questify.client.ProofClient;
+import com.questify.client.ProofUrlCache;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures the upload stage of a multi-proof submission: the previous sequential loop (presign + PUT
+ * per file, one after the other) against {@link ProofClient#uploadAll} (one batch presign, concurrent
+ * streaming PUTs). proof-service and object storage are simulated by an in-process HTTP server that
+ * adds a fixed latency per presign and per PUT plus transfer time at a fixed bandwidth.
+ * <p>
+ * Run with {@code ./gradlew proofUploadBenchmark [-Dproof.benchmark.files=1,5,10]
+ * [-Dproof.benchmark.iterations=30] [-Dproof.benchmark.fileKb=512] [-Dproof.benchmark.presignMs=20]
+ * [-Dproof.benchmark.putMs=60] [-Dproof.benchmark.mbps=200]}.
+ */
+@Tag("proof-upload-benchmark")
+@EnabledIfSystemProperty(named = "proof.benchmark.enabled", matches = "true")
+class ProofUploadLatencyBenchmarkTest {
+
+    @Test
+    void compares_sequential_with_concurrent_uploads() throws Exception {
+        List<Integer> fileCounts = ints(System.getProperty("proof.benchmark.files", "1,5,10"));
+        int iterations = Integer.parseInt(System.getProperty("proof.benchmark.iterations", "30"));
+        int fileKb = Integer.parseInt(System.getProperty("proof.benchmark.fileKb", "512"));
+        long presignMs = Long.parseLong(System.getProperty("proof.benchmark.presignMs", "20"));
+        long putMs = Long.parseLong(System.getProperty("proof.benchmark.putMs", "60"));
+        double mbps = Double.parseDouble(System.getProperty("proof.benchmark.mbps", "200"));
+
+        var server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        String base = "http://127.0.0.1:" + server.getAddress().getPort();
+        server.createContext("/api/uploads", ex -> presign(ex, base, presignMs));
+        server.createContext("/s3/", ex -> put(ex, putMs, mbps));
+        server.start();
+        try {
+            var client = new ProofClient(base + "/api", "", "token", "", 4,
+                    new ProofUrlCache(new SimpleMeterRegistry(), false, 1, Duration.ZERO));
+            byte[] body = new byte[fileKb * 1024];
+            List<String> rows = new ArrayList<>();
+            for (int n : fileCounts) {
+                List<MultipartFile> files = new ArrayList<>();
+                for (int i = 0; i < n; i++) files.add(new MockMultipartFile("files", "p" + i + ".jpg", "image/jpeg", body));
+
+                client.uploadAll(files, "t"); // warm-up
+                long[] sequential = new long[iterations];
+                long[] concurrent = new long[iterations];
+                for (int it = 0; it < iterations; it++) {
+                    long t = System.nanoTime();
+                    for (var f : files) assertThat(client.upload(f, "t").key()).isNotNull();
+                    sequential[it] = System.nanoTime() - t;
+
+                    t = System.nanoTime();
+                    assertThat(client.uploadAll(files, "t")).hasSize(n);
+                    concurrent[it] = System.nanoTime() - t;
+                }
+                rows.add("| %d | %d | %.0f | %.0f | %.0f | %.0f |".formatted(n, iterations,
+                        ms(percentile(sequential, 50)), ms(percentile(sequential, 95)),
+                        ms(percentile(concurrent, 50)), ms(percentile(concurrent, 95))));
+            }
+            writeReport(fileKb, presignMs, putMs, mbps, rows);
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    private static void presign(HttpExchange ex, String base, long presignMs) throws IOException {
+        sleep(presignMs);
+        String path = ex.getRequestURI().getPath();
+        String json;
+        if (path.endsWith("/batch")) {
+            String req = new String(ex.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            int n = req.split("\"image/").length - 1;
+            var items = new ArrayList<String>();
+            for (int i = 0; i < n; i++) items.add(item(base));
+            json = "{\"items\":[" + String.join(",", items) + "]}";
+        } else {
+            json = item(base);
+        }
+        byte[] out = json.getBytes(StandardCharsets.UTF_8);
+        ex.getResponseHeaders().add("Content-Type", "application/json");
+        ex.sendResponseHeaders(200, out.length);
+        ex.getResponseBody().write(out);
+        ex.close();
+    }
+
+    private static String item(String base) {
+        String id = UUID.randomUUID().toString();
+        return "{\"key\":\"proofs/u/" + id + "\",\"putUrl\":\"" + base + "/s3/" + id + "\"}";
+    }
+
+    private static void put(HttpExchange ex, long putMs, double mbps) throws IOException {
+        long bytes = ex.getRequestBody().transferTo(java.io.OutputStream.nullOutputStream());
+        sleep(putMs + (long) (bytes * 8 / (mbps * 1_000_000) * 1000));
+        ex.sendResponseHeaders(200, -1);
+        ex.close();
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static long percentile(long[] values, int p) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int idx = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, idx))];
+    }
+
+    private static double ms(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static List<Integer> ints(String csv) {
+        return Arrays.stream(csv.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .map(Integer::parseInt)
+                .toList();
+    }
+
+    private static void writeReport(int fileKb, long presignMs, long putMs, double mbps, List<String> rows) throws Exception {
+        BenchmarkReport.write("proof-upload-benchmark", "Proof upload latency benchmark",
+                ("Upload-stage latency per submission for %d KB images. Simulated presign %d ms, PUT %d ms + "
+                        + "transfer at %.0f Mbit/s. Sequential = presign + PUT per file in turn; concurrent = "
+                        + "ProofClient.uploadAll (one batch presign, 4 concurrent streaming PUTs).")
+                        .formatted(fileKb, presignMs, putMs, mbps),
+                List.of("files", "iterations", "sequential p50 ms", "sequential p95 ms", "concurrent p50 ms", "concurrent p95 ms"),
+                rows);
+    }
+}
@@ -0,0 +1,50 @@
+package com.questify.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProofUrlCacheTest {
+
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    ProofUrlCache cache = new ProofUrlCache(registry, true, 100, Duration.ofMinutes(2));
+
+    @Test
+    void reuses_url_while_enough_lifetime_remains() {
+        cache.put("k1", "S1", Instant.now().plusSeconds(900));
+
+        assertThat(cache.get("k1")).isEqualTo("S1");
+        assertThat(cache.get("k2")).isNull();
+        assertThat(registry.get("proof_url_cache_gets").tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(registry.get("proof_url_cache_gets").tag("result", "miss").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void skips_urls_that_would_expire_within_min_remaining() {
+        cache.put("k1", "S1", Instant.now().plusSeconds(60));
+
+        assertThat(cache.get("k1")).isNull();
+    }
+
+    @Test
+    void evict_drops_the_url() {
+        cache.put("k1", "S1", Instant.now().plusSeconds(900));
+        cache.evict("k1");
+
+        assertThat(cache.get("k1")).isNull();
+    }
+
+    @Test
+    void disabled_cache_never_hits() {
+        var off = new ProofUrlCache(registry, false, 100, Duration.ofMinutes(2));
+        off.put("k1", "S1", Instant.now().plusSeconds(900));
+
+        assertThat(off.get("k1")).isNull();
+        off.recordSavedRequest();
+        assertThat(registry.get("proof_url_cache_saved_requests").counter().count()).isZero();
+    }
+}
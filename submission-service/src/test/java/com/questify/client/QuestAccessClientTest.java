@@ -0,0 +1,51 @@
+package com.questify.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QuestAccessClientTest {
+
+    AtomicInteger calls = new AtomicInteger();
+    QuestAccessCache cache = new QuestAccessCache(new SimpleMeterRegistry(), true, 10_000, Duration.ofMinutes(5), Duration.ofSeconds(5));
+
+    QuestAccessClient client = new QuestAccessClient("http://quest-service", "t",
+            WebClient.builder().exchangeFunction(req -> {
+                calls.incrementAndGet();
+                return Mono.just(ClientResponse.create(HttpStatus.OK)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .body("{\"results\":[{\"questId\":1,\"userId\":\"u1\",\"allowed\":true}]}")
+                        .build());
+            }),
+            cache);
+
+    @Test
+    void misses_above_the_server_cap_are_split_into_several_calls() {
+        List<Long> questIds = LongStream.rangeClosed(1, 1200).boxed().toList();
+
+        var allowed = client.allowedQuestIds("u1", questIds);
+
+        assertThat(calls.get()).isEqualTo(3);
+        assertThat(allowed).containsExactly(1L);
+    }
+
+    @Test
+    void cached_decisions_skip_the_call() {
+        assertThat(client.allowed("u1", 1L)).isTrue();
+        assertThat(client.allowed("u1", 1L)).isTrue();
+
+        assertThat(calls.get()).isEqualTo(1);
+    }
+}
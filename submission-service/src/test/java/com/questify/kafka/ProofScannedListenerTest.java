@@ -0,0 +1,97 @@
+package com.questify.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.questify.service.SubmissionService;
+import com.questify.service.SubmissionService.ProofScanResult;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProofScannedListenerTest {
+
+    @Mock SubmissionService submissionService;
+    @Mock Acknowledgment ack;
+
+    ProofScannedListener listener;
+
+    @BeforeEach
+    void setup() {
+        listener = new ProofScannedListener(submissionService, new ObjectMapper());
+        ReflectionTestUtils.setField(listener, "proofScannedGroup", "cg");
+    }
+
+    @Test
+    void applies_readable_results_before_reporting_the_unreadable_record() {
+        var records = List.of(
+                record(0, scanned("e1", "a", "CLEAN")),
+                record(1, "{not json"),
+                record(2, scanned("e3", "c", "INFECTED")));
+
+        var ex = assertThrows(BatchListenerFailedException.class, () -> listener.onProofScanned(records, ack));
+
+        assertThat(ex.getIndex()).isEqualTo(1);
+        verify(submissionService).applyProofScanResultsIdempotent("cg", List.of(
+                new ProofScanResult("e1", "a", "CLEAN"),
+                new ProofScanResult("e3", "c", "INFECTED")));
+        verify(ack, never()).acknowledge();
+    }
+
+    @Test
+    void readable_poll_is_applied_in_one_call_and_acknowledged() {
+        var records = List.of(
+                record(0, scanned("e1", "a", "CLEAN")),
+                record(1, Map.of("proofKey", "b")),
+                record(2, scanned("e3", "c", "CLEAN")));
+
+        listener.onProofScanned(records, ack);
+
+        verify(submissionService).applyProofScanResultsIdempotent("cg", List.of(
+                new ProofScanResult("e1", "a", "CLEAN"),
+                new ProofScanResult("e3", "c", "CLEAN")));
+        verify(ack).acknowledge();
+    }
+
+    @Test
+    void handling_failure_after_the_unreadable_record_still_reports_the_earlier_index() {
+        var records = List.of(
+                record(0, scanned("e1", "a", "CLEAN")),
+                record(1, "{not json"),
+                record(2, scanned("e3", "c", "CLEAN")));
+        doThrow(new IllegalStateException("db down"))
+                .when(submissionService).applyProofScanResultsIdempotent(anyString(), anyList());
+        doNothing()
+                .when(submissionService).applyProofScanResultIdempotent("cg", "e1", "a", "CLEAN");
+        doThrow(new IllegalStateException("db down"))
+                .when(submissionService).applyProofScanResultIdempotent("cg", "e3", "c", "CLEAN");
+
+        var ex = assertThrows(BatchListenerFailedException.class, () -> listener.onProofScanned(records, ack));
+
+        assertThat(ex.getIndex()).isEqualTo(1);
+        verify(submissionService).applyProofScanResultIdempotent("cg", "e1", "a", "CLEAN");
+        verify(submissionService).applyProofScanResultIdempotent("cg", "e3", "c", "CLEAN");
+        verify(ack, never()).acknowledge();
+    }
+
+    private static ConsumerRecord<String, Object> record(long offset, Object value) {
+        return new ConsumerRecord<>("proof-scanned", 0, offset, "k", value);
+    }
+
+    private static Map<String, Object> scanned(String eventId, String proofKey, String scanStatus) {
+        return Map.of("eventId", eventId, "payload", Map.of("proofKey", proofKey, "scanStatus", scanStatus));
+    }
+}
@@ -0,0 +1,98 @@
+package com.questify.service;
+
+import com.questify.domain.ReviewStatus;
+import com.questify.domain.Submission;
+import com.questify.repository.SubmissionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReviewQueueServiceTest {
+
+    private static final Instant CREATED = Instant.parse("2025-01-01T12:00:00Z");
+
+    @Mock SubmissionRepository submissions;
+
+    ReviewQueueService queue;
+
+    @BeforeEach
+    void setup() {
+        queue = new ReviewQueueService(submissions, Duration.ofMinutes(10), 20, Duration.ofHours(1));
+    }
+
+    @Test
+    void claim_leases_locked_rows_and_returns_them_in_queue_order() {
+        var older = sub(1L, CREATED.minusSeconds(60));
+        var boosted = sub(2L, CREATED.minusSeconds(1800));
+        when(submissions.lockClaimableForReview(eq("rev1"), any(), eq(2))).thenReturn(List.of(1L, 2L));
+        when(submissions.findAllById(List.of(1L, 2L))).thenReturn(List.of(older, boosted));
+
+        var claim = queue.claim("rev1", 2);
+
+        verify(submissions).leaseForReview(eq(List.of(1L, 2L)), eq("rev1"), eq(claim.leaseUntil()));
+        assertThat(claim.items()).containsExactly(boosted, older);
+        assertThat(claim.leaseUntil()).isAfter(Instant.now().plus(Duration.ofMinutes(9)));
+    }
+
+    @Test
+    void claim_caps_the_batch_and_skips_the_lease_update_when_nothing_is_free() {
+        when(submissions.lockClaimableForReview(eq("rev1"), any(), eq(20))).thenReturn(List.of());
+
+        var claim = queue.claim("rev1", 500);
+
+        assertThat(claim.items()).isEmpty();
+        verify(submissions, never()).leaseForReview(any(), any(), any());
+    }
+
+    @Test
+    void confident_recommendations_move_ahead_by_at_most_the_boost() {
+        assertThat(queue.priorityAt(CREATED, "LIKELY_VALID", 1.0)).isEqualTo(CREATED.minus(Duration.ofHours(1)));
+        assertThat(queue.priorityAt(CREATED, "LIKELY_INVALID", 0.5)).isEqualTo(CREATED.minus(Duration.ofMinutes(30)));
+        assertThat(queue.priorityAt(CREATED, "LIKELY_VALID", 7.0)).isEqualTo(CREATED.minus(Duration.ofHours(1)));
+        assertThat(queue.priorityAt(CREATED, "UNCLEAR", 0.9)).isEqualTo(CREATED);
+        assertThat(queue.priorityAt(CREATED, "AI_FAILED", null)).isEqualTo(CREATED);
+    }
+
+    @Test
+    void recordAiReview_stores_signal_and_requeues() {
+        var s = sub(3L, CREATED);
+        when(submissions.findById(3L)).thenReturn(Optional.of(s));
+
+        queue.recordAiReview(3L, "LIKELY_VALID", 0.8);
+
+        assertThat(s.getAiRecommendation()).isEqualTo("LIKELY_VALID");
+        assertThat(s.getAiConfidence()).isEqualTo(0.8);
+        assertThat(s.getReviewPriorityAt()).isEqualTo(CREATED.minus(Duration.ofMinutes(48)));
+        verify(submissions).save(s);
+    }
+
+    @Test
+    void release_reports_whether_the_reviewer_held_the_lease() {
+        when(submissions.releaseReviewLease(4L, "rev1")).thenReturn(1);
+        when(submissions.releaseReviewLease(4L, "rev2")).thenReturn(0);
+
+        assertThat(queue.release(4L, "rev1")).isTrue();
+        assertThat(queue.release(4L, "rev2")).isFalse();
+    }
+
+    private static Submission sub(long id, Instant priorityAt) {
+        var s = new Submission();
+        s.setId(id);
+        s.setStatus(ReviewStatus.PENDING);
+        s.setCreatedAt(CREATED);
+        s.setReviewPriorityAt(priorityAt);
+        return s;
+    }
+}
@@ -12,6 +12,7 @@ import com.questify.domain.SubmissionProof;
 import com.questify.dto.SubmissionDtos.CreateSubmissionReq;
 import com.questify.dto.SubmissionDtos.ReviewReq;
 import com.questify.kafka.EventPublisher;
+import com.questify.repository.ProofScanCounts;
 import com.questify.repository.SubmissionProofRepository;
 import com.questify.repository.SubmissionRepository;
 import jakarta.persistence.EntityNotFoundException;
@@ -24,6 +25,7 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.springframework.data.domain.*;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionOperations;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -50,6 +52,7 @@ class SubmissionServiceTest {
     @Mock QuestProgressClient questProgress;
     @Mock EventPublisher events;
     @Mock ProcessedEventService processedEvents;
+    @Spy TransactionOperations tx = TransactionOperations.withoutTransaction();
 
     @InjectMocks SubmissionService service;
 
@@ -69,6 +72,7 @@ class SubmissionServiceTest {
         });
 
         when(submissionProofs.save(any(SubmissionProof.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(submissions.takeLeaseForReview(anyLong(), anyString(), any())).thenReturn(1);
     }
 
     private Submission sub(long id, long questId, String userId, ReviewStatus status) {
@@ -323,7 +327,7 @@ class SubmissionServiceTest {
         MultipartFile file = mock(MultipartFile.class);
         when(file.isEmpty()).thenReturn(false);
 
-        when(proofClient.upload(any(), any())).thenThrow(new ResponseStatusException(
+        when(proofClient.uploadAll(any(), any())).thenThrow(new ResponseStatusException(
                 org.springframework.http.HttpStatus.BAD_REQUEST, "bad upload"));
 
         ResponseStatusException ex = assertThrows(ResponseStatusException.class,
@@ -341,7 +345,7 @@ class SubmissionServiceTest {
         MultipartFile file = mock(MultipartFile.class);
         when(file.isEmpty()).thenReturn(false);
 
-        when(proofClient.upload(any(), any())).thenThrow(new RuntimeException("boom"));
+        when(proofClient.uploadAll(any(), any())).thenThrow(new RuntimeException("boom"));
 
         ResponseStatusException ex = assertThrows(ResponseStatusException.class,
                 () -> service.createFromMultipart(5L, "note", file, "u1", "Bearer t"));
@@ -370,10 +374,8 @@ class SubmissionServiceTest {
         });
 
         // Return upload results with keys (type-agnostic helper)
-        when(proofClient.upload(any(MultipartFile.class), eq("Bearer t")))
-                .thenAnswer(inv -> uploadResWithKey("k1"))
-                .thenAnswer(inv -> uploadResWithKey("k2"))
-                .thenAnswer(inv -> uploadResWithKey("k3"));
+        when(proofClient.uploadAll(List.of(f1, f2, f3), "Bearer t"))
+                .thenAnswer(inv -> List.of(uploadResWithKey("k1"), uploadResWithKey("k2"), uploadResWithKey("k3")));
 
         Submission saved = service.createFromMultipartMany(5L, "note", List.of(f1, f2, f3), "u1", "Bearer t");
 
@@ -383,7 +385,9 @@ class SubmissionServiceTest {
         assertThat(saved.getStatus()).isEqualTo(ReviewStatus.PENDING);
         assertThat(saved.getProofKey()).isEqualTo("k1");
 
-        verify(proofClient, times(3)).upload(any(MultipartFile.class), eq("Bearer t"));
+        verify(proofClient).uploadAll(List.of(f1, f2, f3), "Bearer t");
+        verify(proofClient, never()).upload(any(), any());
+        verify(tx).execute(any());
         verify(submissionProofs, times(3)).save(any(SubmissionProof.class));
 
         // ProofUploaded 3x + SubmissionCreated 1x
@@ -396,7 +400,7 @@ class SubmissionServiceTest {
     }
 
     @Test
-    void createFromMultipartMany_upload_fails_midway_cleans_up_successful_keys_and_does_not_emit_SubmissionCreated() {
+    void createFromMultipartMany_upload_failure_persists_nothing_and_does_not_emit_SubmissionCreated() {
         when(questAccess.allowed("u1", 5L)).thenReturn(true);
 
         MultipartFile f1 = mock(MultipartFile.class);
@@ -404,25 +408,42 @@ class SubmissionServiceTest {
         when(f1.isEmpty()).thenReturn(false);
         when(f2.isEmpty()).thenReturn(false);
 
-        when(submissions.save(any())).thenAnswer(inv -> {
-            Submission s = inv.getArgument(0);
-            s.setId(200L);
-            return s;
-        });
-
-        when(proofClient.upload(any(MultipartFile.class), eq("Bearer t")))
-                .thenAnswer(inv -> uploadResWithKey("k1"))
+        // uploadAll removes whatever it did upload before rethrowing
+        when(proofClient.uploadAll(any(), eq("Bearer t")))
                 .thenThrow(new ResponseStatusException(org.springframework.http.HttpStatus.BAD_REQUEST, "nope"));
 
         ResponseStatusException ex = assertThrows(ResponseStatusException.class,
                 () -> service.createFromMultipartMany(5L, "note", List.of(f1, f2), "u1", "Bearer t"));
         assertThat(ex.getStatusCode().value()).isEqualTo(400);
 
-        verify(proofClient).deleteInternalObject("k1");
+        verifyNoInteractions(tx);
+        verify(submissions, never()).save(any());
         verify(events, never()).publish(eq(SUBMISSIONS_TOPIC), eq("5"), eq("SubmissionCreated"), anyInt(), anyString(), anyMap());
         verify(aiReviewClient, never()).triggerReview(anyLong());
     }
 
+    @Test
+    void createFromMultipartMany_persist_failure_deletes_all_uploaded_objects() {
+        when(questAccess.allowed("u1", 5L)).thenReturn(true);
+
+        MultipartFile f1 = mock(MultipartFile.class);
+        MultipartFile f2 = mock(MultipartFile.class);
+        when(f1.isEmpty()).thenReturn(false);
+        when(f2.isEmpty()).thenReturn(false);
+
+        when(proofClient.uploadAll(any(), eq("Bearer t")))
+                .thenAnswer(inv -> List.of(uploadResWithKey("k1"), uploadResWithKey("k2")));
+        when(submissions.save(any())).thenThrow(new IllegalStateException("db down"));
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> service.createFromMultipartMany(5L, "note", List.of(f1, f2), "u1", "Bearer t"));
+        assertThat(ex.getStatusCode().value()).isEqualTo(500);
+
+        verify(proofClient).deleteInternalObject("k1");
+        verify(proofClient).deleteInternalObject("k2");
+        verify(aiReviewClient, never()).triggerReview(anyLong());
+    }
+
     /* ---------------------------- get ---------------------------- */
 
     @Test
@@ -541,6 +562,43 @@ class SubmissionServiceTest {
         assertThat(payload).containsEntry("reviewStatus", "REJECTED");
     }
 
+    @Test
+    void review_conflicts_while_another_reviewer_holds_the_lease() {
+        Submission existing = sub(66L, 9L, "u9", ReviewStatus.PENDING);
+        when(submissions.findById(66L)).thenReturn(Optional.of(existing));
+        when(submissions.takeLeaseForReview(eq(66L), eq("rev2"), any())).thenReturn(0);
+
+        var ex = assertThrows(ResponseStatusException.class,
+                () -> service.review(66L, new ReviewReq(ReviewStatus.APPROVED, null), "rev2"));
+
+        assertThat(ex.getStatusCode().value()).isEqualTo(409);
+        verify(submissions, never()).save(any());
+        verify(events, never()).publish(anyString(), anyString(), anyString(), anyInt(), anyString(), any());
+    }
+
+    @Test
+    void review_of_a_missing_submission_is_not_found_rather_than_a_conflict() {
+        when(submissions.takeLeaseForReview(eq(68L), eq("rev1"), any())).thenReturn(0);
+        when(submissions.findById(68L)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class,
+                () -> service.review(68L, new ReviewReq(ReviewStatus.APPROVED, null), "rev1"));
+    }
+
+    @Test
+    void review_by_lease_holder_takes_the_lease_before_loading_the_row() {
+        Submission existing = sub(67L, 9L, "u9", ReviewStatus.PENDING);
+        when(submissions.findById(67L)).thenReturn(Optional.of(existing));
+        when(submissions.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+        Submission out = service.review(67L, new ReviewReq(ReviewStatus.REJECTED, null), "rev1");
+
+        assertThat(out.getStatus()).isEqualTo(ReviewStatus.REJECTED);
+        var order = inOrder(submissions);
+        order.verify(submissions).takeLeaseForReview(eq(67L), eq("rev1"), any());
+        order.verify(submissions).findById(67L);
+    }
+
     @Test
     void review_allows_approval_even_if_legacy_submission_is_still_scanning() {
         Submission existing = sub(55L, 99L, "u99", ReviewStatus.SCANNING);
@@ -629,9 +687,7 @@ class SubmissionServiceTest {
         when(submissionProofs.findByProofKey("pk500")).thenReturn(Optional.of(proof));
         when(submissions.findById(500L)).thenReturn(Optional.of(s));
 
-        when(submissionProofs.countBySubmissionId(500L)).thenReturn(2L);
-        when(submissionProofs.countBySubmissionIdAndScanStatusIn(eq(500L), anyList())).thenReturn(0L);
-        when(submissionProofs.countBySubmissionIdAndScanStatus(500L, ProofScanStatus.CLEAN)).thenReturn(2L);
+        stubScanCounts(new ProofScanCounts(500L, 2L, 2L, 0L));
 
         service.applyProofScanResult("pk500", "CLEAN");
 
@@ -662,9 +718,7 @@ class SubmissionServiceTest {
         when(submissionProofs.findByProofKey("pk600")).thenReturn(Optional.of(proof));
         when(submissions.findById(600L)).thenReturn(Optional.of(s));
 
-        when(submissionProofs.countBySubmissionId(600L)).thenReturn(3L);
-        when(submissionProofs.countBySubmissionIdAndScanStatusIn(eq(600L), anyList())).thenReturn(1L);
-        when(submissionProofs.countBySubmissionIdAndScanStatus(600L, ProofScanStatus.CLEAN)).thenReturn(1L);
+        stubScanCounts(new ProofScanCounts(600L, 3L, 1L, 1L));
 
         service.applyProofScanResult("pk600", "INFECTED");
 
@@ -678,9 +732,7 @@ class SubmissionServiceTest {
         reset(submissions);
         when(submissions.findById(600L)).thenReturn(Optional.of(s));
         when(submissionProofs.findByProofKey("pk600")).thenReturn(Optional.of(proof));
-        when(submissionProofs.countBySubmissionId(600L)).thenReturn(3L);
-        when(submissionProofs.countBySubmissionIdAndScanStatusIn(eq(600L), anyList())).thenReturn(1L);
-        when(submissionProofs.countBySubmissionIdAndScanStatus(600L, ProofScanStatus.CLEAN)).thenReturn(1L);
+        stubScanCounts(new ProofScanCounts(600L, 3L, 1L, 1L));
 
         String before = s.getNote();
         service.applyProofScanResult("pk600", "INFECTED");
@@ -704,7 +756,7 @@ class SubmissionServiceTest {
 
         verify(submissionProofs).save(any(SubmissionProof.class));
         verify(submissions, never()).save(any());
-        verify(submissionProofs, never()).countBySubmissionId(anyLong());
+        verify(submissionProofs, never()).scanCountsBySubmissionIdIn(any(), any(), any());
     }
 
     @Test
@@ -720,9 +772,7 @@ class SubmissionServiceTest {
         when(submissionProofs.findByProofKey("pk800")).thenReturn(Optional.of(proof));
         when(submissions.findById(800L)).thenReturn(Optional.of(s));
 
-        when(submissionProofs.countBySubmissionId(800L)).thenReturn(2L);
-        when(submissionProofs.countBySubmissionIdAndScanStatusIn(eq(800L), anyList())).thenReturn(0L);
-        when(submissionProofs.countBySubmissionIdAndScanStatus(800L, ProofScanStatus.CLEAN)).thenReturn(1L); // not all
+        stubScanCounts(new ProofScanCounts(800L, 2L, 1L, 0L));
 
         service.applyProofScanResult("pk800", "CLEAN");
 
@@ -731,6 +781,69 @@ class SubmissionServiceTest {
         assertThat(s.getStatus()).isEqualTo(ReviewStatus.SCANNING);
     }
 
+    @Test
+    void applyProofScanResultsIdempotent_aggregates_each_submission_once_per_poll() {
+        var p1 = SubmissionProof.builder().submissionId(900L).proofKey("a").scanStatus(ProofScanStatus.PENDING).build();
+        var p2 = SubmissionProof.builder().submissionId(900L).proofKey("b").scanStatus(ProofScanStatus.PENDING).build();
+        var p3 = SubmissionProof.builder().submissionId(901L).proofKey("c").scanStatus(ProofScanStatus.PENDING).build();
+        Submission clean = sub(900L, 9L, "u9", ReviewStatus.SCANNING);
+        Submission infected = sub(901L, 9L, "u9", ReviewStatus.SCANNING);
+        var results = List.of(
+                new SubmissionService.ProofScanResult("e1", "a", "CLEAN"),
+                new SubmissionService.ProofScanResult("e2", "c", "INFECTED"),
+                new SubmissionService.ProofScanResult("e3", "b", "CLEAN"));
+
+        when(processedEvents.filterUnprocessed(eq("cg1"), eq(results), any())).thenReturn(results);
+        when(submissionProofs.findByProofKeyIn(any())).thenReturn(List.of(p1, p2, p3));
+        when(submissions.findAllById(any())).thenReturn(List.of(clean, infected));
+        when(submissionProofs.scanCountsBySubmissionIdIn(any(), eq(ProofScanStatus.CLEAN), anyList())).thenReturn(List.of(
+                new ProofScanCounts(900L, 2L, 2L, 0L),
+                new ProofScanCounts(901L, 1L, 0L, 1L)));
+
+        service.applyProofScanResultsIdempotent("cg1", results);
+
+        assertThat(p1.getScanStatus()).isEqualTo(ProofScanStatus.CLEAN);
+        assertThat(p3.getScanStatus()).isEqualTo(ProofScanStatus.INFECTED);
+        verify(submissionProofs).saveAll(List.of(p1, p2, p3));
+        verify(submissionProofs, times(1)).scanCountsBySubmissionIdIn(any(), any(), any());
+        verify(submissionProofs, never()).findByProofKey(anyString());
+
+        assertThat(clean.getStatus()).isEqualTo(ReviewStatus.PENDING);
+        assertThat(infected.getStatus()).isEqualTo(ReviewStatus.REJECTED);
+        assertThat(infected.getNote()).contains("Proof scan failed: INFECTED");
+    }
+
+    @Test
+    void applyProofScanResultsIdempotent_routes_unknown_keys_to_legacy_submissions() {
+        Submission legacy = sub(12L, 1L, "u1", ReviewStatus.SCANNING);
+        legacy.setProofKey("old");
+        var results = List.of(new SubmissionService.ProofScanResult("e1", "old", "CLEAN"));
+
+        when(processedEvents.filterUnprocessed(eq("cg1"), eq(results), any())).thenReturn(results);
+        when(submissionProofs.findByProofKeyIn(any())).thenReturn(List.of());
+        when(submissions.findByProofKey("old")).thenReturn(Optional.of(legacy));
+
+        service.applyProofScanResultsIdempotent("cg1", results);
+
+        assertThat(legacy.getStatus()).isEqualTo(ReviewStatus.PENDING);
+        verify(submissionProofs, never()).scanCountsBySubmissionIdIn(any(), any(), any());
+    }
+
+    @Test
+    void applyProofScanResultsIdempotent_skips_everything_when_all_duplicates() {
+        var results = List.of(new SubmissionService.ProofScanResult("e1", "a", "CLEAN"));
+        when(processedEvents.filterUnprocessed(eq("cg1"), eq(results), any())).thenReturn(List.of());
+
+        service.applyProofScanResultsIdempotent("cg1", results);
+
+        verifyNoInteractions(submissionProofs);
+    }
+
+    private void stubScanCounts(ProofScanCounts counts) {
+        when(submissionProofs.scanCountsBySubmissionIdIn(eq(List.of(counts.submissionId())), eq(ProofScanStatus.CLEAN), anyList()))
+                .thenReturn(List.of(counts));
+    }
+
     /* ---------------------------- proof keys + urls ---------------------------- */
 
     @Test
@@ -775,10 +888,10 @@ class SubmissionServiceTest {
                 SubmissionProof.builder().submissionId(10L).proofKey("k2").build()
         ));
 
-        when(proofClient.signGet("k1")).thenReturn("S1");
-        when(proofClient.signGet("k2")).thenReturn("S2");
+        when(proofClient.signGetMany(List.of("k1", "k2"))).thenReturn(List.of("S1", "S2"));
 
         assertThat(service.signedGetUrlsForSubmission(10L)).containsExactly("S1", "S2");
+        verify(proofClient, never()).signGet(anyString());
     }
 
     /* ---------------------------- proof URLs passthrough ---------------------------- */
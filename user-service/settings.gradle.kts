@@ -1 +1,3 @@
-rootProject.name = "user-service"
\ No newline at end of file
+rootProject.name = "user-service"
+
+includeBuild("../libs/kafka-envelope")
@@ -14,7 +14,8 @@ import java.time.Instant;
 @Table(
         name = "outbox_event",
         indexes = {
-                @Index(name = "idx_outbox_status_next_created", columnList = "status,nextAttemptAt,createdAt")
+                @Index(name = "idx_outbox_status_next_created", columnList = "status,nextAttemptAt,createdAt"),
+                @Index(name = "idx_outbox_status_sent", columnList = "status,sentAt")
         }
 )
 public class OutboxEvent {
@@ -51,6 +52,12 @@ public class OutboxEvent {
     @Column(length = 2000)
     private String lastError;
 
+    /** Dispatcher instance currently publishing this row; only meaningful while {@code leaseUntil} is in the future. */
+    @Column(length = 100)
+    private String claimedBy;
+
+    private Instant leaseUntil;
+
     public static OutboxEvent newEvent(String eventId, String topic, String key, String envelopeJson) {
         Instant now = Instant.now();
         return OutboxEvent.builder()
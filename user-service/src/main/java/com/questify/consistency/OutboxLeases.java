@@ -0,0 +1,35 @@
+package com.questify.consistency;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Hands out due outbox rows to one dispatcher instance at a time. Rows are picked with
+ * {@code for update skip locked}, so replicas polling concurrently split the backlog instead of
+ * publishing the same rows, and each claimed row carries a lease. A row whose lease ran out
+ * (the owning pod crashed or stalled) is claimable again.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxLeases {
+
+    private final OutboxEventRepository outbox;
+
+    @Transactional
+    public List<OutboxEvent> claim(String owner, int limit, Duration lease) {
+        var now = Instant.now();
+        var ids = outbox.lockClaimable(now, limit);
+        if (ids.isEmpty()) return List.of();
+
+        outbox.lease(ids, owner, now.plus(lease));
+        return outbox.findAllById(ids).stream()
+                .sorted(Comparator.comparing(OutboxEvent::getCreatedAt))
+                .toList();
+    }
+}
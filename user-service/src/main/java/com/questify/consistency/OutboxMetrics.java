@@ -0,0 +1,65 @@
+package com.questify.consistency;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Outbox table gauges. Counting on every scrape would hit the table once per scraper, so the
+ * values are refreshed on a schedule and the gauges read the last snapshot.
+ */
+@Slf4j
+@Component
+public class OutboxMetrics {
+
+    private final OutboxEventRepository outbox;
+    private final Map<OutboxStatus, AtomicLong> rows = new EnumMap<>(OutboxStatus.class);
+    private final AtomicLong oldestPendingAgeSeconds = new AtomicLong();
+    private final MultiGauge pendingByTopic;
+
+    public OutboxMetrics(OutboxEventRepository outbox, MeterRegistry registry) {
+        this.outbox = outbox;
+        for (var status : OutboxStatus.values()) {
+            var value = new AtomicLong();
+            rows.put(status, value);
+            Gauge.builder("outbox_rows", value, AtomicLong::get)
+                    .description("Rows in outbox_event by status")
+                    .tag("status", status.name().toLowerCase(Locale.ROOT))
+                    .register(registry);
+        }
+        Gauge.builder("outbox_oldest_pending_age_seconds", oldestPendingAgeSeconds, AtomicLong::get)
+                .description("Age of the oldest NEW outbox row")
+                .register(registry);
+        pendingByTopic = MultiGauge.builder("outbox_pending")
+                .description("NEW outbox rows by topic")
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.metrics.refresh-ms:30000}")
+    public void refresh() {
+        try {
+            var counts = new EnumMap<OutboxStatus, Long>(OutboxStatus.class);
+            for (var row : outbox.countByStatus()) counts.put(row.getStatus(), row.getTotal());
+            rows.forEach((status, value) -> value.set(counts.getOrDefault(status, 0L)));
+
+            pendingByTopic.register(outbox.countPendingByTopic().stream()
+                    .map(row -> MultiGauge.Row.of(Tags.of("topic", row.getTopic()), row.getTotal()))
+                    .toList(), true);
+            Instant oldest = outbox.findOldestPendingCreatedAt();
+            oldestPendingAgeSeconds.set(oldest == null ? 0 : Math.max(0, Duration.between(oldest, Instant.now()).toSeconds()));
+        } catch (Exception e) {
+            log.debug("Outbox metrics refresh failed error={}", e.toString());
+        }
+    }
+}
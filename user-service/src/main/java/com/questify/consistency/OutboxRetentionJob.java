@@ -0,0 +1,62 @@
+package com.questify.consistency;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Drains expired {@code SENT} rows through {@link OutboxRetention} in chunks, pausing between
+ * chunks so the deletes never compete with the dispatcher for long, and capping each run.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxRetentionJob {
+
+    private final OutboxRetention retention;
+
+    @Value("${app.outbox.retention.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.outbox.retention.sent-ttl:P7D}")
+    private Duration sentTtl;
+
+    @Value("${app.outbox.retention.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.outbox.retention.max-chunks-per-run:200}")
+    private int maxChunksPerRun;
+
+    @Value("${app.outbox.retention.pause-ms:200}")
+    private long pauseMs;
+
+    @Scheduled(
+            initialDelayString = "${app.outbox.retention.initial-delay-ms:120000}",
+            fixedDelayString = "${app.outbox.retention.job-ms:600000}"
+    )
+    public void run() {
+        if (!enabled) return;
+
+        Instant cutoff = Instant.now().minus(sentTtl);
+        long deleted = 0;
+        try {
+            for (int i = 0; i < maxChunksPerRun; i++) {
+                int n = retention.purgeChunk(cutoff, chunkSize);
+                deleted += n;
+                if (n < chunkSize) break;
+                Thread.sleep(pauseMs);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Outbox retention stopped after deleted={} error={}", deleted, e.toString());
+        }
+
+        if (deleted > 0) log.info("Outbox retention deleted={} cutoff={}", deleted, cutoff);
+    }
+}
@@ -0,0 +1,63 @@
+package com.questify.consistency;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Deletes {@code processed_event} rows older than the ttl in bounded chunks. Once an event is older
+ * than the source topic's retention it can no longer be redelivered, so its dedupe row is dead weight;
+ * the default ttl is the Kafka default retention (7 days) plus a day of slack.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProcessedEventPruneJob {
+
+    private final ProcessedEventRepository processed;
+
+    @Value("${app.processed-events.prune.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.processed-events.prune.ttl:P8D}")
+    private Duration ttl;
+
+    @Value("${app.processed-events.prune.chunk-size:5000}")
+    private int chunkSize;
+
+    @Value("${app.processed-events.prune.max-chunks-per-run:200}")
+    private int maxChunksPerRun;
+
+    @Value("${app.processed-events.prune.pause-ms:100}")
+    private long pauseMs;
+
+    @Scheduled(
+            initialDelayString = "${app.processed-events.prune.initial-delay-ms:180000}",
+            fixedDelayString = "${app.processed-events.prune.job-ms:3600000}"
+    )
+    public void run() {
+        if (!enabled) return;
+
+        Instant cutoff = Instant.now().minus(ttl);
+        long deleted = 0;
+        try {
+            for (int i = 0; i < maxChunksPerRun; i++) {
+                int n = processed.deleteProcessedBefore(cutoff, chunkSize);
+                deleted += n;
+                if (n < chunkSize) break;
+                Thread.sleep(pauseMs);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Processed-event pruning stopped after deleted={} error={}", deleted, e.toString());
+        }
+
+        if (deleted > 0) log.info("Processed-event pruning deleted={} cutoff={}", deleted, cutoff);
+    }
+}
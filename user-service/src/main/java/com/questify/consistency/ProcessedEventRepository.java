@@ -1,6 +1,32 @@
 package com.questify.consistency;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
 
 public interface ProcessedEventRepository extends JpaRepository<ProcessedEvent, ProcessedEventId> {
+
+    /** Returns 1 when the row was inserted and 0 when the event was already recorded for the group. */
+    @Modifying
+    @Query(value = """
+           insert ignore into processed_event (consumer_group, event_id, processed_at)
+           values (:consumerGroup, :eventId, :processedAt)
+           """, nativeQuery = true)
+    int insertIgnore(@Param("consumerGroup") String consumerGroup,
+                     @Param("eventId") String eventId,
+                     @Param("processedAt") Instant processedAt);
+
+    /** Deletes up to {@code limit} rows recorded before {@code cutoff}; each call is its own short transaction. */
+    @Transactional
+    @Modifying
+    @Query(value = """
+           delete from processed_event
+            where processed_at < :cutoff
+            limit :limit
+           """, nativeQuery = true)
+    int deleteProcessedBefore(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
 }
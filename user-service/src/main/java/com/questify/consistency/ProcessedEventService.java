@@ -1,29 +1,124 @@
 package com.questify.consistency;
 
+import com.questify.kafka.EventEnvelope;
 import lombok.RequiredArgsConstructor;
-import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
 public class ProcessedEventService {
 
     private final ProcessedEventRepository processed;
+    private final JdbcTemplate jdbc;
+    private final RecentEventFilter recent;
 
     @Transactional
     public boolean markProcessedIfNew(String consumerGroup, String eventId) {
         if (eventId == null || eventId.isBlank()) {
             return true;
         }
+        boolean inserted = processed.insertIgnore(consumerGroup, eventId, Instant.now()) == 1;
+        recent.addAll(consumerGroup, List.of(eventId));
+        return inserted;
+    }
 
-        try {
-            processed.save(new ProcessedEvent(new ProcessedEventId(consumerGroup, eventId), Instant.now()));
-            return true;
-        } catch (DataIntegrityViolationException dup) {
-            return false;
+    /**
+     * Batch variant for a whole poll. Returns the envelopes to process, in input order; envelopes
+     * without an id are always returned, repeated ids only once.
+     * <p>
+     * Only the ids {@link RecentEventFilter} may have seen are looked up first (usually none, so no
+     * select); the rest go into one multi-row {@code insert ignore}. If every row was inserted nothing
+     * was a duplicate; otherwise one {@code select ... in} over the inserted ids tells apart the ones
+     * recorded before, e.g. by another instance before a rebalance.
+     */
+    @Transactional
+    public List<EventEnvelope> filterUnprocessed(String consumerGroup, List<EventEnvelope> envelopes) {
+        return filterUnprocessed(consumerGroup, envelopes, EventEnvelope::eventId);
+    }
+
+    /** Same as {@link #filterUnprocessed(String, List)} for messages that are not read as envelopes. */
+    @Transactional
+    public <T> List<T> filterUnprocessed(String consumerGroup, List<T> items, Function<T, String> eventId) {
+        var ids = new LinkedHashSet<String>();
+        for (var item : items) {
+            String id = item == null ? null : eventId.apply(item);
+            if (id != null && !id.isBlank()) ids.add(id);
         }
+
+        Set<String> seen = ids.isEmpty() ? Set.of() : recordNew(consumerGroup, ids);
+
+        var out = new ArrayList<T>(items.size());
+        var emitted = new HashSet<String>();
+        for (var item : items) {
+            if (item == null) continue;
+            String id = eventId.apply(item);
+            if (id == null || id.isBlank()) {
+                out.add(item);
+            } else if (!seen.contains(id) && emitted.add(id)) {
+                out.add(item);
+            }
+        }
+        return out;
+    }
+
+    /** Records the ids that are new for the group and returns the ones that were already recorded. */
+    private Set<String> recordNew(String consumerGroup, Collection<String> ids) {
+        // Truncated to what datetime(6) stores, so rows written by this statement can be recognised below.
+        var stamp = Timestamp.from(Instant.now().truncatedTo(ChronoUnit.MICROS));
+        var candidates = recent.possiblySeen(consumerGroup, ids);
+        Set<String> seen = candidates.isEmpty()
+                ? new HashSet<>()
+                : new HashSet<>(alreadyProcessed(consumerGroup, candidates, null));
+
+        var fresh = new ArrayList<String>(ids.size());
+        for (var id : ids) if (!seen.contains(id)) fresh.add(id);
+        if (!fresh.isEmpty() && insertIgnore(consumerGroup, fresh, stamp) < fresh.size()) {
+            seen.addAll(alreadyProcessed(consumerGroup, fresh, stamp));
+        }
+        recent.addAll(consumerGroup, ids);
+        return seen;
+    }
+
+    /** Ids recorded for the group, excluding rows stamped {@code insertedAt} by the current statement when given. */
+    private List<String> alreadyProcessed(String consumerGroup, Collection<String> ids, Timestamp insertedAt) {
+        var args = new ArrayList<Object>(ids.size() + 2);
+        args.add(consumerGroup);
+        args.addAll(ids);
+        String sql = "select event_id from processed_event where consumer_group = ? and event_id in ("
+                + placeholders(ids.size(), "?") + ")";
+        if (insertedAt != null) {
+            sql += " and processed_at <> ?";
+            args.add(insertedAt);
+        }
+        return jdbc.queryForList(sql, String.class, args.toArray());
+    }
+
+    private int insertIgnore(String consumerGroup, Collection<String> ids, Timestamp now) {
+        var args = new ArrayList<Object>(ids.size() * 3);
+        for (var id : ids) {
+            args.add(consumerGroup);
+            args.add(id);
+            args.add(now);
+        }
+        return jdbc.update("insert ignore into processed_event (consumer_group, event_id, processed_at) values "
+                + placeholders(ids.size(), "(?,?,?)"), args.toArray());
+    }
+
+    private static String placeholders(int n, String one) {
+        return String.join(",", Collections.nCopies(n, one));
     }
 }
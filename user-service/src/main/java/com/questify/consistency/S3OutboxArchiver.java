@@ -0,0 +1,71 @@
+package com.questify.consistency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.questify.config.StorageProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes each purged outbox chunk to the storage bucket as one gzip-compressed NDJSON object,
+ * keyed by the send date of its oldest row.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.outbox.retention.archive.enabled", havingValue = "true")
+public class S3OutboxArchiver implements OutboxArchiver {
+
+    private static final DateTimeFormatter DAY = DateTimeFormatter.ofPattern("yyyy/MM/dd").withZone(ZoneOffset.UTC);
+
+    private final S3Client s3;
+    private final StorageProperties props;
+    private final ObjectMapper mapper;
+
+    @Value("${app.outbox.retention.archive.prefix:outbox-archive/user-service/}")
+    private String prefix;
+
+    @Override
+    public void archive(List<OutboxEvent> events) throws Exception {
+        if (events.isEmpty()) return;
+
+        var buf = new ByteArrayOutputStream();
+        try (Writer out = new OutputStreamWriter(new GZIPOutputStream(buf), StandardCharsets.UTF_8)) {
+            for (var ev : events) {
+                var line = new LinkedHashMap<String, Object>();
+                line.put("id", ev.getId());
+                line.put("topic", ev.getTopic());
+                line.put("eventKey", ev.getEventKey());
+                line.put("createdAt", ev.getCreatedAt());
+                line.put("sentAt", ev.getSentAt());
+                line.put("attempts", ev.getAttempts());
+                line.put("envelope", mapper.readTree(ev.getEnvelopeJson()));
+                out.write(mapper.writeValueAsString(line));
+                out.write('\n');
+            }
+        }
+
+        var first = events.get(0);
+        String key = prefix + DAY.format(first.getSentAt()) + "/" + first.getSentAt().toEpochMilli() + "-" + first.getId() + ".ndjson.gz";
+        s3.putObject(PutObjectRequest.builder()
+                        .bucket(props.getBucket())
+                        .key(key)
+                        .contentType("application/x-ndjson")
+                        .contentEncoding("gzip")
+                        .build(),
+                RequestBody.fromBytes(buf.toByteArray()));
+    }
+}
@@ -1,6 +1,7 @@
 package com.questify.kafka;
 
 import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
@@ -43,10 +44,12 @@ public class KafkaConfig {
     @Bean
     ConcurrentKafkaListenerContainerFactory<String, Object> kafkaListenerContainerFactory(
             ConsumerFactory<String, Object> cf,
-            DefaultErrorHandler eh) {
+            DefaultErrorHandler eh,
+            @Value("${app.kafka.listener.concurrency:1}") int concurrency) {
 
         var f = new ConcurrentKafkaListenerContainerFactory<String, Object>();
         f.setConsumerFactory(cf);
+        f.setConcurrency(concurrency);
         f.getContainerProperties().setAckMode(AckMode.MANUAL);
         f.setCommonErrorHandler(eh);
         return f;